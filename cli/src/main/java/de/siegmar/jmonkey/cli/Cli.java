@@ -20,6 +20,7 @@ package de.siegmar.jmonkey.cli;
 
 import static picocli.CommandLine.ScopeType.INHERIT;
 
+import de.siegmar.jmonkey.cli.atlas.AtlasCommand;
 import de.siegmar.jmonkey.cli.builder.BuildCommand;
 import de.siegmar.jmonkey.cli.decrypt.DecryptCommand;
 import de.siegmar.jmonkey.cli.export.ExportCommand;
@@ -35,7 +36,8 @@ import picocli.CommandLine;
     subcommands = {
         ExportCommand.class,
         BuildCommand.class,
-        DecryptCommand.class
+        DecryptCommand.class,
+        AtlasCommand.class
     },
     scope = INHERIT)
 @SuppressWarnings({"checkstyle:UncommentedMain", "checkstyle:HideUtilityClassConstructor"})
@@ -0,0 +1,147 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.cli.atlas;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import de.siegmar.jmonkey.cli.StatusInfo;
+import de.siegmar.jmonkey.cli.export.PngWriter;
+import de.siegmar.jmonkey.datarepository.DataRepository;
+import de.siegmar.jmonkey.decoder.costume.CompiledAnimation;
+import de.siegmar.jmonkey.decoder.costume.Costume;
+import de.siegmar.jmonkey.decoder.costume.CostumeAnimator;
+import de.siegmar.jmonkey.decoder.costume.CostumeAtlas;
+import de.siegmar.jmonkey.index.RoomOffset;
+import picocli.CommandLine;
+
+@CommandLine.Command(name = "atlas",
+    description = "Export costume sprite atlases")
+public class AtlasCommand implements Runnable {
+
+    private final ObjectWriter objectWriter = new ObjectMapper()
+        .writerWithDefaultPrettyPrinter();
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    private Path inputDir;
+    private Path outputDir;
+
+    @CommandLine.Option(names = {"-c", "--costume"},
+        description = "the costume id(s) to export (default: all)",
+        split = ",")
+    private List<Integer> costumeIds;
+
+    @CommandLine.Option(names = {"-a", "--animations"},
+        description = "also export all animations as animated GIF")
+    private boolean animations;
+
+    @CommandLine.Option(names = {"--frame-jiffies"},
+        description = "the duration of an animation frame in 1/60 s (default: ${DEFAULT-VALUE})",
+        defaultValue = "6")
+    private int frameJiffies;
+
+    @CommandLine.Option(names = {"-i", "--input"},
+        description = "the input (game) directory",
+        required = true)
+    public void setInputDir(final Path inputDir) {
+        this.inputDir = getValidatedDir(inputDir);
+    }
+
+    @CommandLine.Option(names = {"-o", "--output"},
+        description = "the output directory",
+        required = true)
+    public void setOutputDir(final Path outputDir) {
+        this.outputDir = getValidatedDir(outputDir);
+    }
+
+    private Path getValidatedDir(final Path dir) {
+        if (Files.notExists(dir)) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                String.format("Directory '%s' does not exist.", dir));
+        }
+
+        if (!Files.isDirectory(dir)) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                String.format("Path '%s' is not a directory.", dir));
+        }
+
+        return dir;
+    }
+
+    @Override
+    public void run() {
+        try (DataRepository dataRepository = new DataRepository(inputDir)) {
+            final List<Integer> ids = costumeIds != null ? costumeIds
+                : dataRepository.getWrappedIndex().listCostumeRelativeOffsets().stream()
+                    .map(RoomOffset::itemId)
+                    .sorted()
+                    .toList();
+
+            for (final Integer costumeId : ids) {
+                StatusInfo.status("Export atlas of costume #%03d", costumeId);
+                final Costume costume = dataRepository.loadCostume(costumeId);
+                final CostumeAtlas atlas = CostumeAtlas.of(costume);
+
+                // a costume without limb images has nothing to pack (and a 0x0 PNG is invalid)
+                if (!atlas.isEmpty()) {
+                    writeAtlas(costumeId, atlas);
+                }
+                if (animations) {
+                    writeAnimations(costumeId, new CostumeAnimator(costume));
+                }
+                StatusInfo.success();
+            }
+        }
+    }
+
+    private void writeAtlas(final int costumeId, final CostumeAtlas atlas) {
+        final String basename = "costume_%03d".formatted(costumeId);
+        PngWriter.writeIndexed(atlas.image(), outputDir.resolve(basename + ".png"));
+
+        final AtlasMeta meta = new AtlasMeta(costumeId, atlas.image().getWidth(), atlas.image().getHeight(),
+            atlas.frames(), atlas.animations());
+        try {
+            objectWriter.writeValue(outputDir.resolve(basename + ".json").toFile(), meta);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeAnimations(final int costumeId, final CostumeAnimator animator) {
+        for (final Integer animNo : animator.animations()) {
+            final CompiledAnimation animation = animator.compile(animNo);
+            final Path file = outputDir.resolve("costume_%03d_anim_%02d.gif".formatted(costumeId, animNo));
+            try (OutputStream out = Files.newOutputStream(file)) {
+                animation.writeGif(out, frameJiffies);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
@@ -18,27 +18,45 @@
 
 package de.siegmar.jmonkey.cli.builder;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.siegmar.jmonkey.cli.RoomMeta;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
 import de.siegmar.jmonkey.decoder.header.ChunkLF;
 import de.siegmar.jmonkey.decoder.room.ChunkLC;
 import de.siegmar.jmonkey.decoder.room.ChunkLS;
 import de.siegmar.jmonkey.decoder.room.ChunkNL;
 import de.siegmar.jmonkey.decoder.room.ChunkSL;
+import de.siegmar.jmonkey.decoder.room.image.ChunkBMDecoder;
+import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
+import de.siegmar.jmonkey.decoder.room.image.ChunkHDDecoder;
+import de.siegmar.jmonkey.decoder.room.image.ChunkPADecoder;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 import de.siegmar.jmonkey.encoder.ChunkLCEncoder;
 import de.siegmar.jmonkey.encoder.ChunkLFEncoder;
 import de.siegmar.jmonkey.encoder.ChunkLSEncoder;
 import de.siegmar.jmonkey.encoder.ChunkNLEncoder;
 import de.siegmar.jmonkey.encoder.ChunkSLEncoder;
+import de.siegmar.jmonkey.encoder.ImageEncoder;
 import de.siegmar.jmonkey.encoder.LeWriter;
 import de.siegmar.jmonkey.encoder.Node;
 import de.siegmar.jmonkey.encoder.index.IndexBuilder;
@@ -93,7 +111,7 @@ public final class LflBuilder {
         appendIfExists("BX", ro, backgroundDir.resolve("BX.bin"));
         appendIfExists("PA", ro, paletteDir.resolve("PA.bin"));
         appendIfExists("SA", ro, backgroundDir.resolve("SA.bin"));
-        appendIfExists("BM", ro, backgroundDir.resolve("BM.bin"));
+        appendBM(ro);
 
         for (final Integer objectId : roomMeta.objectImageIds()) {
             appendIfExists("OI", ro, objectsDir.resolve(ID_PATTERN.formatted(objectId)).resolve("OI.bin"));
@@ -157,6 +175,156 @@ public final class LflBuilder {
         ro.createChild("EN").setData(compiledProgram);
     }
 
+    /**
+     * Appends the background image. If image.png (or one of its masks) differs from the content of BM.bin
+     * (or there is no BM.bin), the image and its masks are encoded; otherwise the original BM.bin is used as is.
+     */
+    private void appendBM(final Node ro) throws IOException {
+        final Path bmFile = backgroundDir.resolve("BM.bin");
+        final Path imageFile = backgroundDir.resolve("image.png");
+
+        if (Files.notExists(imageFile)) {
+            appendIfExists("BM", ro, bmFile);
+            return;
+        }
+
+        final Path paFile = paletteDir.resolve("PA.bin");
+        final boolean vga = Files.exists(paFile);
+
+        // the exported image.png only contains the room part of the palette (the upper 16 entries on Amiga)
+        final ColorPalette palette = vga
+            ? ChunkPADecoder.readPalette(BasicChunk.wrap("PA", ByteString.readFrom(paFile))).roomPalette()
+            : ColorPalette.EGA;
+        final Optional<ChunkHD> hd = readHD();
+        final LayeredImage image = readBackground(imageFile, palette, hd);
+
+        if (Files.exists(bmFile) && hd.isPresent() && sameContent(image, bmFile, hd.get(), vga ? palette : null)) {
+            ro.createChild("BM").setData(bmFile);
+        } else {
+            ro.createChild("BM").setData(vga ? ImageEncoder.encodeVGA(image) : ImageEncoder.encodeEGA(image));
+        }
+    }
+
+    private Optional<ChunkHD> readHD() throws IOException {
+        final Path hdFile = backgroundDir.resolve("HD.bin");
+        return Files.exists(hdFile)
+            ? Optional.of(ChunkHDDecoder.decode(BasicChunk.wrap("HD", ByteString.readFrom(hdFile))))
+            : Optional.empty();
+    }
+
+    // decoding the exported BM.bin is the only reliable way to tell whether the image has been edited
+    private static boolean sameContent(final LayeredImage image, final Path bmFile, final ChunkHD hd,
+                                       final ColorPalette vgaPalette) throws IOException {
+        final Optional<LayeredImage> exported =
+            ChunkBMDecoder.decode(BasicChunk.wrap("BM", ByteString.readFrom(bmFile)), hd, vgaPalette);
+
+        return exported.isPresent()
+            && Arrays.equals(exported.get().getImage().getIndices(), image.getImage().getIndices())
+            && exported.get().getMasks().equals(image.getMasks());
+    }
+
+    private LayeredImage readBackground(final Path imageFile, final ColorPalette palette,
+                                        final Optional<ChunkHD> hd) throws IOException {
+        final BufferedImage image = readImage(imageFile);
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        if (hd.isPresent() && (hd.get().width() != width || hd.get().height() != height)) {
+            throw new IllegalStateException("Image %s has size %dx%d but room has %dx%d"
+                .formatted(imageFile, width, height, hd.get().width(), hd.get().height()));
+        }
+
+        return new LayeredImage(
+            new IndexedImage(width, height, toIndices(image, palette), palette, IndexedImage.NO_TRANSPARENCY),
+            readMasks(width, height));
+    }
+
+    private static byte[] toIndices(final BufferedImage image, final ColorPalette palette) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final byte[] indices = new byte[width * height];
+
+        // Indexed images with (a prefix of) the room palette -- use the indices directly
+        if (image.getColorModel() instanceof IndexColorModel icm && isPalettePrefix(icm, palette)) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    indices[y * width + x] = (byte) image.getRaster().getSample(x, y, 0);
+                }
+            }
+            return indices;
+        }
+
+        final Map<Integer, Integer> colorIndex = new HashMap<>();
+        for (int i = palette.size() - 1; i >= 0; i--) {
+            colorIndex.put(palette.color(i) | 0xFF_00_00_00, i);
+        }
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int rgb = image.getRGB(x, y) | 0xFF_00_00_00;
+                final Integer idx = colorIndex.get(rgb);
+                if (idx == null) {
+                    throw new IllegalStateException("Color 0x%06X at %d/%d is not part of the room palette"
+                        .formatted(rgb & 0xFF_FF_FF, x, y));
+                }
+                indices[y * width + x] = idx.byteValue();
+            }
+        }
+
+        return indices;
+    }
+
+    // an edited palette (reordered, shrunk, changed colors) must not be used as is
+    private static boolean isPalettePrefix(final IndexColorModel icm, final ColorPalette palette) {
+        if (icm.getMapSize() > palette.size()) {
+            return false;
+        }
+        for (int i = 0; i < icm.getMapSize(); i++) {
+            if ((icm.getRGB(i) & 0xFF_FF_FF) != (palette.color(i) & 0xFF_FF_FF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<MaskLayer> readMasks(final int width, final int height) throws IOException {
+        final List<MaskLayer> masks = new ArrayList<>();
+        for (Path maskFile = maskFile(0); Files.exists(maskFile); maskFile = maskFile(masks.size())) {
+            masks.add(readMask(maskFile, width, height));
+        }
+        return masks;
+    }
+
+    private static MaskLayer readMask(final Path maskFile, final int width, final int height) throws IOException {
+        final BufferedImage image = readImage(maskFile);
+        if (image.getWidth() != width || image.getHeight() != height) {
+            throw new IllegalStateException("Mask %s doesn't match image size".formatted(maskFile));
+        }
+
+        final int rowWords = MaskLayer.rowWords(width);
+        final long[] bits = new long[rowWords * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if ((image.getRGB(x, y) & 0xFF_FF_FF) != 0) {
+                    bits[y * rowWords + (x >>> 6)] |= 1L << (x & 63);
+                }
+            }
+        }
+        return new MaskLayer(width, height, bits);
+    }
+
+    private Path maskFile(final int layer) {
+        return backgroundDir.resolve("image_mask_%d.png".formatted(layer));
+    }
+
+    private static BufferedImage readImage(final Path file) throws IOException {
+        final BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IllegalStateException("Unsupported image format: " + file);
+        }
+        return image;
+    }
+
     private void appendIfExists(final String name, final Node node, final Path file) {
         if (Files.exists(file)) {
             node.createChild(name).setData(file);
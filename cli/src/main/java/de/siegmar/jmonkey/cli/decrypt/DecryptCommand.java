@@ -18,15 +18,19 @@
 
 package de.siegmar.jmonkey.cli.decrypt;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static picocli.CommandLine.Help.Ansi.AUTO;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import de.siegmar.jmonkey.commons.io.XorInputStream;
+import de.siegmar.jmonkey.commons.io.XorCipher;
 import picocli.CommandLine;
 
 @CommandLine.Command(name = "decrypt",
@@ -65,9 +69,9 @@ public class DecryptCommand implements Runnable {
         }
         final Path outputFile = inputFile.resolveSibling(fileName + ".decrypted");
 
-        try (XorInputStream in = new XorInputStream(Files.newInputStream(inputFile), (byte) 0x69);
-             OutputStream out = Files.newOutputStream(outputFile)) {
-            in.transferTo(out);
+        try (FileChannel in = FileChannel.open(inputFile, READ);
+             FileChannel out = FileChannel.open(outputFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            XorCipher.transfer(in, out, (byte) 0x69);
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -25,15 +25,20 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.siegmar.jmonkey.cli.RoomDisk;
 import de.siegmar.jmonkey.cli.RoomInfo;
 import de.siegmar.jmonkey.cli.StatusInfo;
+import de.siegmar.jmonkey.commons.io.AccessMode;
 import de.siegmar.jmonkey.commons.misc.GameDir;
 import de.siegmar.jmonkey.index.Index;
 import de.siegmar.jmonkey.index.IndexReader;
+import de.siegmar.jmonkey.lecscanner.LecFile;
 import de.siegmar.jmonkey.lecscanner.LecScanner;
 import picocli.CommandLine;
 
@@ -46,6 +51,7 @@ public class ExportCommand implements Runnable {
 
     private Path inputDir;
     private Path outputDir;
+    private int threads;
 
     @CommandLine.Option(names = {"-i", "--input"},
         description = "the input (game) directory",
@@ -61,6 +67,18 @@ public class ExportCommand implements Runnable {
         this.outputDir = getValidatedDir(outputDir);
     }
 
+    @CommandLine.Option(names = {"-t", "--threads"},
+        description = "the number of threads for exporting rooms and writing their images in parallel "
+            + "(default: ${DEFAULT-VALUE})",
+        defaultValue = "1")
+    public void setThreads(final int threads) {
+        if (threads < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                String.format("Number of threads must be at least 1 but was %d.", threads));
+        }
+        this.threads = threads;
+    }
+
     private Path getValidatedDir(final Path dir) {
         if (Files.notExists(dir)) {
             throw new CommandLine.ParameterException(spec.commandLine(),
@@ -77,6 +95,18 @@ public class ExportCommand implements Runnable {
 
     @Override
     public void run() {
+        // rooms and their PNG encoding share the pool -- room exports don't block on their image writes
+        final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            export(executor != null ? executor : Runnable::run);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private void export(final Executor executor) {
         try {
             final GameDir gameDir = new GameDir(inputDir);
 
@@ -97,8 +127,10 @@ public class ExportCommand implements Runnable {
             for (final Path lecFile : lecFiles) {
                 StatusInfo.status("Export %s", lecFile);
 
-                final ExportVisitor lecVisitor = new ExportVisitor(outputDir, index);
-                LecScanner.scan(lecFile, lecVisitor);
+                final ExportVisitor lecVisitor = new ExportVisitor(outputDir, index, executor, executor);
+                try (LecFile mappedLecFile = new LecFile(lecFile, AccessMode.MAPPED)) {
+                    LecScanner.scan(mappedLecFile, lecVisitor);
+                }
                 roomDisks.add(new RoomDisk(lecVisitor.getRoomIds()));
 
                 StatusInfo.success();
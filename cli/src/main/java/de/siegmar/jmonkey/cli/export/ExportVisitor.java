@@ -21,27 +21,58 @@ package de.siegmar.jmonkey.cli.export;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import de.siegmar.jmonkey.cli.StatusInfo;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
+import de.siegmar.jmonkey.commons.io.DataChunkType;
+import de.siegmar.jmonkey.decoder.header.ChunkLFDecoder;
 import de.siegmar.jmonkey.index.Index;
 import de.siegmar.jmonkey.index.RoomOffset;
 import de.siegmar.jmonkey.lecscanner.LecChunk;
 import de.siegmar.jmonkey.lecscanner.LecFile;
 import de.siegmar.jmonkey.lecscanner.LecVisitor;
 
+/**
+ * Scans the chunks of a data file and exports its rooms.
+ * <p>
+ * All chunks are read sequentially (by the scanning thread) but the export (decoding, rendering and writing)
+ * of each room is handed over to the given executor as soon as all chunks of the room are read. Images are
+ * encoded and written by the (optional) image executor -- which may be the same executor.
+ */
 public class ExportVisitor implements LecVisitor {
 
     private final Path outDir;
     private final Index index;
+    private final Executor executor;
+    private final Executor imageExecutor;
     private final AtomicReference<Integer> lastROPos = new AtomicReference<>();
     private final List<Integer> roomIds = new ArrayList<>();
-    private LfExporter lfExporter;
+    private final List<CompletableFuture<Void>> roomExports = new ArrayList<>();
+    private BasicChunk lfChunk;
+    private int roomId;
+    private List<Consumer<LfExporter>> lfActions;
 
     public ExportVisitor(final Path outDir, final Index index) {
+        this(outDir, index, Runnable::run);
+    }
+
+    public ExportVisitor(final Path outDir, final Index index, final Executor executor) {
+        this(outDir, index, executor, Runnable::run);
+    }
+
+    public ExportVisitor(final Path outDir, final Index index, final Executor executor,
+                         final Executor imageExecutor) {
         this.outDir = outDir;
         this.index = index;
+        this.executor = executor;
+        this.imageExecutor = imageExecutor;
     }
 
     public List<Integer> getRoomIds() {
@@ -51,50 +82,54 @@ public class ExportVisitor implements LecVisitor {
     @SuppressWarnings("checkstyle:CyclomaticComplexity")
     @Override
     public boolean visit(final LecFile lecFile, final LecChunk chunk) {
+        if (chunk.type() == DataChunkType.LF) {
+            newLflBuilder(lecFile.readChunk(chunk));
+        }
+
         StatusInfo.status("Export chunk '%s'", chunk.type().name());
         switch (chunk.type()) {
-            case LE, FO, LC, NL, SL -> {
+            case LE, FO, LC, NL, SL, LF -> {
                 // ignore
             }
-            case LF -> newLflBuilder(lecFile.readChunk(chunk));
             case RO -> lastROPos.set(chunk.pos());
-            case BM -> lfExporter.addBM(lecFile.readChunk(chunk));
-            case BX -> lfExporter.addBX(lecFile.readChunk(chunk));
-            case CC -> lfExporter.addCC(lecFile.readChunk(chunk));
-            case EN -> lfExporter.addEN(lecFile.readChunk(chunk));
-            case EX -> lfExporter.addEX(lecFile.readChunk(chunk));
-            case HD -> lfExporter.addHD(lecFile.readChunk(chunk));
-            case LS -> lfExporter.addLS(lecFile.readChunk(chunk));
-            case OC -> lfExporter.addOC(lecFile.readChunk(chunk));
-            case OI -> lfExporter.addOI(lecFile.readChunk(chunk));
-            case PA -> lfExporter.addPA(lecFile.readChunk(chunk));
-            case SA -> lfExporter.addSA(lecFile.readChunk(chunk));
-            case SP -> lfExporter.addSP(lecFile.readChunk(chunk));
+            case BM -> add(lecFile, chunk, LfExporter::addBM);
+            case BX -> add(lecFile, chunk, LfExporter::addBX);
+            case CC -> add(lecFile, chunk, LfExporter::addCC);
+            case EN -> add(lecFile, chunk, LfExporter::addEN);
+            case EX -> add(lecFile, chunk, LfExporter::addEX);
+            case HD -> add(lecFile, chunk, LfExporter::addHD);
+            case LS -> add(lecFile, chunk, LfExporter::addLS);
+            case OC -> add(lecFile, chunk, LfExporter::addOC);
+            case OI -> add(lecFile, chunk, LfExporter::addOI);
+            case PA -> add(lecFile, chunk, LfExporter::addPA);
+            case SA -> add(lecFile, chunk, LfExporter::addSA);
+            case SP -> add(lecFile, chunk, LfExporter::addSP);
             case SC -> {
                 final int relativePos = chunk.pos() - lastROPos.get();
                 final int scriptId = findItemId(index.scripts(), relativePos);
-                lfExporter.addSC(scriptId, lecFile.readChunk(chunk));
+                add(lecFile, chunk, (lfExporter, c) -> lfExporter.addSC(scriptId, c));
             }
             case CO -> {
                 final int relativePos = chunk.pos() - lastROPos.get();
                 final int costumeId = findItemId(index.costumes(), relativePos);
-                lfExporter.addCO(costumeId, lecFile.readChunk(chunk));
+                add(lecFile, chunk, (lfExporter, c) -> lfExporter.addCO(costumeId, c));
             }
             case SO -> {
                 final int relativePos = chunk.pos() - lastROPos.get();
-                lfExporter.addSO(findItemId(index.sounds(), relativePos));
+                final int itemId = findItemId(index.sounds(), relativePos);
+                lfActions.add(lfExporter -> lfExporter.addSO(itemId));
             }
-            case WA -> lfExporter.addWA(lecFile.readChunk(chunk));
-            case AD -> lfExporter.addAD(lecFile.readChunk(chunk));
+            case WA -> add(lecFile, chunk, LfExporter::addWA);
+            case AD -> add(lecFile, chunk, LfExporter::addAD);
             case AM -> {
                 final int relativePos = chunk.pos() - lastROPos.get();
                 final int itemId = findItemId(index.sounds(), relativePos);
-                lfExporter.addAM(itemId, lecFile.readChunk(chunk));
+                add(lecFile, chunk, (lfExporter, c) -> lfExporter.addAM(itemId, c));
             }
             case ROL -> {
                 final int relativePos = chunk.pos() - lastROPos.get();
                 final int itemId = findItemId(index.sounds(), relativePos);
-                lfExporter.addROL(itemId, lecFile.readChunk(chunk));
+                add(lecFile, chunk, (lfExporter, c) -> lfExporter.addROL(itemId, c));
             }
             default -> throw new IllegalStateException("Unknown chunk: " + chunk);
         }
@@ -104,36 +139,79 @@ public class ExportVisitor implements LecVisitor {
         return true;
     }
 
+    /**
+     * Reads the chunk right away and defers its export until the room is complete.
+     */
+    private void add(final LecFile lecFile, final LecChunk chunk, final BiConsumer<LfExporter, BasicChunk> action) {
+        final BasicChunk basicChunk = lecFile.readChunk(chunk);
+        lfActions.add(lfExporter -> action.accept(lfExporter, basicChunk));
+    }
+
     private void newLflBuilder(final BasicChunk readChunk) {
         finalizeLF();
-        lfExporter = new LfExporter(readChunk, index, outDir);
+        lfChunk = readChunk;
+        roomId = ChunkLFDecoder.decode(readChunk).roomId();
+        lfActions = new ArrayList<>();
+        StatusInfo.status("Read room #%03d (%s)", roomId, LfExporter.nameOfRoom(index, roomId));
     }
 
     private void finalizeLF() {
-        if (lfExporter != null) {
-            roomIds.add(lfExporter.getRoomId());
-            lfExporter.end();
+        if (lfChunk != null) {
+            roomIds.add(roomId);
+
+            final BasicChunk chunk = lfChunk;
+            final List<Consumer<LfExporter>> actions = lfActions;
+            roomExports.add(CompletableFuture.supplyAsync(() -> {
+                final LfExporter lfExporter = new LfExporter(chunk, index, outDir, imageExecutor);
+                actions.forEach(action -> action.accept(lfExporter));
+                return lfExporter.end();
+            }, executor).thenCompose(Function.identity()));
+
+            lfChunk = null;
+            StatusInfo.success();
         }
     }
 
     private int findItemId(final List<RoomOffset> offsets, final int relativePos) {
         final List<Integer> elements = offsets.stream()
-            .filter(c -> c.roomId() == lfExporter.getRoomId())
+            .filter(c -> c.roomId() == roomId)
             .filter(c -> c.roomOffset() == relativePos)
             .map(RoomOffset::itemId)
             .toList();
 
         if (elements.size() != 1) {
             throw new IllegalStateException("Found %d elements for relativePos %d in room %d"
-                .formatted(elements.size(), relativePos, lfExporter.getRoomId()));
+                .formatted(elements.size(), relativePos, roomId));
         }
 
         return elements.get(0);
     }
 
+    /**
+     * Finalizes the last room and waits for the export of all rooms to complete. The status of each room is
+     * reported (in order) once its export has completed.
+     */
     @Override
     public void end() {
         finalizeLF();
+
+        for (int i = 0; i < roomIds.size(); i++) {
+            final int id = roomIds.get(i);
+            StatusInfo.status("Export room #%03d (%s)", id, LfExporter.nameOfRoom(index, id));
+            join(roomExports.get(i));
+            StatusInfo.success();
+        }
+    }
+
+    private static void join(final CompletableFuture<Void> roomExport) {
+        try {
+            roomExport.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
     }
 
 }
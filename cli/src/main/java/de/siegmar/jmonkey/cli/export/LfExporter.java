@@ -18,7 +18,6 @@
 
 package de.siegmar.jmonkey.cli.export;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
@@ -28,19 +27,17 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
-import javax.imageio.ImageIO;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
 import de.siegmar.jmonkey.cli.RoomMeta;
-import de.siegmar.jmonkey.cli.StatusInfo;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
 import de.siegmar.jmonkey.commons.misc.MaskLayer;
-import de.siegmar.jmonkey.decoder.BufferedImageAdapter;
 import de.siegmar.jmonkey.decoder.LecFileScriptPrintDecoder;
 import de.siegmar.jmonkey.decoder.header.ChunkLF;
 import de.siegmar.jmonkey.decoder.header.ChunkLFDecoder;
@@ -74,9 +71,10 @@ public class LfExporter {
     private final ObjectWriter objectWriter = new ObjectMapper()
         .writerWithDefaultPrettyPrinter();
 
-    private final ScriptDecoder scriptDecoder = new ScriptDecoder();
+    private final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
 
     private final Index index;
+    private final Executor imageExecutor;
     private final Path outDir;
     private final int roomId;
     private final List<ChunkOC> parkOC = new ArrayList<>();
@@ -86,32 +84,41 @@ public class LfExporter {
     private final List<Integer> objectIds = new ArrayList<>();
     private final List<Integer> costumeIds = new ArrayList<>();
     private final List<Integer> scriptIds = new ArrayList<>();
+    private final List<CompletableFuture<Void>> imageWrites = new ArrayList<>();
     private ChunkHD hdChunk;
     private BasicChunk parkBM;
     private ColorPalette paChunk;
     private Integer lastSOId;
 
     public LfExporter(final BasicChunk readChunk, final Index index, final Path expDir) {
+        this(readChunk, index, expDir, Runnable::run);
+    }
+
+    /**
+     * @param imageExecutor executor for encoding and writing the decoded images, so that decoding of the next
+     *                      image doesn't have to wait for it (may be the executor running this exporter)
+     */
+    public LfExporter(final BasicChunk readChunk, final Index index, final Path expDir,
+                      final Executor imageExecutor) {
         this.index = index;
+        this.imageExecutor = imageExecutor;
 
         final ChunkLF chunkLF = ChunkLFDecoder.decode(readChunk);
         roomId = chunkLF.roomId();
-        final String roomName = nameOfRoom();
+        final String roomName = nameOfRoom(index, roomId);
 
         try {
             this.outDir = Files.createDirectories(expDir.resolve("rooms").resolve(roomName));
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
-
-        StatusInfo.status("Export room #%03d (%s)", roomId, roomName);
     }
 
     public int getRoomId() {
         return roomId;
     }
 
-    private String nameOfRoom() {
+    static String nameOfRoom(final Index index, final int roomId) {
         return index.roomNames().stream()
             .filter(rn -> roomId == rn.roomId())
             .findFirst()
@@ -161,18 +168,19 @@ public class LfExporter {
         paChunk = ChunkPADecoder.readPalette(readChunk);
     }
 
-    public void end() {
+    /**
+     * Exports the images of the room and writes the room metadata.
+     *
+     * @return completes when all images are written (by the image executor)
+     */
+    public CompletableFuture<Void> end() {
         if (parkBM != null) {
             final Optional<LayeredImage> image = ChunkBMDecoder.decode(parkBM, hdChunk, paChunk);
             image.ifPresent(i -> {
-                writeImage(i, backgroundDir().resolve("image.png").toFile());
+                writeImage(i, backgroundDir().resolve("image.png"));
                 final List<MaskLayer> masks = i.getMasks();
                 for (int j = 0; j < masks.size(); j++) {
-                    final MaskLayer mask = masks.get(j);
-                    final BufferedImageAdapter bia = new BufferedImageAdapter();
-                    mask.writeTo(bia, 0xFFFFFFFF, 0);
-
-                    writeImage(bia, backgroundDir().resolve("image_mask_%d.png".formatted(j)).toFile());
+                    writeMask(masks.get(j), backgroundDir().resolve("image_mask_%d.png".formatted(j)));
                 }
             });
         }
@@ -187,7 +195,7 @@ public class LfExporter {
             final Optional<LayeredImage> objectImage = ChunkOIDecoder.decodeImage(p, chunkOC, paChunk);
             objectImage.ifPresent(oimg -> {
                 final String filename = "object.png";
-                writeImage(oimg, objectsDir(chunkOC.objectId()).resolve(filename).toFile());
+                writeImage(oimg, objectsDir(chunkOC.objectId()).resolve(filename));
             });
         }
 
@@ -198,21 +206,17 @@ public class LfExporter {
             throw new UncheckedIOException(e);
         }
 
-        StatusInfo.success();
+        // not joined here -- with a shared executor, waiting would block a thread the writes may need
+        return CompletableFuture.allOf(imageWrites.toArray(new CompletableFuture<?>[0]));
     }
 
-    private void writeImage(final LayeredImage i, final File output) {
-        final BufferedImageAdapter bia = new BufferedImageAdapter();
-        i.writeTo(bia);
-        writeImage(bia, output);
+    private void writeImage(final LayeredImage i, final Path output) {
+        imageWrites.add(CompletableFuture.runAsync(() -> PngWriter.writeIndexed(i.getImage(), output),
+            imageExecutor));
     }
 
-    private void writeImage(final BufferedImageAdapter bia, final File output) {
-        try {
-            ImageIO.write(bia.getImage(), "PNG", output);
-        } catch (final IOException e) {
-            throw new UncheckedIOException(e);
-        }
+    private void writeMask(final MaskLayer mask, final Path output) {
+        imageWrites.add(CompletableFuture.runAsync(() -> PngWriter.writeMask(mask, output), imageExecutor));
     }
 
     public void addBX(final BasicChunk readChunk) {
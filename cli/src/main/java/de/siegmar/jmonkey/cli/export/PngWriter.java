@@ -0,0 +1,166 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.cli.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+
+/**
+ * Minimal PNG writer for palette based images.
+ * <p>
+ * Images are written as 8-bit indexed PNGs (with PLTE and optional tRNS) and masks as 1-bit indexed PNGs
+ * (unset pixels transparent black, set pixels opaque white) -- without going through an ARGB
+ * {@link java.awt.image.BufferedImage} and ImageIO. Each thread reuses its own {@link Deflater}.
+ */
+public final class PngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int COLOR_TYPE_INDEXED = 3;
+    private static final int FILTER_NONE = 0;
+    private static final int COMPRESSION_DEFLATE = 0;
+    private static final int FILTER_METHOD_ADAPTIVE = 0;
+    private static final int INTERLACE_NONE = 0;
+    private static final int BUFFER_SIZE = 8192;
+    private static final ColorPalette MASK_PALETTE = new ColorPalette(new int[]{0x00_00_00_00, 0xFF_FF_FF_FF});
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    private PngWriter() {
+    }
+
+    public static void writeIndexed(final IndexedImage image, final Path file) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final byte[] indices = image.getIndices();
+
+        // palette images compress best without row filters
+        final byte[] raw = new byte[(width + 1) * height];
+        for (int y = 0; y < height; y++) {
+            raw[y * (width + 1)] = FILTER_NONE;
+            System.arraycopy(indices, y * width, raw, y * (width + 1) + 1, width);
+        }
+
+        write(file, width, height, Byte.SIZE, image.getPalette(), image.getTransparentIndex(), raw);
+    }
+
+    public static void writeMask(final MaskLayer mask, final Path file) {
+        final int width = mask.getWidth();
+        final int height = mask.getHeight();
+        final int stride = (width + Byte.SIZE - 1) / Byte.SIZE + 1;
+
+        final byte[] raw = new byte[stride * height];
+        for (int y = 0; y < height; y++) {
+            final int rowOffset = y * stride + 1;
+            for (int x = 0; x < width; x++) {
+                if (mask.isSet(x, y)) {
+                    raw[rowOffset + (x >>> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+        }
+
+        write(file, width, height, 1, MASK_PALETTE, 0, raw);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private static void write(final Path file, final int width, final int height, final int bitDepth,
+                              final ColorPalette palette, final int transparentIndex, final byte[] raw) {
+        if (width == 0 || height == 0) {
+            throw new IllegalArgumentException("PNG can't be empty, got %dx%d for %s".formatted(width, height, file));
+        }
+
+        final int colors = Math.min(palette.size(), 1 << bitDepth);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.write(SIGNATURE);
+
+            final ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+            final DataOutputStream ihdrData = new DataOutputStream(ihdr);
+            ihdrData.writeInt(width);
+            ihdrData.writeInt(height);
+            ihdrData.writeByte(bitDepth);
+            ihdrData.writeByte(COLOR_TYPE_INDEXED);
+            ihdrData.writeByte(COMPRESSION_DEFLATE);
+            ihdrData.writeByte(FILTER_METHOD_ADAPTIVE);
+            ihdrData.writeByte(INTERLACE_NONE);
+            writeChunk(out, "IHDR", ihdr.toByteArray());
+
+            final byte[] plte = new byte[colors * 3];
+            for (int i = 0; i < colors; i++) {
+                final int rgb = palette.color(i);
+                plte[i * 3] = (byte) (rgb >>> 16);
+                plte[i * 3 + 1] = (byte) (rgb >>> 8);
+                plte[i * 3 + 2] = (byte) rgb;
+            }
+            writeChunk(out, "PLTE", plte);
+
+            if (transparentIndex >= 0 && transparentIndex < colors) {
+                final byte[] trns = new byte[transparentIndex + 1];
+                Arrays.fill(trns, (byte) 0xFF);
+                trns[transparentIndex] = 0;
+                writeChunk(out, "tRNS", trns);
+            }
+
+            writeChunk(out, "IDAT", deflate(raw));
+            writeChunk(out, "IEND", new byte[0]);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] deflate(final byte[] raw) throws IOException {
+        final Deflater deflater = DEFLATER.get();
+        deflater.reset();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(bos, deflater, BUFFER_SIZE)) {
+            dos.write(raw);
+        }
+
+        return bos.toByteArray();
+    }
+
+    private static void writeChunk(final DataOutputStream out, final String type, final byte[] data)
+        throws IOException {
+        final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+
+        final CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+}
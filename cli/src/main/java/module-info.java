@@ -1,5 +1,6 @@
 module de.siegmar.jmonkey.cli {
     opens de.siegmar.jmonkey.cli;
+    opens de.siegmar.jmonkey.cli.atlas;
     opens de.siegmar.jmonkey.cli.builder;
     opens de.siegmar.jmonkey.cli.decrypt;
     opens de.siegmar.jmonkey.cli.export;
@@ -8,6 +9,7 @@ module de.siegmar.jmonkey.cli {
     requires de.siegmar.jmonkey.decoder;
     requires de.siegmar.jmonkey.commons;
     requires de.siegmar.jmonkey.encoder;
+    requires de.siegmar.jmonkey.datarepository;
     requires com.fasterxml.jackson.databind;
     requires info.picocli;
     requires java.desktop;
@@ -0,0 +1,131 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.cli.builder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.siegmar.jmonkey.cli.RoomMeta;
+import de.siegmar.jmonkey.cli.export.PngWriter;
+import de.siegmar.jmonkey.commons.io.BasicChunk;
+import de.siegmar.jmonkey.commons.io.BasicChunkHeader;
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.io.ByteStringBuilder;
+import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.decoder.room.image.ChunkBMDecoder;
+import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+import de.siegmar.jmonkey.encoder.ImageEncoder;
+import de.siegmar.jmonkey.encoder.index.IndexBuilder;
+
+class LflBuilderTest {
+
+    private static final int ROOM_ID = 1;
+    private static final int WIDTH = 32;
+    private static final int HEIGHT = 8;
+    private static final int AMIGA_COLORS = 32;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void uneditedAmigaBackgroundIsKept() throws IOException {
+        final Path roomDir = tempDir.resolve("room");
+        final Path backgroundDir = Files.createDirectories(roomDir.resolve("background"));
+        final Path paletteDir = Files.createDirectories(roomDir.resolve("palette"));
+
+        // distinct colors -- the upper 16 entries are the room palette
+        final int[] colors = new int[AMIGA_COLORS];
+        final ByteStringBuilder pa = new ByteStringBuilder().appendU16(colors.length * 3);
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = 0xFF_00_00_00 | i * 8 << 16 | (255 - i * 8) << 8 | i;
+            pa.appendU8(i * 8).appendU8(255 - i * 8).appendU8(i);
+        }
+        pa.build().writeTo(paletteDir.resolve("PA.bin"));
+
+        final ChunkHD hd = new ChunkHD(WIDTH, HEIGHT, 0);
+        new ByteStringBuilder().appendU16(WIDTH).appendU16(HEIGHT).appendU16(0).build()
+            .writeTo(backgroundDir.resolve("HD.bin"));
+
+        final ByteString bm = ImageEncoder.encodeVGA(image(new ColorPalette(colors).roomPalette()));
+        bm.writeTo(backgroundDir.resolve("BM.bin"));
+
+        // export like LfExporter does
+        final LayeredImage exported = ChunkBMDecoder
+            .decode(BasicChunk.wrap("BM", bm), hd, new ColorPalette(colors))
+            .orElseThrow();
+        PngWriter.writeIndexed(exported.getImage(), backgroundDir.resolve("image.png"));
+        PngWriter.writeMask(exported.getMasks().get(0), backgroundDir.resolve("image_mask_0.png"));
+
+        final Path lflFile = tempDir.resolve("room.lfl");
+        new LflBuilder(new RoomMeta(ROOM_ID, List.of(), List.of(), List.of(), List.of(), List.of()),
+            roomDir, new IndexBuilder(), lflFile).buildLFLFile();
+
+        assertArrayEquals(bm.dumpCopy(), roomChild(ByteString.readFrom(lflFile), "BM").dumpCopy());
+    }
+
+    private static LayeredImage image(final ColorPalette palette) {
+        final byte[] indices = new byte[WIDTH * HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                indices[y * WIDTH + x] = (byte) ((x / 3 + y) % palette.size());
+            }
+        }
+
+        final int rowWords = MaskLayer.rowWords(WIDTH);
+        final long[] bits = new long[rowWords * HEIGHT];
+        for (int y = HEIGHT / 2; y < HEIGHT; y++) {
+            bits[y * rowWords] = 0xFF_FF_00_FFL;
+        }
+
+        return new LayeredImage(new IndexedImage(WIDTH, HEIGHT, indices, palette, IndexedImage.NO_TRANSPARENCY),
+            List.of(new MaskLayer(WIDTH, HEIGHT, bits)));
+    }
+
+    // LF (room id) > RO > children
+    private static ByteString roomChild(final ByteString lfl, final String name) {
+        final EnhancedByteBuffer bb = lfl.ebbLE();
+        assertEquals("LF", bb.readChunkHeader().name());
+        bb.readU16();
+        final BasicChunkHeader ro = bb.readChunkHeader();
+        assertEquals("RO", ro.name());
+
+        final int roEnd = bb.position() + ro.payloadLength();
+        while (bb.position() < roEnd) {
+            final BasicChunkHeader child = bb.readChunkHeader();
+            if (child.name().equals(name)) {
+                return lfl.slice(bb.position(), child.payloadLength());
+            }
+            bb.skip(child.payloadLength());
+        }
+        throw new IllegalStateException("No %s chunk found".formatted(name));
+    }
+
+}
@@ -22,18 +22,15 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.List;
-import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.stream.IntStream;
 
 import de.siegmar.jmonkey.commons.io.BasicChunk;
-import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.RasterImage;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 import de.siegmar.jmonkey.datarepository.DataRepository;
-import de.siegmar.jmonkey.decoder.costume.ChunkCODecoder;
+import de.siegmar.jmonkey.decoder.costume.CompiledAnimation;
 import de.siegmar.jmonkey.decoder.costume.Costume;
-import de.siegmar.jmonkey.decoder.costume.CostumeAnimation;
-import de.siegmar.jmonkey.decoder.costume.StandaloneCostumeAnimation;
-import de.siegmar.jmonkey.decoder.room.Room;
+import de.siegmar.jmonkey.decoder.costume.CostumeAnimator;
 import de.siegmar.jmonkey.explorer.misc.JavaFxImageAdapter;
 import de.siegmar.jmonkey.explorer.model.NumberedItem;
 import de.siegmar.jmonkey.explorer.util.Resource;
@@ -55,7 +52,7 @@ import javafx.util.Duration;
 public class CostumeDetailsController implements Initializable {
 
     @FXML
-    private ListView<NumberedItem<List<RasterImage>>> costumeAnimations;
+    private ListView<NumberedItem<CompiledAnimation>> costumeAnimations;
 
     @FXML
     private Slider imageSizeSlider;
@@ -75,13 +72,8 @@ public class CostumeDetailsController implements Initializable {
         }
         final CostumeDetailsController controller = fxmlLoader.getController();
 
-        final BasicChunk costumeData = dataRepository.readCostume(costumeId);
-        final Room roomChunk = dataRepository.loadRoom(
-            dataRepository.getWrappedIndex().findCostumeRelativeOffset(costumeId).orElseThrow().roomId());
-        final Optional<ColorPalette> colorPalette = roomChunk.pa();
-
-        controller.setCostumeChunk(costumeData);
-        controller.setCostume(ChunkCODecoder.decode(costumeData, colorPalette.orElse(ColorPalette.EGA)));
+        controller.setCostumeChunk(dataRepository.readCostume(costumeId));
+        controller.setCostume(dataRepository.loadCostume(costumeId));
 
         return roomPane;
     }
@@ -112,21 +104,17 @@ public class CostumeDetailsController implements Initializable {
     public void setCostume(final Costume costume) {
         costumeAnimations.setCellFactory(param -> new ListCell<>() {
             @Override
-            protected void updateItem(final NumberedItem<List<RasterImage>> item, final boolean empty) {
+            protected void updateItem(final NumberedItem<CompiledAnimation> item, final boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty ? "" : "Animation " + item.number());
             }
         });
 
-        for (int animNo = 0; animNo < costume.header().animOffsets().size(); animNo++) {
-            if (costume.getAnimation(animNo) != null) {
-                final CostumeAnimation costumeAnimation =
-                    StandaloneCostumeAnimation.collectCostumeAnimation(costume, animNo);
-                final List<RasterImage> rasterImages = costumeAnimation.drawAnimation();
-
-                if (!rasterImages.isEmpty()) {
-                    costumeAnimations.getItems().add(new NumberedItem<>(animNo, rasterImages));
-                }
+        final CostumeAnimator animator = new CostumeAnimator(costume);
+        for (final Integer animNo : animator.animations()) {
+            final CompiledAnimation animation = animator.compile(animNo);
+            if (animation.frameCount() > 0) {
+                costumeAnimations.getItems().add(new NumberedItem<>(animNo, animation));
             }
         }
 
@@ -139,17 +127,14 @@ public class CostumeDetailsController implements Initializable {
                 return;
             }
 
-            final List<Image> rasterImages = newValue.item().stream()
-                .map(this::convert)
+            final CompiledAnimation animation = newValue.item();
+            final List<Image> images = IntStream.range(0, animation.frameCount())
+                .mapToObj(i -> convert(animation.render(i)))
                 .toList();
 
-            // TODO check costume 20, animation 5 (where's the body?)
-
-            if (!rasterImages.isEmpty()) {
-                final Images images = new Images(rasterImages);
-                tl.getKeyFrames().setAll(new KeyFrame(Duration.millis(100), e -> images.next()));
-                tl.play();
-            }
+            final Images player = new Images(animation, images);
+            tl.getKeyFrames().setAll(new KeyFrame(Duration.millis(100), e -> player.next()));
+            tl.play();
         });
 
         costumeAnimations.getSelectionModel().select(0);
@@ -161,24 +146,27 @@ public class CostumeDetailsController implements Initializable {
             });
     }
 
-    private Image convert(final RasterImage rasterImage) {
+    private Image convert(final IndexedImage indexedImage) {
         final JavaFxImageAdapter imageAdapter = new JavaFxImageAdapter();
-        rasterImage.writeTo(imageAdapter);
+        indexedImage.writeTo(imageAdapter);
         return imageAdapter.getImage();
     }
 
     private class Images {
 
+        private final CompiledAnimation animation;
         private final List<Image> imageList;
-        private int pos;
+        private long step;
 
-        Images(final List<Image> images) {
+        Images(final CompiledAnimation animation, final List<Image> images) {
+            this.animation = animation;
             this.imageList = images;
         }
 
+        // frames before the loop start are only shown once
         void next() {
-            costumeView.setImage(imageList.get(pos));
-            pos = pos >= imageList.size() - 1 ? 0 : pos + 1;
+            costumeView.setImage(imageList.get(animation.frameIndexAt(step)));
+            step++;
         }
 
     }
@@ -260,7 +260,7 @@ public class ExplorerController implements Initializable {
         final StringWriter sw = new StringWriter();
         final PrintWriter printWriter = new PrintWriter(sw);
         final PrintOpcodeDelegate opcodeDelegate = new PrintOpcodeDelegate(printWriter::println);
-        final ScriptDecoder scriptDecoder = new ScriptDecoder();
+        final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
         final LecFileScriptPrintDecoder lfspd = new LecFileScriptPrintDecoder(sw, scriptDecoder, opcodeDelegate);
         lfspd.decodeOC(oc).execute();
 
@@ -401,7 +401,7 @@ public class ExplorerController implements Initializable {
         final StringWriter sw = new StringWriter();
         final PrintWriter printWriter = new PrintWriter(sw);
         final PrintOpcodeDelegate opcodeDelegate = new PrintOpcodeDelegate(printWriter::println);
-        final ScriptDecoder scriptDecoder = new ScriptDecoder();
+        final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
         final LecFileScriptPrintDecoder lfspd = new LecFileScriptPrintDecoder(sw, scriptDecoder, opcodeDelegate);
         lfspd.decodeGeneric(data).execute();
 
@@ -423,7 +423,7 @@ public class ExplorerController implements Initializable {
         final StringWriter sw = new StringWriter();
         final PrintWriter printWriter = new PrintWriter(sw);
         final PrintOpcodeDelegate opcodeDelegate = new PrintOpcodeDelegate(printWriter::println);
-        final ScriptDecoder scriptDecoder = new ScriptDecoder();
+        final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
         final LecFileScriptPrintDecoder lfspd = new LecFileScriptPrintDecoder(sw, scriptDecoder, opcodeDelegate);
         lfspd.decodeLS(data).execute();
 
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import de.siegmar.jmonkey.commons.io.AccessMode;
 import de.siegmar.jmonkey.datarepository.DataRepository;
 import de.siegmar.jmonkey.datarepository.RoomDecoder;
 import de.siegmar.jmonkey.explorer.model.CostumeViewItem;
@@ -61,6 +62,8 @@ import javafx.scene.layout.TilePane;
     "checkstyle:ClassDataAbstractionCoupling"})
 public class GameExplorerController {
 
+    private static final long RESOURCE_CACHE_WEIGHT = 256L * 1024 * 1024;
+
     @FXML
     private Label statusLabel;
 
@@ -88,7 +91,11 @@ public class GameExplorerController {
     public void openGame(final Path dir) {
         statusLabel.setText("Dir: " + dir.toString());
 
-        dataRepository = new DataRepository(dir);
+        // release the files and caches of a previously opened game
+        if (dataRepository != null) {
+            dataRepository.close();
+        }
+        dataRepository = new DataRepository(dir, AccessMode.MAPPED, RESOURCE_CACHE_WEIGHT);
         rawIndex = dataRepository.getIndex();
         index = dataRepository.getWrappedIndex();
 
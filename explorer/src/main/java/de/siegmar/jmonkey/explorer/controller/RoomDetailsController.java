@@ -35,7 +35,6 @@ import de.siegmar.jmonkey.decoder.room.ObjectItem;
 import de.siegmar.jmonkey.decoder.room.Room;
 import de.siegmar.jmonkey.decoder.room.ScaleSlot;
 import de.siegmar.jmonkey.decoder.room.box.ChunkBXBox;
-import de.siegmar.jmonkey.decoder.room.image.ChunkBMDecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 import de.siegmar.jmonkey.explorer.misc.JavaFxImageAdapter;
@@ -246,20 +245,24 @@ public class RoomDetailsController implements Initializable {
     }
 
     private void showColorCycle(final ColorCycle colorCycle) {
-        final ColorPalette pa = room.pa().orElseThrow();
-        final int[] palette = pa.getPalette();
-
-        cycle(palette, colorCycle.start(), colorCycle.end(), 1);
-
-        final ColorPalette newPalette = new ColorPalette(palette);
+        final LayeredImage roomImg = room.image().orElseThrow();
 
-        final LayeredImage image = ChunkBMDecoder.decode(room.imageData().orElseThrow(), room.hd(), newPalette)
-            .orElseThrow();
+        // the image keeps palette indices - no need to decode it again;
+        // only VGA rooms have a palette to cycle, EGA images keep the fixed EGA palette
+        final LayeredImage image = room.pa()
+            .map(pa -> roomImg.withPalette(cycledPalette(pa, colorCycle)))
+            .orElse(roomImg);
         final JavaFxImageAdapter javaFxImageAdapter = new JavaFxImageAdapter();
         image.writeTo(javaFxImageAdapter);
         roomImage.setImage(javaFxImageAdapter.getImage());
     }
 
+    private static ColorPalette cycledPalette(final ColorPalette pa, final ColorCycle colorCycle) {
+        final int[] palette = pa.getPalette();
+        cycle(palette, colorCycle.start(), colorCycle.end(), 1);
+        return new ColorPalette(palette).roomPalette();
+    }
+
     private static void cycle(final int[] data, final int begin, final int end, final int shift) {
         final int len = end - begin;
 
@@ -24,7 +24,6 @@ import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.util.List;
 
-import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.datarepository.DataRepository;
 import de.siegmar.jmonkey.decoder.script.PrintOpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.Script;
@@ -47,15 +46,15 @@ public class ScriptViewController {
     }
 
     public void setScript(final int scriptId) {
-        final BasicChunk scriptData = dataRepository.readGlobalScript(scriptId);
-
         final StringWriter sw = new StringWriter();
         final PrintWriter printWriter = new PrintWriter(sw);
         final PrintOpcodeDelegate opcodeDelegate = new PrintOpcodeDelegate(printWriter::println);
-        final ScriptDecoder scriptDecoder = new ScriptDecoder();
 
-        final Script script = new Script(-1, scriptDecoder, opcodeDelegate, scriptData.data(), 0,
-            List.of(), false, false);
+        // the printer doesn't follow jumps -- scripts with unresolvable jumps are still printable when interpreted
+        final Script script = dataRepository.loadGlobalScriptProgram(scriptId)
+            .map(program -> Script.predecoded(-1, opcodeDelegate, program, List.of(), false, false))
+            .orElseGet(() -> new Script(-1, ScriptDecoder.shared(), opcodeDelegate,
+                dataRepository.readGlobalScript(scriptId).data(), 0, List.of(), false, false));
         script.execute();
 
         textArea.setText(sw.toString());
@@ -20,6 +20,7 @@ package de.siegmar.jmonkey.explorer.misc;
 
 import de.siegmar.jmonkey.commons.misc.ImageAdapter;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 
@@ -39,6 +40,12 @@ public class JavaFxImageAdapter implements ImageAdapter<Image> {
         pixelWriter.setArgb(x, y, color);
     }
 
+    @Override
+    public void setPixels(final int x, final int y, final int width, final int height,
+                          final int[] argb, final int offset, final int stride) {
+        pixelWriter.setPixels(x, y, width, height, PixelFormat.getIntArgbInstance(), argb, offset, stride);
+    }
+
     @Override
     public WritableImage getImage() {
         return wi;
@@ -57,6 +57,7 @@ import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
 import de.siegmar.jmonkey.decoder.room.image.ChunkHDDecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkOIDecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkPADecoder;
+import de.siegmar.jmonkey.decoder.room.image.DecodeMode;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 import de.siegmar.jmonkey.decoder.sound.ChunkADDecoder;
 import de.siegmar.jmonkey.decoder.sound.ChunkAM;
@@ -75,7 +76,7 @@ public class LecDecoder implements Closeable {
 
     public LecDecoder(final Path file) {
         this.file = file;
-        treeIndex = LecScanner.scanTree(file);
+        treeIndex = LecScanner.scanTreeIndexed(file);
         try {
             ch = FileChannel.open(file, StandardOpenOption.READ);
         } catch (final IOException e) {
@@ -163,7 +164,7 @@ public class LecDecoder implements Closeable {
 
         final BasicChunk bmData = sliceChunk(index.chunk());
 
-        return ChunkBMDecoder.decode(bmData, chunkHD, colorPalette.orElse(null));
+        return ChunkBMDecoder.decode(bmData, chunkHD, colorPalette.orElse(null), DecodeMode.PARALLEL);
     }
 
     public ChunkBX readBX(final LecChunk chunk) {
@@ -16,8 +16,14 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
-package de.siegmar.jmonkey.decoder.costume;
+package de.siegmar.jmonkey.commons.io;
 
-public record LimbOffset(int address) {
+public enum AccessMode {
+
+    /** Read (and decrypt) every requested range from the file channel. */
+    CHANNEL,
+
+    /** Map the file once, decrypt it in bulk and serve all reads from memory. */
+    MAPPED
 
 }
@@ -27,7 +27,7 @@ public class BitBuffer {
     private static final int BITS_PER_BYTE = 8;
 
     private final ByteBuffer bb;
-    private final ByteOrder byteOrder;
+    private final boolean littleEndian;
     private int curData;
     private int bitLeft;
 
@@ -39,13 +39,13 @@ public class BitBuffer {
 
     public BitBuffer(final ByteBuffer bb, final ByteOrder byteOrder) {
         this.bb = bb;
-        this.byteOrder = byteOrder;
+        littleEndian = ByteOrder.LITTLE_ENDIAN.equals(byteOrder);
     }
 
     private void ensureBuffer(final int len) {
         if (bitLeft < len) {
             final int fetch = bb.get() & 0xff;
-            if (ByteOrder.LITTLE_ENDIAN.equals(byteOrder)) {
+            if (littleEndian) {
                 curData |= fetch << bitLeft;
             } else {
                 curData <<= Byte.SIZE;
@@ -67,7 +67,7 @@ public class BitBuffer {
         ensureBuffer(len);
 
         final int val;
-        if (ByteOrder.LITTLE_ENDIAN.equals(byteOrder)) {
+        if (littleEndian) {
             val = curData & MASKS[len];
             curData >>>= len;
         } else {
@@ -0,0 +1,64 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Entire file contents, decrypted once into an off-heap buffer.
+ * <p>
+ * All returned {@link ByteString}s are views on the shared buffer – no data is copied.
+ */
+public final class DecryptedFile {
+
+    private final ByteBuffer data;
+
+    private DecryptedFile(final ByteBuffer data) {
+        this.data = data;
+    }
+
+    public static DecryptedFile map(final Path file, final byte pattern) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, READ)) {
+            final int size = Math.toIntExact(ch.size());
+            final MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final ByteBuffer decrypted = ByteBuffer.allocateDirect(size);
+            XorCipher.apply(mapped, decrypted, pattern);
+            return new DecryptedFile(decrypted.flip().asReadOnlyBuffer());
+        }
+    }
+
+    public int size() {
+        return data.capacity();
+    }
+
+    public ByteString slice(final int pos, final int length) {
+        Preconditions.checkArgument(pos >= 0 && length >= 0 && pos + length <= data.capacity(),
+            "Range %d/%d exceeds file size %d", pos, length, data.capacity());
+        return new ByteString(data.slice(pos, length));
+    }
+
+}
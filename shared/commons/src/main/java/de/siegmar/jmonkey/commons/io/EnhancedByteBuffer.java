@@ -30,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -118,6 +119,95 @@ public class EnhancedByteBuffer {
         return read;
     }
 
+    public int[] readU8Array(final int len) {
+        final int[] dst = new int[len];
+        readU8Array(dst, 0, len);
+        return dst;
+    }
+
+    /**
+     * Reads {@code len} unsigned bytes into {@code dst} and advances the position.
+     */
+    public EnhancedByteBuffer readU8Array(final int[] dst, final int offset, final int len) {
+        readU8Array(bb.position(), dst, offset, len);
+        return skip(len);
+    }
+
+    /**
+     * Reads {@code len} unsigned bytes starting at {@code position} into {@code dst}
+     * without changing the position.
+     */
+    public EnhancedByteBuffer readU8Array(final int position, final int[] dst, final int offset, final int len) {
+        Objects.checkFromIndexSize(offset, len, dst.length);
+        Objects.checkFromIndexSize(position, len, bb.limit());
+        for (int i = 0; i < len; i++) {
+            dst[offset + i] = bb.get(position + i) & 0xff;
+        }
+        return this;
+    }
+
+    public int[] readU16Array(final int len) {
+        final int[] dst = new int[len];
+        readU16Array(dst, 0, len);
+        return dst;
+    }
+
+    /**
+     * Reads {@code len} unsigned 16-bit values into {@code dst} and advances the position.
+     */
+    public EnhancedByteBuffer readU16Array(final int[] dst, final int offset, final int len) {
+        readU16Array(bb.position(), dst, offset, len);
+        return skip(len * Short.BYTES);
+    }
+
+    /**
+     * Reads {@code len} unsigned 16-bit values starting at {@code position} into {@code dst}
+     * without changing the position.
+     */
+    public EnhancedByteBuffer readU16Array(final int position, final int[] dst, final int offset, final int len) {
+        Objects.checkFromIndexSize(offset, len, dst.length);
+        Objects.checkFromIndexSize(position, len * Short.BYTES, bb.limit());
+        for (int i = 0; i < len; i++) {
+            dst[offset + i] = bb.getShort(position + i * Short.BYTES) & 0xffff;
+        }
+        return this;
+    }
+
+    public int[] readU32Array(final int len) {
+        final int[] dst = new int[len];
+        readU32Array(dst, 0, len);
+        return dst;
+    }
+
+    /**
+     * Reads {@code len} unsigned 32-bit values into {@code dst} and advances the position.
+     *
+     * @throws IllegalStateException if a value exceeds the range of a signed integer
+     */
+    public EnhancedByteBuffer readU32Array(final int[] dst, final int offset, final int len) {
+        readU32Array(bb.position(), dst, offset, len);
+        return skip(len * Integer.BYTES);
+    }
+
+    /**
+     * Reads {@code len} unsigned 32-bit values starting at {@code position} into {@code dst}
+     * without changing the position.
+     *
+     * @throws IllegalStateException if a value exceeds the range of a signed integer
+     */
+    public EnhancedByteBuffer readU32Array(final int position, final int[] dst, final int offset, final int len) {
+        Objects.checkFromIndexSize(offset, len, dst.length);
+        Objects.checkFromIndexSize(position, len * Integer.BYTES, bb.limit());
+        for (int i = 0; i < len; i++) {
+            final int read = bb.getInt(position + i * Integer.BYTES);
+            if (read < 0) {
+                throw new IllegalStateException("read a signed integer: " + read);
+            }
+            dst[offset + i] = read;
+        }
+        return this;
+    }
+
     public String readNTS(final Charset charset) {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
         int d;
@@ -208,4 +298,12 @@ public class EnhancedByteBuffer {
         return new BitBuffer(bb, bb.order());
     }
 
+    /**
+     * Creates a little endian bit reader starting at the current position. The position is only
+     * updated by {@link LittleEndianBitReader#release()}.
+     */
+    public LittleEndianBitReader littleEndianBitReader() {
+        return new LittleEndianBitReader(bb);
+    }
+
 }
@@ -25,7 +25,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
-import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -76,10 +76,31 @@ public final class IOUtil {
         return new XorInputStream(in, pattern);
     }
 
-    @SuppressWarnings("PMD.CloseResource")
     public static ByteString read(final ReadableByteChannel ch, final int length) throws IOException {
-        final XorInputStream in = new XorInputStream(Channels.newInputStream(ch), (byte) 0x69);
-        return ByteString.readFrom(in, length);
+        final ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining() && ch.read(buf) != -1) {
+            // read until buffer is full or EOF is reached
+        }
+        XorCipher.apply(buf.flip(), (byte) 0x69);
+        return new ByteString(buf);
+    }
+
+    /**
+     * Positional variant of {@link #read(ReadableByteChannel, int)} – the channel position is not modified,
+     * so the channel can be shared between threads.
+     */
+    public static ByteString read(final FileChannel ch, final long position, final int length) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(length);
+        int read = 0;
+        while (buf.hasRemaining()) {
+            final int n = ch.read(buf, position + read);
+            if (n == -1) {
+                break;
+            }
+            read += n;
+        }
+        XorCipher.apply(buf.flip(), (byte) 0x69);
+        return new ByteString(buf);
     }
 
     public static ByteString readLEFile(final Path file, final byte pattern) {
@@ -0,0 +1,107 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Little endian bit reader with a 64-bit accumulator that is refilled a word at a time.
+ * <p>
+ * The reader reads ahead of the bits actually consumed. Call {@link #release()} to hand the
+ * position of the underlying buffer back – it is set to the first byte with no consumed bits.
+ */
+public final class LittleEndianBitReader {
+
+    private static final int MAX_PEEK_BITS = Integer.SIZE;
+    private static final int REFILL_THRESHOLD = Long.SIZE - Byte.SIZE;
+
+    private final ByteBuffer bb;
+    private final ByteBuffer data;
+    private final int limit;
+    private int pos;
+    private long acc;
+    private int bitCount;
+
+    public LittleEndianBitReader(final ByteBuffer bb) {
+        this.bb = bb;
+        data = bb.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        pos = bb.position();
+        limit = bb.limit();
+    }
+
+    private void refill() {
+        if (limit - pos >= Long.BYTES) {
+            // Bits beyond bitCount are the (already correct) bits of the following bytes,
+            // so loading them again with the next refill does no harm.
+            acc |= data.getLong(pos) << bitCount;
+            final int bytes = (Long.SIZE - 1 - bitCount) >>> 3;
+            pos += bytes;
+            bitCount += bytes * Byte.SIZE;
+        } else {
+            while (bitCount <= REFILL_THRESHOLD && pos < limit) {
+                acc |= (data.get(pos++) & 0xffL) << bitCount;
+                bitCount += Byte.SIZE;
+            }
+        }
+    }
+
+    /**
+     * Returns the next {@code len} bits without consuming them. Bits beyond the end of the data are zero.
+     */
+    public int peekBits(final int len) {
+        if (len > MAX_PEEK_BITS) {
+            throw new IllegalArgumentException("Len > 32 not supported");
+        }
+        if (bitCount < len) {
+            refill();
+        }
+        return (int) (acc & (-1L >>> (Long.SIZE - len)));
+    }
+
+    public void skipBits(final int len) {
+        if (bitCount < len) {
+            refill();
+            if (bitCount < len) {
+                throw new BufferUnderflowException();
+            }
+        }
+        acc >>>= len;
+        bitCount -= len;
+    }
+
+    public int readBits(final int len) {
+        final int val = peekBits(len);
+        skipBits(len);
+        return val;
+    }
+
+    public boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    /**
+     * Sets the position of the underlying buffer to the first byte that has not been (partially) consumed.
+     */
+    public void release() {
+        bb.position(pos - bitCount / Byte.SIZE);
+    }
+
+}
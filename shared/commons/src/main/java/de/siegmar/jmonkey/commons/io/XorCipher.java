@@ -0,0 +1,98 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Bulk XOR en-/decryption on buffers and channels – processes 8 bytes per step.
+ */
+public final class XorCipher {
+
+    private static final int TRANSFER_BUFFER_SIZE = 1 << 16;
+
+    private XorCipher() {
+    }
+
+    public static void apply(final byte[] data, final int off, final int len, final byte pattern) {
+        apply(ByteBuffer.wrap(data, off, len), pattern);
+    }
+
+    /**
+     * XORs the remaining bytes of the buffer in place. The buffer position is not changed.
+     */
+    public static void apply(final ByteBuffer buf, final byte pattern) {
+        xor(buf, buf.position(), buf, buf.position(), buf.remaining(), pattern);
+    }
+
+    /**
+     * XORs the remaining bytes of {@code src} into {@code dst}. Both positions are advanced.
+     */
+    public static void apply(final ByteBuffer src, final ByteBuffer dst, final byte pattern) {
+        final int len = src.remaining();
+        Preconditions.checkArgument(dst.remaining() >= len,
+            "Destination too small (%d < %d)", dst.remaining(), len);
+
+        xor(src, src.position(), dst, dst.position(), len, pattern);
+        src.position(src.position() + len);
+        dst.position(dst.position() + len);
+    }
+
+    private static void xor(final ByteBuffer src, final int srcPos, final ByteBuffer dst, final int dstPos,
+                            final int len, final byte pattern) {
+        // byte order doesn't matter as the pattern is the same for all 8 bytes
+        final long mask = (pattern & 0xFFL) * 0x0101_0101_0101_0101L;
+
+        int i = 0;
+        for (final int wideLimit = len - Long.BYTES; i <= wideLimit; i += Long.BYTES) {
+            dst.putLong(dstPos + i, src.getLong(srcPos + i) ^ mask);
+        }
+        for (; i < len; i++) {
+            dst.put(dstPos + i, (byte) (src.get(srcPos + i) ^ pattern));
+        }
+    }
+
+    /**
+     * Reads {@code in} until EOF and writes the XORed data to {@code out}.
+     *
+     * @return the number of bytes transferred
+     */
+    public static long transfer(final ReadableByteChannel in, final WritableByteChannel out, final byte pattern)
+        throws IOException {
+
+        final ByteBuffer buf = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+        long transferred = 0;
+        while (in.read(buf) != -1) {
+            buf.flip();
+            apply(buf, pattern);
+            transferred += buf.remaining();
+            while (buf.hasRemaining()) {
+                out.write(buf);
+            }
+            buf.clear();
+        }
+        return transferred;
+    }
+
+}
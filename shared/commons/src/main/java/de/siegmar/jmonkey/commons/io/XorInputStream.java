@@ -49,9 +49,7 @@ public class XorInputStream extends FilterInputStream {
         final int n = in.read(b, off, len);
 
         if (n > 0) {
-            for (int i = 0; i < n; i++) {
-                b[off + i] = (byte) ((b[off + i] ^ pattern) & 0xFF);
-            }
+            XorCipher.apply(b, off, n, pattern);
         }
 
         return n;
@@ -0,0 +1,92 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.lang;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe, memoizing value holder. The supplier is called at most once (on first access) and
+ * released afterwards.
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private static final Runnable NOOP = () -> { };
+
+    private final Runnable onInitialized;
+    private volatile Supplier<? extends T> supplier;
+    private T value;
+
+    private Lazy(final Supplier<? extends T> supplier, final T value, final Runnable onInitialized) {
+        this.value = value;
+        this.supplier = supplier;
+        this.onInitialized = onInitialized;
+    }
+
+    public static <T> Lazy<T> of(final Supplier<? extends T> supplier) {
+        return of(supplier, NOOP);
+    }
+
+    /**
+     * Creates an instance that calls {@code onInitialized} once the value has been computed.
+     * The callback runs on the initializing thread after {@link #isInitialized()} turned {@code true}
+     * and without holding this instance's lock.
+     */
+    public static <T> Lazy<T> of(final Supplier<? extends T> supplier, final Runnable onInitialized) {
+        return new Lazy<>(Objects.requireNonNull(supplier), null, Objects.requireNonNull(onInitialized));
+    }
+
+    /**
+     * Creates an already initialized instance.
+     */
+    public static <T> Lazy<T> value(final T value) {
+        return new Lazy<>(null, value, NOOP);
+    }
+
+    @Override
+    public T get() {
+        // value is published by the volatile write of supplier (happens-before)
+        if (supplier != null && initialize()) {
+            onInitialized.run();
+        }
+        return value;
+    }
+
+    private synchronized boolean initialize() {
+        final Supplier<? extends T> s = supplier;
+        if (s == null) {
+            return false;
+        }
+        value = s.get();
+        supplier = null;
+        return true;
+    }
+
+    public boolean isInitialized() {
+        return supplier == null;
+    }
+
+    @Override
+    public String toString() {
+        return isInitialized() ? "Lazy[" + value + "]" : "Lazy[not initialized]";
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+/**
+ * Snapshot of the counters of a {@link WeightedLruCache}.
+ *
+ * @param hits          number of lookups served from the cache
+ * @param misses        number of lookups that had to load the value
+ * @param evictions     number of entries removed to stay within the weight limit
+ * @param totalLoadTime accumulated time spent loading values (in nanoseconds)
+ * @param size          number of currently cached entries
+ * @param weight        accumulated weight of currently cached entries
+ */
+public record CacheStats(long hits, long misses, long evictions, long totalLoadTime, int size, long weight) {
+
+    public double hitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    public double averageLoadTime() {
+        return misses == 0 ? 0.0 : (double) totalLoadTime / misses;
+    }
+
+}
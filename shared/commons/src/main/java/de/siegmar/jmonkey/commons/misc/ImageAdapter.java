@@ -25,6 +25,28 @@ public interface ImageAdapter<T> {
 
     void setRGB(int x, int y, int color);
 
+    /**
+     * Transfers a rectangular block of ARGB pixels. Implementations should override this
+     * with a bulk copy; the default falls back to {@link #setRGB(int, int, int)} per pixel.
+     *
+     * @param x      left target coordinate
+     * @param y      top target coordinate
+     * @param width  width of the block
+     * @param height height of the block
+     * @param argb   source pixels
+     * @param offset index of the first source pixel
+     * @param stride distance between two source rows
+     */
+    default void setPixels(final int x, final int y, final int width, final int height,
+                           final int[] argb, final int offset, final int stride) {
+        for (int row = 0; row < height; row++) {
+            final int rowOffset = offset + row * stride;
+            for (int col = 0; col < width; col++) {
+                setRGB(x + col, y + row, argb[rowOffset + col]);
+            }
+        }
+    }
+
     default T getImage() {
         return null;
     }
@@ -0,0 +1,126 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Immutable image made of palette indices (one byte per pixel, row by row).
+ * <p>
+ * The pixels are only resolved to ARGB when the image is rendered, so the palette can be
+ * exchanged (see {@link #withPalette(ColorPalette)}) without decoding the image again.
+ */
+public final class IndexedImage {
+
+    /**
+     * Marker for images without a transparent palette index.
+     */
+    public static final int NO_TRANSPARENCY = -1;
+
+    private static final int MAX_COLORS = 256;
+
+    private final int width;
+    private final int height;
+    private final byte[] indices;
+    private final ColorPalette palette;
+    private final int transparentIndex;
+
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public IndexedImage(final int width, final int height, final byte[] indices,
+                        final ColorPalette palette, final int transparentIndex) {
+        Preconditions.checkArgument(indices.length == width * height,
+            "index array length %s does not match %sx%s", indices.length, width, height);
+        Preconditions.checkArgument(transparentIndex >= NO_TRANSPARENCY && transparentIndex < MAX_COLORS,
+            "invalid transparent index %s", transparentIndex);
+        this.width = width;
+        this.height = height;
+        this.indices = indices;
+        this.palette = palette;
+        this.transparentIndex = transparentIndex;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public ColorPalette getPalette() {
+        return palette;
+    }
+
+    public int getTransparentIndex() {
+        return transparentIndex;
+    }
+
+    public int getIndex(final int x, final int y) {
+        return indices[y * width + x] & 0xFF;
+    }
+
+    public int getColor(final int x, final int y) {
+        final int idx = getIndex(x, y);
+        return idx == transparentIndex ? 0 : palette.color(idx);
+    }
+
+    public byte[] getIndices() {
+        return indices.clone();
+    }
+
+    /**
+     * Creates a view of this image using a different palette. The pixel data is shared.
+     */
+    public IndexedImage withPalette(final ColorPalette newPalette) {
+        return new IndexedImage(width, height, indices, newPalette, transparentIndex);
+    }
+
+    /**
+     * Resolves all pixels to ARGB.
+     */
+    public RasterImage toRasterImage() {
+        return new RasterImage(width, height, argb());
+    }
+
+    public <T> void writeTo(final ImageAdapter<T> imageAdapter) {
+        imageAdapter.init(width, height);
+        imageAdapter.setPixels(0, 0, width, height, argb(), 0, width);
+    }
+
+    public <T> void writeTo(final ImageAdapter<T> imageAdapter, final MaskLayer maskLayer) {
+        maskLayer.apply(toRasterImage()).writeTo(imageAdapter);
+    }
+
+    private int[] argb() {
+        final int[] lut = new int[MAX_COLORS];
+        for (int i = 0; i < Math.min(MAX_COLORS, palette.size()); i++) {
+            lut[i] = palette.color(i);
+        }
+        if (transparentIndex != NO_TRANSPARENCY) {
+            lut[transparentIndex] = 0;
+        }
+
+        final int[] argb = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            argb[i] = lut[indices[i] & 0xFF];
+        }
+        return argb;
+    }
+
+}
@@ -21,23 +21,26 @@ package de.siegmar.jmonkey.commons.misc;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Mapped diagnostic context – values are kept per thread.
+ */
 public final class MDC {
 
-    private static final Map<String, Object> VALUES = new HashMap<>();
+    private static final ThreadLocal<Map<String, Object>> VALUES = ThreadLocal.withInitial(HashMap::new);
 
     private MDC() {
     }
 
     public static void put(final String key, final Object value) {
-        VALUES.put(key, value);
+        VALUES.get().put(key, value);
     }
 
     public static void remove(final String key) {
-        VALUES.remove(key);
+        VALUES.get().remove(key);
     }
 
     public static String str() {
-        return VALUES.toString();
+        return VALUES.get().toString();
     }
 
 }
@@ -18,17 +18,38 @@
 
 package de.siegmar.jmonkey.commons.misc;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Bit-packed mask (e.g. a z-plane). Each row is stored in {@link #rowWords(int)} longs;
+ * pixel {@code x} is bit {@code x & 63} of word {@code x >>> 6}.
+ */
 public class MaskLayer {
 
     private final int width;
     private final int height;
-    private final byte[][] pixels;
+    private final int rowWords;
+    private final long[] bits;
 
     @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-    public MaskLayer(final int width, final int height, final byte[][] pixels) {
+    public MaskLayer(final int width, final int height, final long[] bits) {
+        Preconditions.checkArgument(bits.length == rowWords(width) * height,
+            "bit array length %s does not match %sx%s", bits.length, width, height);
         this.width = width;
         this.height = height;
-        this.pixels = pixels;
+        this.bits = bits;
+        rowWords = rowWords(width);
+    }
+
+    /**
+     * Number of longs used to store one row of the given width.
+     */
+    public static int rowWords(final int width) {
+        return (width + Long.SIZE - 1) >>> 6;
     }
 
     public int getWidth() {
@@ -43,15 +64,77 @@ public class MaskLayer {
         // FIXME hack (?)
         imageAdapter.init(width, height);
 
+        final int[] argb = new int[width * height];
         for (int y = 0; y < height; y++) {
+            final int rowOffset = y * width;
             for (int x = 0; x < width; x++) {
-                imageAdapter.setRGB(x, y, pixels[y][x] == 1 ? setColor : unsetColor);
+                argb[rowOffset + x] = isSet(x, y) ? setColor : unsetColor;
             }
         }
+        imageAdapter.setPixels(0, 0, width, height, argb, 0, width);
     }
 
     public boolean isSet(final int x, final int y) {
-        return pixels[y][x] == 1;
+        return (bits[y * rowWords + (x >>> 6)] & 1L << (x & 63)) != 0;
+    }
+
+    public MaskLayer union(final MaskLayer other) {
+        return combine(other, (a, b) -> a | b);
+    }
+
+    public MaskLayer intersect(final MaskLayer other) {
+        return combine(other, (a, b) -> a & b);
+    }
+
+    private MaskLayer combine(final MaskLayer other, final LongBinaryOperator op) {
+        Preconditions.checkArgument(width == other.width && height == other.height,
+            "mask dimensions differ: %sx%s vs %sx%s", width, height, other.width, other.height);
+
+        final long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            result[i] = op.applyAsLong(bits[i], other.bits[i]);
+        }
+        return new MaskLayer(width, height, result);
+    }
+
+    /**
+     * Creates a copy of the given image with all pixels not covered by this mask made transparent (0).
+     */
+    public RasterImage apply(final RasterImage image) {
+        Preconditions.checkArgument(width == image.getWidth() && height == image.getHeight(),
+            "image dimensions differ: %sx%s vs %sx%s", width, height, image.getWidth(), image.getHeight());
+
+        final int[] src = image.pixels();
+        final int[] dst = new int[src.length];
+        for (int y = 0; y < height; y++) {
+            final int rowOffset = y * width;
+            for (int w = 0; w < rowWords; w++) {
+                long word = bits[y * rowWords + w];
+                while (word != 0) {
+                    final int idx = rowOffset + (w << 6) + Long.numberOfTrailingZeros(word);
+                    dst[idx] = src[idx];
+                    word &= word - 1;
+                }
+            }
+        }
+        return new RasterImage(width, height, dst);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MaskLayer that = (MaskLayer) o;
+        return width == that.width && height == that.height && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height, Arrays.hashCode(bits));
     }
 
 }
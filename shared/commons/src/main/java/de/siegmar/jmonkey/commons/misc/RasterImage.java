@@ -18,14 +18,21 @@
 
 package de.siegmar.jmonkey.commons.misc;
 
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Immutable ARGB image. Pixels are stored row by row in a single array (stride = width).
+ */
 public class RasterImage {
 
     private final int width;
     private final int height;
-    private final int[][] pixels;
+    private final int[] pixels;
 
     @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-    public RasterImage(final int width, final int height, final int[][] pixels) {
+    public RasterImage(final int width, final int height, final int[] pixels) {
+        Preconditions.checkArgument(pixels.length == width * height,
+            "pixel array length %s does not match %sx%s", pixels.length, width, height);
         this.width = width;
         this.height = height;
         this.pixels = pixels;
@@ -40,29 +47,21 @@ public class RasterImage {
     }
 
     public int getColor(final int x, final int y) {
-        return pixels[y][x];
+        return pixels[y * width + x];
     }
 
     public <T> void writeTo(final ImageAdapter<T> imageAdapter) {
         imageAdapter.init(width, height);
-        for (int y = 0; y < height; y++) {
-            final int[] row = pixels[y];
-            for (int x = 0; x < width; x++) {
-                imageAdapter.setRGB(x, y, row[x]);
-            }
-        }
+        imageAdapter.setPixels(0, 0, width, height, pixels, 0, width);
     }
 
     public <T> void writeTo(final ImageAdapter<T> imageAdapter, final MaskLayer maskLayer) {
-        imageAdapter.init(width, height);
-        for (int y = 0; y < height; y++) {
-            final int[] row = pixels[y];
-            for (int x = 0; x < width; x++) {
-                if (maskLayer.isSet(x, y)) {
-                    imageAdapter.setRGB(x, y, row[x]);
-                }
-            }
-        }
+        maskLayer.apply(this).writeTo(imageAdapter);
+    }
+
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    int[] pixels() {
+        return pixels;
     }
 
 }
@@ -0,0 +1,137 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Thread-safe LRU cache bounded by the accumulated weight (e.g. estimated bytes) of its values.
+ * <p>
+ * Values are loaded outside the lock – concurrent misses on the same key may load the value twice,
+ * the last one wins. Values heavier than the maximum weight are returned but not cached.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, WeightedValue<V>> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long totalLoadTime;
+
+    public WeightedLruCache(final long maxWeight, final ToLongFunction<? super V> weigher) {
+        Preconditions.checkArgument(maxWeight >= 0, "maxWeight must be >= 0 but was %d", maxWeight);
+        this.maxWeight = maxWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+    }
+
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        synchronized (this) {
+            final WeightedValue<V> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.value();
+            }
+            misses++;
+        }
+
+        final long start = System.nanoTime();
+        final V value = Objects.requireNonNull(loader.apply(key));
+        final long loadTime = System.nanoTime() - start;
+        final long valueWeight = weigher.applyAsLong(value);
+
+        synchronized (this) {
+            totalLoadTime += loadTime;
+            if (valueWeight <= maxWeight) {
+                final WeightedValue<V> previous = entries.put(key, new WeightedValue<>(value, valueWeight));
+                if (previous != null) {
+                    weight -= previous.weight();
+                }
+                weight += valueWeight;
+                evict();
+            }
+        }
+
+        return value;
+    }
+
+    private void evict() {
+        final Iterator<WeightedValue<V>> it = entries.values().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= it.next().weight();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Weighs a cached value again – for values whose footprint grows after they have been cached
+     * (e.g. lazily decoded parts). Does nothing if the key isn't cached (anymore).
+     */
+    public synchronized void reweigh(final K key) {
+        final WeightedValue<V> cached = entries.get(key);
+        if (cached != null) {
+            final long valueWeight = weigher.applyAsLong(cached.value());
+            entries.put(key, new WeightedValue<>(cached.value(), valueWeight));
+            weight += valueWeight - cached.weight();
+            evict();
+        }
+    }
+
+    public synchronized Optional<V> getIfPresent(final K key) {
+        return Optional.ofNullable(entries.get(key)).map(WeightedValue::value);
+    }
+
+    public synchronized void invalidate(final K key) {
+        final WeightedValue<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, totalLoadTime, entries.size(), weight);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "WeightedLruCache[maxWeight=%d, %s]".formatted(maxWeight, stats());
+    }
+
+    private record WeightedValue<V>(V value, long weight) {
+    }
+
+}
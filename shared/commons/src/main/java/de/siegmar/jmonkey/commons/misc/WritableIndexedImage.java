@@ -0,0 +1,49 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+public class WritableIndexedImage {
+
+    protected final int width;
+    protected final int height;
+    protected final byte[] indices;
+
+    public WritableIndexedImage(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+        indices = new byte[width * height];
+    }
+
+    public void draw(final int x, final int y, final int index) {
+        indices[y * width + x] = (byte) index;
+    }
+
+    /**
+     * Repeats the color of the pixel to the left (used by the EGA codec).
+     */
+    public void drawPreviousColor(final int x, final int y) {
+        final int idx = y * width + x;
+        indices[idx] = indices[idx - 1];
+    }
+
+    public IndexedImage indexedImage(final ColorPalette palette, final int transparentIndex) {
+        return new IndexedImage(width, height, indices, palette, transparentIndex);
+    }
+
+}
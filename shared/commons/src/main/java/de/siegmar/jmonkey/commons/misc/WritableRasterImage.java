@@ -22,32 +22,21 @@ public class WritableRasterImage {
 
     protected final int width;
     protected final int height;
-    protected int[][] pixels;
+    protected final int[] pixels;
 
     public WritableRasterImage(final int width, final int height) {
-        this(width, height, new int[height][width]);
+        this(width, height, new int[width * height]);
     }
 
     @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-    WritableRasterImage(final int width, final int height, final int[][] pixels) {
+    WritableRasterImage(final int width, final int height, final int[] pixels) {
         this.width = width;
         this.height = height;
         this.pixels = pixels;
     }
 
     public void draw(final int x, final int y, final int col) {
-        pixels[y][x] = col;
-    }
-
-    public void transfer(final RasterImage src, final int x, final int y) {
-        for (int sy = 0; sy < src.getHeight(); sy++) {
-            for (int sx = 0; sx < src.getWidth(); sx++) {
-                final int color = src.getColor(sx, sy);
-                if (color != 0) {
-                    pixels[sy + y][sx + x] = color;
-                }
-            }
-        }
+        pixels[y * width + x] = col;
     }
 
     public RasterImage rasterImage() {
@@ -56,17 +45,8 @@ public class WritableRasterImage {
 
     // TODO refactor
     public void drawPreviousColor(final int x, final int y) {
-        pixels[y][x] = pixels[y][x - 1];
-    }
-
-    public void mirror() {
-        final int[][] tmp = new int[height][width];
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                tmp[y][x] = pixels[y][width - 1 - x];
-            }
-        }
-        pixels = tmp;
+        final int idx = y * width + x;
+        pixels[idx] = pixels[idx - 1];
     }
 
 }
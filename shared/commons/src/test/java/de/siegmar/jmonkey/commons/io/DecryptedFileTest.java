@@ -0,0 +1,108 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DecryptedFileTest {
+
+    private static final byte PATTERN = 0x69;
+
+    @TempDir
+    Path tempDir;
+
+    // an LE chunk (length + name) followed by random payload
+    private static byte[] leFile(final int size) {
+        final byte[] data = new byte[size];
+        new Random(1).nextBytes(data);
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(size)
+            .put("LE".getBytes(StandardCharsets.US_ASCII));
+        return data;
+    }
+
+    private Path write(final String name, final byte[] data, final boolean encrypt) throws IOException {
+        final byte[] content = data.clone();
+        if (encrypt) {
+            XorCipher.apply(content, 0, content.length, PATTERN);
+        }
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    @Test
+    void mappedEqualsChannelReads() throws IOException {
+        // odd size to have a tail that isn't processed in 8 byte steps
+        final byte[] plain = leFile(10_003);
+        final Path file = write("DISK01.LEC", plain, true);
+
+        final DecryptedFile mapped = DecryptedFile.map(file, PATTERN);
+        assertEquals(plain.length, mapped.size());
+
+        final int[][] ranges = {{0, 6}, {0, plain.length}, {1, 7}, {4093, 17}, {plain.length - 1, 1}, {42, 0}};
+        try (FileChannel ch = FileChannel.open(file)) {
+            for (final int[] range : ranges) {
+                final byte[] expected = Arrays.copyOfRange(plain, range[0], range[0] + range[1]);
+                assertArrayEquals(expected, mapped.slice(range[0], range[1]).dumpCopy());
+                assertArrayEquals(expected, IOUtil.read(ch, range[0], range[1]).dumpCopy());
+            }
+        }
+    }
+
+    @Test
+    void sliceOutOfRange() throws IOException {
+        final DecryptedFile mapped = DecryptedFile.map(write("DISK01.LEC", leFile(64), true), PATTERN);
+
+        assertThrows(IllegalArgumentException.class, () -> mapped.slice(60, 5));
+        assertThrows(IllegalArgumentException.class, () -> mapped.slice(-1, 1));
+    }
+
+    // the readers recognize an (encrypted) data file by the decrypted LE header
+    @Test
+    void detectEncryptedFile() throws IOException {
+        final byte[] plain = leFile(256);
+
+        final BasicChunkHeader encrypted = DecryptedFile.map(write("DISK01.LEC", plain, true), PATTERN)
+            .slice(0, 6).ebbLE().readChunkHeader();
+        assertEquals("LE", encrypted.name());
+        assertEquals(plain.length, encrypted.length());
+
+        // e.g. a file that has already been decrypted by the decrypt command
+        final BasicChunkHeader unencrypted = DecryptedFile.map(write("DISK02.LEC", plain, false), PATTERN)
+            .slice(0, 6).ebbLE().readChunkHeader();
+        assertNotEquals("LE", unencrypted.name());
+        assertNotEquals(plain.length, unencrypted.length());
+    }
+
+}
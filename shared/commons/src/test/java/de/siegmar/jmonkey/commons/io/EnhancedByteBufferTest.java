@@ -0,0 +1,90 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class EnhancedByteBufferTest {
+
+    private static final byte[] DATA = {
+        (byte) 0x01, (byte) 0xFF, (byte) 0x02, (byte) 0x80,
+        (byte) 0x03, (byte) 0x00, (byte) 0x00, (byte) 0x00,
+    };
+
+    @Test
+    void readU8Array() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        assertArrayEquals(new int[]{0x01, 0xFF, 0x02}, bb.readU8Array(3));
+        assertEquals(3, bb.position());
+    }
+
+    @Test
+    void readU16Array() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        assertArrayEquals(new int[]{0xFF01, 0x8002}, bb.readU16Array(2));
+        assertEquals(4, bb.position());
+    }
+
+    @Test
+    void readU32Array() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        bb.position(4);
+        assertArrayEquals(new int[]{3}, bb.readU32Array(1));
+        assertEquals(8, bb.position());
+    }
+
+    @Test
+    void readU32ArraySigned() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        assertThrows(IllegalStateException.class, () -> bb.readU32Array(1));
+    }
+
+    @Test
+    void fillRelative() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        final int[] dst = new int[4];
+        bb.skip(2).readU16Array(dst, 1, 2);
+        assertArrayEquals(new int[]{0, 0x8002, 0x0003, 0}, dst);
+        assertEquals(6, bb.position());
+    }
+
+    @Test
+    void fillAbsolute() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        final int[] dst = new int[2];
+        bb.readU8Array(6, dst, 0, 2);
+        assertArrayEquals(new int[]{0, 0}, dst);
+        bb.readU16Array(2, dst, 0, 2);
+        assertArrayEquals(new int[]{0x8002, 0x0003}, dst);
+        assertEquals(0, bb.position());
+    }
+
+    @Test
+    void outOfBounds() {
+        final EnhancedByteBuffer bb = ByteString.wrap(DATA).ebbLE();
+        assertThrows(IndexOutOfBoundsException.class, () -> bb.readU16Array(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> bb.readU8Array(0, new int[2], 1, 2));
+        assertEquals(0, bb.position());
+    }
+
+}
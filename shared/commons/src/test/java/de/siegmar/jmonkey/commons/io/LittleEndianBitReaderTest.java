@@ -0,0 +1,82 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+class LittleEndianBitReaderTest {
+
+    @Test
+    void multiBit() {
+        final LittleEndianBitReader bits = reader(new byte[]{0b00_010_001, (byte) 0b1_110_001_0});
+        assertEquals(1, bits.readBits(3));
+        assertEquals(2, bits.readBits(3));
+        assertEquals(0, bits.readBits(3));
+        assertEquals(1, bits.readBits(3));
+        assertEquals(6, bits.readBits(3));
+        assertEquals(1, bits.readBits(1));
+        assertThrows(BufferUnderflowException.class, () -> bits.readBits(1));
+    }
+
+    @Test
+    void peekBeyondEnd() {
+        final LittleEndianBitReader bits = reader(new byte[]{(byte) 0xFF});
+        assertEquals(0xFF, bits.peekBits(12));
+        bits.skipBits(4);
+        assertEquals(0x0F, bits.peekBits(8));
+    }
+
+    @Test
+    void wordRefill() {
+        final byte[] data = new byte[20];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        final LittleEndianBitReader bits = reader(data);
+        bits.skipBits(4);
+        for (int i = 0; i < data.length - 1; i++) {
+            assertEquals((i >>> 4) | ((i + 1) & 0xF) << 4, bits.readBits(8));
+        }
+    }
+
+    @Test
+    void release() {
+        final ByteBuffer bb = ByteBuffer.wrap(new byte[16]);
+        bb.position(2);
+
+        final LittleEndianBitReader bits = new LittleEndianBitReader(bb);
+        bits.readBits(9);
+        assertEquals(2, bb.position());
+
+        bits.release();
+        assertEquals(4, bb.position());
+    }
+
+    private LittleEndianBitReader reader(final byte[] array) {
+        return new LittleEndianBitReader(ByteBuffer.wrap(array));
+    }
+
+}
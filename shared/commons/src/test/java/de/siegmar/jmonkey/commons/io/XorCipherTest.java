@@ -0,0 +1,112 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.jupiter.api.Test;
+
+class XorCipherTest {
+
+    private static final byte PATTERN = 0x69;
+
+    private static byte[] data(final int len) {
+        final byte[] data = new byte[len];
+        for (int i = 0; i < len; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+
+    private static byte[] naiveXor(final byte[] data) {
+        final byte[] ret = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            ret[i] = (byte) (data[i] ^ PATTERN);
+        }
+        return ret;
+    }
+
+    @Test
+    void applyArray() {
+        final byte[] data = data(27);
+        final byte[] expected = data.clone();
+        for (int i = 3; i < 3 + 21; i++) {
+            expected[i] ^= PATTERN;
+        }
+
+        XorCipher.apply(data, 3, 21, PATTERN);
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    void applyInPlaceKeepsPosition() {
+        final ByteBuffer buf = ByteBuffer.wrap(data(17));
+        buf.position(1);
+
+        XorCipher.apply(buf, PATTERN);
+
+        assertEquals(1, buf.position());
+        final byte[] expected = naiveXor(data(17));
+        expected[0] = data(1)[0];
+        assertArrayEquals(expected, buf.array());
+    }
+
+    @Test
+    void applyToDirectBuffer() {
+        final byte[] data = data(1000);
+        final ByteBuffer src = ByteBuffer.wrap(data);
+        final ByteBuffer dst = ByteBuffer.allocateDirect(data.length + 5);
+
+        XorCipher.apply(src, dst, PATTERN);
+
+        assertEquals(data.length, src.position());
+        assertEquals(data.length, dst.position());
+
+        final byte[] actual = new byte[data.length];
+        dst.get(0, actual);
+        assertArrayEquals(naiveXor(data), actual);
+    }
+
+    @Test
+    void destinationTooSmall() {
+        assertThrows(IllegalArgumentException.class, () ->
+            XorCipher.apply(ByteBuffer.allocate(9), ByteBuffer.allocate(8), PATTERN));
+    }
+
+    @Test
+    void transfer() throws IOException {
+        final byte[] data = data(200_003);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        final long transferred = XorCipher.transfer(Channels.newChannel(new ByteArrayInputStream(data)),
+            Channels.newChannel(out), PATTERN);
+
+        assertEquals(data.length, transferred);
+        assertArrayEquals(naiveXor(data), out.toByteArray());
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class LazyTest {
+
+    @Test
+    void computesOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Lazy<String> lazy = Lazy.of(() -> "value" + calls.incrementAndGet());
+
+        assertFalse(lazy.isInitialized());
+        assertEquals(0, calls.get());
+
+        assertEquals("value1", lazy.get());
+        assertEquals("value1", lazy.get());
+        assertTrue(lazy.isInitialized());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void notifiesOnceInitialized() {
+        final AtomicReference<Lazy<String>> ref = new AtomicReference<>();
+        final AtomicInteger notifications = new AtomicInteger();
+        ref.set(Lazy.of(() -> "value", () -> {
+            assertTrue(ref.get().isInitialized());
+            notifications.incrementAndGet();
+        }));
+
+        assertEquals(0, notifications.get());
+        assertEquals("value", ref.get().get());
+        assertEquals("value", ref.get().get());
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void initializedValue() {
+        final Lazy<String> lazy = Lazy.value("value");
+
+        assertTrue(lazy.isInitialized());
+        assertEquals("value", lazy.get());
+    }
+
+}
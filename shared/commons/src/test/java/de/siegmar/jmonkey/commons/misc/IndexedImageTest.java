@@ -0,0 +1,76 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedImageTest {
+
+    private static final ColorPalette PALETTE = new ColorPalette(new int[]{0xFF000000, 0xFF111111, 0xFF222222});
+    private static final ColorPalette OTHER = new ColorPalette(new int[]{0xFFAAAAAA, 0xFFBBBBBB, 0xFFCCCCCC});
+
+    @Test
+    void render() {
+        final IndexedImage img = image(IndexedImage.NO_TRANSPARENCY);
+
+        final RasterImage raster = img.toRasterImage();
+        assertEquals(0xFF000000, raster.getColor(0, 0));
+        assertEquals(0xFF111111, raster.getColor(1, 0));
+        assertEquals(0xFF222222, raster.getColor(0, 1));
+        assertEquals(2, img.getIndex(0, 1));
+    }
+
+    @Test
+    void transparent() {
+        final IndexedImage img = image(0);
+
+        assertEquals(0, img.getColor(0, 0));
+        assertEquals(0, img.toRasterImage().getColor(0, 0));
+        assertEquals(0xFF111111, img.getColor(1, 0));
+    }
+
+    @Test
+    void withPalette() {
+        final IndexedImage img = image(IndexedImage.NO_TRANSPARENCY);
+        final IndexedImage swapped = img.withPalette(OTHER);
+
+        assertSame(OTHER, swapped.getPalette());
+        assertEquals(0xFFBBBBBB, swapped.getColor(1, 0));
+        assertEquals(0xFF111111, img.getColor(1, 0));
+    }
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new IndexedImage(2, 2, new byte[3], PALETTE, IndexedImage.NO_TRANSPARENCY));
+    }
+
+    private static IndexedImage image(final int transparentIndex) {
+        final WritableIndexedImage img = new WritableIndexedImage(2, 2);
+        img.draw(1, 0, 1);
+        img.draw(0, 1, 2);
+        img.draw(1, 1, 1);
+        return img.indexedImage(PALETTE, transparentIndex);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MaskLayerTest {
+
+    private static final int WIDTH = 72;
+    private static final int HEIGHT = 2;
+
+    @Test
+    void isSet() {
+        final MaskLayer mask = mask(0, 63, 64, WIDTH + 71);
+
+        assertTrue(mask.isSet(0, 0));
+        assertTrue(mask.isSet(63, 0));
+        assertTrue(mask.isSet(64, 0));
+        assertTrue(mask.isSet(71, 1));
+        assertFalse(mask.isSet(1, 0));
+        assertFalse(mask.isSet(0, 1));
+    }
+
+    @Test
+    void union() {
+        final MaskLayer mask = mask(1, 65).union(mask(65, WIDTH));
+
+        assertTrue(mask.isSet(1, 0));
+        assertTrue(mask.isSet(65, 0));
+        assertTrue(mask.isSet(0, 1));
+        assertFalse(mask.isSet(2, 0));
+    }
+
+    @Test
+    void intersect() {
+        final MaskLayer mask = mask(1, 65).intersect(mask(65, WIDTH));
+
+        assertFalse(mask.isSet(1, 0));
+        assertTrue(mask.isSet(65, 0));
+        assertFalse(mask.isSet(0, 1));
+    }
+
+    @Test
+    void dimensionMismatch() {
+        final MaskLayer other = new MaskLayer(8, 1, new long[1]);
+        assertThrows(IllegalArgumentException.class, () -> mask(0).union(other));
+    }
+
+    @Test
+    void apply() {
+        final WritableRasterImage img = new WritableRasterImage(WIDTH, HEIGHT);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                img.draw(x, y, 0xFF000000 | y * WIDTH + x);
+            }
+        }
+
+        final RasterImage masked = mask(3, 70, WIDTH + 5).apply(img.rasterImage());
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final int pos = y * WIDTH + x;
+                final int expected = pos == 3 || pos == 70 || pos == WIDTH + 5 ? 0xFF000000 | pos : 0;
+                assertEquals(expected, masked.getColor(x, y));
+            }
+        }
+    }
+
+    private static MaskLayer mask(final int... positions) {
+        final int rowWords = MaskLayer.rowWords(WIDTH);
+        final long[] bits = new long[rowWords * HEIGHT];
+        for (final int pos : positions) {
+            final int x = pos % WIDTH;
+            final int y = pos / WIDTH;
+            bits[y * rowWords + (x >>> 6)] |= 1L << (x & 63);
+        }
+        return new MaskLayer(WIDTH, HEIGHT, bits);
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.commons.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WeightedLruCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(final String key) {
+        loads.incrementAndGet();
+        return key;
+    }
+
+    @Test
+    void hitAndMiss() {
+        final WeightedLruCache<String, String> cache = new WeightedLruCache<>(100, String::length);
+
+        assertEquals("foo", cache.get("foo", this::load));
+        assertEquals("foo", cache.get("foo", this::load));
+
+        assertEquals(1, loads.get());
+        final CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(3, stats.weight());
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        final WeightedLruCache<String, String> cache = new WeightedLruCache<>(6, String::length);
+
+        cache.get("aa", this::load);
+        cache.get("bb", this::load);
+        cache.get("aa", this::load);
+        cache.get("cccc", this::load);
+
+        assertTrue(cache.getIfPresent("aa").isPresent());
+        assertTrue(cache.getIfPresent("bb").isEmpty());
+        assertTrue(cache.getIfPresent("cccc").isPresent());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(6, cache.stats().weight());
+    }
+
+    @Test
+    void tooHeavyForCache() {
+        final WeightedLruCache<String, String> cache = new WeightedLruCache<>(2, String::length);
+
+        assertEquals("foo", cache.get("foo", this::load));
+        assertEquals("foo", cache.get("foo", this::load));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void reweigh() {
+        final WeightedLruCache<String, StringBuilder> cache = new WeightedLruCache<>(6, StringBuilder::length);
+        cache.get("a", StringBuilder::new);
+        final StringBuilder grown = cache.get("b", StringBuilder::new);
+
+        grown.append("cccc");
+        cache.reweigh("b");
+        assertEquals(6, cache.stats().weight());
+        assertEquals(0, cache.stats().evictions());
+
+        grown.append('d');
+        cache.reweigh("b");
+        assertTrue(cache.getIfPresent("a").isEmpty());
+        assertTrue(cache.getIfPresent("b").isPresent());
+        assertEquals(6, cache.stats().weight());
+
+        cache.reweigh("a");
+        assertEquals(6, cache.stats().weight());
+    }
+
+    @Test
+    void invalidate() {
+        final WeightedLruCache<String, String> cache = new WeightedLruCache<>(100, String::length);
+        cache.get("foo", this::load);
+        cache.get("bar", this::load);
+
+        cache.invalidate("foo");
+        assertEquals(3, cache.stats().weight());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().size());
+        assertEquals(0, cache.stats().weight());
+    }
+
+}
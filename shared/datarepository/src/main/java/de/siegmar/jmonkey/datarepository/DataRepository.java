@@ -25,32 +25,74 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+import de.siegmar.jmonkey.commons.io.AccessMode;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.IOUtil;
 import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.CacheStats;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.WeightedLruCache;
+import de.siegmar.jmonkey.decoder.costume.ChunkCODecoder;
+import de.siegmar.jmonkey.decoder.costume.Costume;
+import de.siegmar.jmonkey.decoder.costume.LimbImageCache;
 import de.siegmar.jmonkey.decoder.room.Room;
+import de.siegmar.jmonkey.decoder.room.image.AbstractImageDecoder;
+import de.siegmar.jmonkey.decoder.room.image.ChunkBMDecoder;
+import de.siegmar.jmonkey.decoder.room.image.DecodeMode;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+import de.siegmar.jmonkey.decoder.script.ScriptDecoder;
+import de.siegmar.jmonkey.decoder.script.ScriptProgram;
 import de.siegmar.jmonkey.index.Index;
 import de.siegmar.jmonkey.index.IndexReader;
 import de.siegmar.jmonkey.index.RoomDirectory;
 import de.siegmar.jmonkey.index.RoomOffset;
 import de.siegmar.jmonkey.index.WrappedIndex;
 
+/**
+ * Access to the resources of a game directory. Instances are thread-safe and may be shared.
+ * <p>
+ * Decoded rooms, room image strips, costumes and global script programs as well as costume and global script
+ * chunks can optionally be kept in a cache
+ * that is bounded by the estimated memory footprint of its entries (see {@link #getCacheStats()}).
+ */
 @SuppressWarnings({"checkstyle:IllegalCatch", "PMD.CloseResource"})
 public class DataRepository implements Closeable {
 
     private static final System.Logger LOG = System.getLogger(DataRepository.class.getName());
 
     private final Path gameDir;
+    private final AccessMode accessMode;
     private final Index index;
     private final WrappedIndex wrappedIndex;
-    private final Map<Integer, LecSeekableFile> lecIndexes = new HashMap<>();
+    private final ConcurrentMap<Integer, LecSeekableFile> lecIndexes = new ConcurrentHashMap<>();
+    private final WeightedLruCache<ResourceKey, Object> cache;
+    private final LimbImageCache limbImageCache = new LimbImageCache();
 
     public DataRepository(final Path gameDir) {
+        this(gameDir, AccessMode.CHANNEL);
+    }
+
+    public DataRepository(final Path gameDir, final AccessMode accessMode) {
+        this(gameDir, accessMode, 0);
+    }
+
+    /**
+     * Creates a data repository with a resource cache.
+     *
+     * @param gameDir        the game directory
+     * @param accessMode     the access mode for the data files
+     * @param maxCacheWeight the maximum estimated size (in bytes) of all cached resources – 0 disables caching
+     */
+    public DataRepository(final Path gameDir, final AccessMode accessMode, final long maxCacheWeight) {
         this.gameDir = gameDir;
+        this.accessMode = accessMode;
+        cache = new WeightedLruCache<>(maxCacheWeight, ResourceWeigher::weigh);
         index = IndexReader.readFile(IOUtil.getFile(gameDir, 0));
         wrappedIndex = new WrappedIndex(index);
     }
@@ -67,25 +109,40 @@ public class DataRepository implements Closeable {
     private Optional<LecSeekableFile> lecFile(final int fileNum) {
         Preconditions.checkArgument(fileNum > 0, "Invalid fileNum: %s", fileNum);
 
-        try {
-            LecSeekableFile lecQuickIndex = lecIndexes.get(fileNum);
+        final LecSeekableFile cached = lecIndexes.get(fileNum);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-            if (lecQuickIndex == null) {
-                final String filename = IOUtil.buildPattern(fileNum);
-                final Optional<Path> file = IOUtil.findFile(gameDir, filename);
-                if (file.isEmpty()) {
-                    LOG.log(DEBUG, "File %s not found", filename);
-                    return Optional.empty();
-                }
+        // opened outside the map (no lock held while reading the index) – a missing disk isn't cached
+        // as it may be inserted later
+        return openLecFile(fileNum).map(file -> register(fileNum, file));
+    }
 
-                LOG.log(DEBUG, "Load index from %s", file);
+    private LecSeekableFile register(final int fileNum, final LecSeekableFile file) {
+        final LecSeekableFile previous = lecIndexes.putIfAbsent(fileNum, file);
+        if (previous == null) {
+            return file;
+        }
 
-                lecQuickIndex = new LecSeekableFile(file.get());
-                LOG.log(TRACE, "Load index %s", lecQuickIndex.getLecIndex());
+        // another thread opened the same disk concurrently
+        IOUtil.closeQuietly(file);
+        return previous;
+    }
 
-                lecIndexes.put(fileNum, lecQuickIndex);
-            }
+    private Optional<LecSeekableFile> openLecFile(final int fileNum) {
+        final String filename = IOUtil.buildPattern(fileNum);
+        final Optional<Path> file = IOUtil.findFile(gameDir, filename);
+        if (file.isEmpty()) {
+            LOG.log(DEBUG, "File %s not found", filename);
+            return Optional.empty();
+        }
+
+        LOG.log(DEBUG, "Load index from %s", file);
 
+        try {
+            final LecSeekableFile lecQuickIndex = new LecSeekableFile(file.get(), accessMode);
+            LOG.log(TRACE, "Load index %s", lecQuickIndex.getLecIndex());
             return Optional.of(lecQuickIndex);
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
@@ -138,8 +195,56 @@ public class DataRepository implements Closeable {
         }
     }
 
+    private <T> T cached(final ResourceType type, final int id, final Supplier<T> loader) {
+        return cached(type, id, 0, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(final ResourceType type, final int id, final int part, final Supplier<T> loader) {
+        return (T) cache.get(new ResourceKey(type, id, part), key -> loader.get());
+    }
+
     public Room loadRoom(final int roomId) {
-        return RoomDecoder.decodeRoom(readRoom(roomId));
+        // the images are weighed by their dimensions until decoded – then the room has to be weighed again
+        final ResourceKey key = new ResourceKey(ResourceType.ROOM, roomId, 0);
+        return cached(ResourceType.ROOM, roomId,
+            () -> RoomDecoder.decodeRoom(readRoom(roomId), () -> cache.reweigh(key)));
+    }
+
+    /**
+     * Loads a room without its image data – sufficient for palettes, boxes, scripts and object metadata.
+     */
+    public Room loadRoomMetadata(final int roomId) {
+        return cached(ResourceType.ROOM_METADATA, roomId, () -> RoomDecoder.decodeRoomMetadata(readRoom(roomId)));
+    }
+
+    /**
+     * Loads the strips {@code from} (inclusive) to {@code to} (exclusive) of a room's background image.
+     * Every strip is decoded and cached on its own, so a viewport scrolling across a room only decodes
+     * the strips that newly come into view.
+     * <p>
+     * Cached strips keep palette indices – use {@link LayeredImage#withPalette(ColorPalette)} for other
+     * palettes.
+     *
+     * @param roomId the room
+     * @param from   the first strip
+     * @param to     the strip to stop at
+     * @return the image of the strips or empty if the room has no image
+     */
+    public Optional<LayeredImage> loadRoomStrips(final int roomId, final int from, final int to) {
+        return this.<Optional<AbstractImageDecoder>>cached(ResourceType.ROOM_IMAGE_DECODER, roomId,
+                () -> roomImageDecoder(roomId))
+            .map(decoder -> LayeredImage.joinHorizontally(IntStream.range(from, to)
+                .mapToObj(strip -> this.<LayeredImage>cached(ResourceType.ROOM_STRIP, roomId, strip,
+                    () -> decoder.decodeStrips(strip, strip + 1)))
+                .toList()));
+    }
+
+    // the decoder reads the strip offsets only once
+    private Optional<AbstractImageDecoder> roomImageDecoder(final int roomId) {
+        final Room room = loadRoom(roomId);
+        return room.imageData()
+            .flatMap(chunk -> ChunkBMDecoder.decoder(chunk, room.hd(), room.pa().orElse(null), DecodeMode.SEQUENTIAL));
     }
 
     public BasicChunk readRoom(final int roomId) {
@@ -153,6 +258,21 @@ public class DataRepository implements Closeable {
     }
 
     public BasicChunk readGlobalScript(final int scriptId) {
+        return cached(ResourceType.GLOBAL_SCRIPT_CHUNK, scriptId, () -> readGlobalScriptChunk(scriptId));
+    }
+
+    /**
+     * Loads a global script decoded into instructions (see {@link ScriptProgram}). The program doesn't
+     * reference the script data, so a cached program doesn't retain the chunk.
+     *
+     * @return the program or an empty optional if the script can't be decoded ahead of time
+     */
+    public Optional<ScriptProgram> loadGlobalScriptProgram(final int scriptId) {
+        return cached(ResourceType.GLOBAL_SCRIPT_PROGRAM, scriptId,
+            () -> ScriptProgram.tryDecode(ScriptDecoder.shared(), readGlobalScript(scriptId).data(), 0));
+    }
+
+    private BasicChunk readGlobalScriptChunk(final int scriptId) {
         final FileOffset fileOffset = findGlobalScriptOffset(scriptId)
             .orElseThrow(() -> new IllegalStateException("Global script %d not found".formatted(scriptId)));
         try {
@@ -162,7 +282,25 @@ public class DataRepository implements Closeable {
         }
     }
 
+    /**
+     * Loads and decodes a costume using the palette of the room it is stored in. Limb images are decoded
+     * lazily and shared by all decodings from this repository (see {@link LimbImageCache}).
+     */
+    public Costume loadCostume(final int costumeId) {
+        return cached(ResourceType.COSTUME, costumeId, () -> {
+            final int roomId = wrappedIndex.findCostumeRelativeOffset(costumeId)
+                .orElseThrow(() -> new IllegalStateException("Costume %d not found".formatted(costumeId)))
+                .roomId();
+            final ColorPalette palette = loadRoomMetadata(roomId).pa().orElse(ColorPalette.EGA);
+            return ChunkCODecoder.decode(costumeId, readCostume(costumeId), palette, limbImageCache);
+        });
+    }
+
     public BasicChunk readCostume(final int costumeId) {
+        return cached(ResourceType.COSTUME_CHUNK, costumeId, () -> readCostumeChunk(costumeId));
+    }
+
+    private BasicChunk readCostumeChunk(final int costumeId) {
         final FileOffset fileOffset = findCostumeOffset(costumeId)
             .orElseThrow(() -> new IllegalStateException("Costume %d not found".formatted(costumeId)));
         try {
@@ -183,9 +321,23 @@ public class DataRepository implements Closeable {
         }
     }
 
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
     @Override
     public void close() {
+        cache.invalidateAll();
+        limbImageCache.invalidateAll();
         lecIndexes.values().forEach(IOUtil::closeQuietly);
     }
 
+    private enum ResourceType {
+        ROOM, ROOM_METADATA, ROOM_STRIP, ROOM_IMAGE_DECODER, COSTUME, COSTUME_CHUNK, GLOBAL_SCRIPT_CHUNK,
+        GLOBAL_SCRIPT_PROGRAM
+    }
+
+    private record ResourceKey(ResourceType type, int id, int part) {
+    }
+
 }
@@ -24,15 +24,16 @@ import static java.nio.file.StandardOpenOption.READ;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import de.siegmar.jmonkey.commons.io.AccessMode;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.BasicChunkHeader;
 import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.io.DecryptedFile;
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.io.IOUtil;
 import de.siegmar.jmonkey.commons.lang.Assert;
@@ -44,15 +45,27 @@ public class LecSeekableFile implements Closeable {
     private static final System.Logger LOG = System.getLogger(LecSeekableFile.class.getName());
 
     private final FileChannel file;
+    private final DecryptedFile mapped;
     private final int fileSize;
     private final LecIndex lecIndex;
 
     public LecSeekableFile(final Path file) throws IOException {
+        this(file, AccessMode.CHANNEL);
+    }
+
+    public LecSeekableFile(final Path file, final AccessMode accessMode) throws IOException {
         LOG.log(DEBUG, () -> "Read LEC index from %s (SHA-1 hash: %s)"
             .formatted(file, IOUtil.toSHA1(file)));
 
-        this.file = FileChannel.open(file, READ);
-        fileSize = Math.toIntExact(this.file.size());
+        if (accessMode == AccessMode.MAPPED) {
+            this.file = null;
+            mapped = DecryptedFile.map(file, (byte) 0x69);
+            fileSize = mapped.size();
+        } else {
+            this.file = FileChannel.open(file, READ);
+            mapped = null;
+            fileSize = Math.toIntExact(this.file.size());
+        }
         lecIndex = readLecIndex();
     }
 
@@ -79,14 +92,15 @@ public class LecSeekableFile implements Closeable {
     }
 
     ByteString read(final int offset, final int len) {
-        try {
-            Preconditions.checkArgument(fileSize >= offset + len);
-            final byte[] data = IOUtil.decryptInputStream(Channels.newInputStream(file.position(offset)), (byte) 0x69)
-                .readNBytes(len);
-
-            Assert.assertThat(data.length == len);
+        Preconditions.checkArgument(fileSize >= offset + len);
+        if (mapped != null) {
+            return mapped.slice(offset, len);
+        }
 
-            return ByteString.wrap(data);
+        try {
+            final ByteString data = IOUtil.read(file, offset, len);
+            Assert.assertThat(data.size() == len);
+            return data;
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -106,7 +120,9 @@ public class LecSeekableFile implements Closeable {
 
     @Override
     public void close() throws IOException {
-        file.close();
+        if (file != null) {
+            file.close();
+        }
     }
 
 }
@@ -0,0 +1,109 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.datarepository;
+
+import java.util.Optional;
+
+import de.siegmar.jmonkey.commons.io.BasicChunk;
+import de.siegmar.jmonkey.commons.lang.Lazy;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.decoder.costume.Costume;
+import de.siegmar.jmonkey.decoder.room.Room;
+import de.siegmar.jmonkey.decoder.room.image.AbstractImageDecoder;
+import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+import de.siegmar.jmonkey.decoder.script.ScriptProgram;
+
+/**
+ * Rough estimation of the memory footprint (in bytes) of decoded resources.
+ */
+final class ResourceWeigher {
+
+    private static final long OBJECT_OVERHEAD = 64;
+
+    private ResourceWeigher() {
+    }
+
+    static long weigh(final Object resource) {
+        final long weight;
+        if (resource instanceof Room room) {
+            weight = weighRoom(room);
+        } else if (resource instanceof Costume costume) {
+            weight = weighCostume(costume);
+        } else if (resource instanceof LayeredImage image) {
+            weight = weighImage(image);
+        } else if (resource instanceof BasicChunk chunk) {
+            weight = OBJECT_OVERHEAD + chunk.dataWithHeader().size();
+        } else if (resource instanceof AbstractImageDecoder decoder) {
+            // the decoder keeps the encoded image data
+            weight = OBJECT_OVERHEAD + decoder.getDataSize();
+        } else if (resource instanceof ScriptProgram program) {
+            weight = OBJECT_OVERHEAD + program.weight();
+        } else if (resource instanceof Optional<?> optional) {
+            weight = OBJECT_OVERHEAD + optional.map(ResourceWeigher::weigh).orElse(0L);
+        } else {
+            throw new IllegalArgumentException("Unsupported resource type: " + resource.getClass());
+        }
+        return weight;
+    }
+
+    private static long weighRoom(final Room room) {
+        return OBJECT_OVERHEAD
+            + room.imageData().map(chunk -> (long) chunk.dataWithHeader().size()).orElse(0L)
+            + weighImage(room.imageHandle(), room.imageData().isPresent() ? pixels(room.hd()) : 0)
+            + room.objects().stream()
+            .mapToLong(item -> OBJECT_OVERHEAD
+                + weighImage(item.imageHandle(), pixels(item.chunkOC().width(), item.chunkOC().height())))
+            .sum();
+    }
+
+    // Don't force the decoding of lazy images – estimate their size from the dimensions instead.
+    // The estimate lacks the masks: rooms are weighed again once an image got decoded.
+    private static long weighImage(final Lazy<Optional<LayeredImage>> handle, final long estimatedPixels) {
+        if (handle.isInitialized()) {
+            return handle.get().map(ResourceWeigher::weighImage).orElse(0L);
+        }
+        return estimatedPixels == 0 ? 0 : OBJECT_OVERHEAD + estimatedPixels;
+    }
+
+    private static long pixels(final ChunkHD hd) {
+        return pixels(hd.width(), hd.height());
+    }
+
+    private static long pixels(final int width, final int height) {
+        return (long) width * height;
+    }
+
+    private static long weighImage(final LayeredImage image) {
+        final long pixels = (long) image.getWidth() * image.getHeight();
+        final long maskBytes = (long) MaskLayer.rowWords(image.getWidth()) * image.getHeight() * Long.BYTES;
+
+        // palette indices (1 byte per pixel) + one bit-packed row set per mask layer
+        return OBJECT_OVERHEAD + pixels + maskBytes * image.getMasks().size();
+    }
+
+    // Limb images are decoded lazily – weigh them by their dimensions without forcing the decoding.
+    // A decoded limb image has no masks (1 byte per pixel), so this already is its decoded footprint.
+    private static long weighCostume(final Costume costume) {
+        return OBJECT_OVERHEAD + costume.limbImages()
+            .mapToLong(limbImage -> OBJECT_OVERHEAD + pixels(limbImage.width(), limbImage.height()))
+            .sum();
+    }
+
+}
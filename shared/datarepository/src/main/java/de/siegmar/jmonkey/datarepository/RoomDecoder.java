@@ -27,6 +27,7 @@ import java.util.Optional;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.lang.Assert;
+import de.siegmar.jmonkey.commons.lang.Lazy;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
 import de.siegmar.jmonkey.decoder.room.ChunkCC;
 import de.siegmar.jmonkey.decoder.room.ChunkCCDecoder;
@@ -57,6 +58,7 @@ import de.siegmar.jmonkey.decoder.room.image.ChunkHDDecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkOIDecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkPADecoder;
 import de.siegmar.jmonkey.decoder.room.image.ChunkSPDecoder;
+import de.siegmar.jmonkey.decoder.room.image.DecodeMode;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 
 public final class RoomDecoder {
@@ -64,14 +66,38 @@ public final class RoomDecoder {
     private RoomDecoder() {
     }
 
+    /**
+     * Decodes a room. The background and object images are decoded on first access.
+     */
     public static Room decodeRoom(final BasicChunk data) {
+        return decodeRoom(data, () -> { });
+    }
+
+    /**
+     * Decodes a room. The background and object images are decoded on first access – after each of
+     * them {@code onImageDecoded} is called (e.g. to update the room's weight in a cache).
+     */
+    public static Room decodeRoom(final BasicChunk data, final Runnable onImageDecoded) {
+        Assert.assertEqual(data.header().name(), "RO");
+        return new RoomBuilder(data, true, onImageDecoded).build();
+    }
+
+    /**
+     * Decodes a room without its images (boxes, scripts, object metadata, ...).
+     * Neither {@link Room#imageData()} nor any image is available on the returned room.
+     */
+    public static Room decodeRoomMetadata(final BasicChunk data) {
         Assert.assertEqual(data.header().name(), "RO");
-        return new RoomBuilder(data).build();
+        return new RoomBuilder(data, false, () -> { }).build();
     }
 
     private static class RoomBuilder {
 
+        private static final Lazy<Optional<LayeredImage>> NO_IMAGE = Lazy.value(Optional.empty());
+
         private final EnhancedByteBuffer bb;
+        private final boolean withImages;
+        private final Runnable onImageDecoded;
         private final OnceRef<ChunkHD> chunkHD = new OnceRef<>();
         private final OnceRef<ChunkBX> chunkBX = new OnceRef<>();
         private final OnceRef<ChunkSA> chunkSA = new OnceRef<>();
@@ -88,8 +114,10 @@ public final class RoomDecoder {
         private final OnceRef<ChunkEX> chunkEX = new OnceRef<>();
         private final List<ChunkLS> chunkLS = new ArrayList<>();
 
-        RoomBuilder(final BasicChunk data) {
+        RoomBuilder(final BasicChunk data, final boolean withImages, final Runnable onImageDecoded) {
             bb = data.ebbLE();
+            this.withImages = withImages;
+            this.onImageDecoded = onImageDecoded;
         }
 
         @SuppressWarnings("checkstyle:CyclomaticComplexity")
@@ -119,15 +147,19 @@ public final class RoomDecoder {
             final ChunkHD hd = chunkHD.get().orElseThrow();
             final Optional<ColorPalette> colorPalette = chunkPA.get();
 
-            final Optional<LayeredImage> bmImage = parkBM.get()
-                .flatMap(chunk -> ChunkBMDecoder.decode(chunk, hd, colorPalette.orElse(null)));
+            final Optional<BasicChunk> imageData = withImages ? parkBM.get() : Optional.empty();
+            final Lazy<Optional<LayeredImage>> bmImage = withImages
+                ? Lazy.of(() -> imageData
+                    .flatMap(chunk -> ChunkBMDecoder.decode(chunk, hd, colorPalette.orElse(null), DecodeMode.PARALLEL)),
+                    onImageDecoded)
+                : NO_IMAGE;
 
             final List<ObjectItem> objectItems = buildObjectItems(chunkOC, parkOI, colorPalette.orElse(null));
 
             return new Room(
                 hd,
                 colorPalette,
-                parkBM.get(),
+                imageData,
                 bmImage,
                 chunkBX.get(),
                 chunkSA.get(),
@@ -145,7 +177,9 @@ public final class RoomDecoder {
 
             for (final ChunkOC objectCode : lchunkOC) {
                 final BasicChunk chunkOI = lparkOI.get(new ObjectImageMeta(objectCode.objectId()));
-                final Optional<LayeredImage> layeredImage = ChunkOIDecoder.decodeImage(chunkOI, objectCode, palette);
+                final Lazy<Optional<LayeredImage>> layeredImage = withImages
+                    ? Lazy.of(() -> ChunkOIDecoder.decodeImage(chunkOI, objectCode, palette), onImageDecoded)
+                    : NO_IMAGE;
                 items.add(new ObjectItem(objectCode, layeredImage));
             }
 
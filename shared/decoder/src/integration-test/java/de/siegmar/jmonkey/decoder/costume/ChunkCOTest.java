@@ -41,9 +41,9 @@ class ChunkCOTest {
             .orElse(ColorPalette.EGA);
 
         final Costume costume = ChunkCODecoder.decode(lecFile.readChunk(coNode.chunk()), colorPalette);
-        final int animations = costume.header().animOffsets().size();
-        for (int anim = 0; anim < animations; anim++) {
-            StandaloneCostumeAnimation.collectCostumeAnimation(costume, anim);
+        final CostumeAnimator animator = new CostumeAnimator(costume);
+        for (final Integer animNo : animator.animations()) {
+            animator.compile(animNo).frameStrip();
         }
     }
 
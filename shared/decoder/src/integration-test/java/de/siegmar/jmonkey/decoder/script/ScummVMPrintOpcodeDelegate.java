@@ -583,11 +583,6 @@ public class ScummVMPrintOpcodeDelegate implements OpcodeDelegate {
         printM("delayVariable", var);
     }
 
-    @Override
-    public Object callOpcode() {
-        return mainScript.callOpcode();
-    }
-
     @Override
     public void beforeOpcode(final int pos, final int opcode) {
         print("[%04X] (%02X) ".formatted(pos, opcode));
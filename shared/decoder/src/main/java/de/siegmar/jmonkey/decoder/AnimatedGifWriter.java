@@ -0,0 +1,148 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Writes a sequence of images as an animated GIF.
+ * <p>
+ * Images with an {@link IndexColorModel} are written with their own (local) color table, so frames
+ * that only differ in their palette share the very same pixel data.
+ */
+public final class AnimatedGifWriter implements Closeable {
+
+    private static final String METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+    private static final int MAX_DELAY = 0xFFFF;
+
+    private final ImageOutputStream out;
+    private final ImageWriter writer;
+    private final boolean loop;
+    private boolean firstFrame = true;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param out  the stream to write to – it is not closed by this writer
+     * @param loop if the animation should loop forever
+     * @throws IOException if an I/O error occurs
+     */
+    public AnimatedGifWriter(final OutputStream out, final boolean loop) throws IOException {
+        this.out = ImageIO.createImageOutputStream(out);
+        writer = ImageIO.getImageWritersByFormatName("gif").next();
+        writer.setOutput(this.out);
+        writer.prepareWriteSequence(null);
+        this.loop = loop;
+    }
+
+    /**
+     * Writes the next frame.
+     *
+     * @param image the image of this frame
+     * @param delay the duration of this frame in hundredths of a second
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeFrame(final BufferedImage image, final int delay) throws IOException {
+        final IIOMetadata metadata =
+            writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        final IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(METADATA_FORMAT);
+
+        int transparentIndex = -1;
+        if (image.getColorModel() instanceof IndexColorModel icm) {
+            // the default metadata carries a generic color table – not the one of the image
+            root.replaceChild(localColorTable(icm), child(root, "LocalColorTable"));
+            transparentIndex = icm.getTransparentPixel();
+        }
+
+        final IIOMetadataNode gce = child(root, "GraphicControlExtension");
+        gce.setAttribute("disposalMethod", transparentIndex >= 0 ? "restoreToBackgroundColor" : "none");
+        gce.setAttribute("userInputFlag", "FALSE");
+        gce.setAttribute("transparentColorFlag", transparentIndex >= 0 ? "TRUE" : "FALSE");
+        gce.setAttribute("transparentColorIndex", Integer.toString(Math.max(transparentIndex, 0)));
+        gce.setAttribute("delayTime", Integer.toString(Math.min(Math.max(delay, 0), MAX_DELAY)));
+
+        if (firstFrame && loop) {
+            final IIOMetadataNode appExtension = new IIOMetadataNode("ApplicationExtension");
+            appExtension.setAttribute("applicationID", "NETSCAPE");
+            appExtension.setAttribute("authenticationCode", "2.0");
+            // sub-block 1: loop count 0 (infinite)
+            appExtension.setUserObject(new byte[]{1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(appExtension);
+        }
+
+        metadata.setFromTree(METADATA_FORMAT, root);
+        writer.writeToSequence(new IIOImage(image, null, metadata), null);
+        firstFrame = false;
+    }
+
+    private static IIOMetadataNode localColorTable(final IndexColorModel icm) {
+        final int size = Math.max(2, Integer.highestOneBit(icm.getMapSize() - 1) << 1);
+
+        final IIOMetadataNode table = new IIOMetadataNode("LocalColorTable");
+        table.setAttribute("sizeOfLocalColorTable", Integer.toString(size));
+        table.setAttribute("sortFlag", "FALSE");
+
+        for (int i = 0; i < size; i++) {
+            final int rgb = i < icm.getMapSize() ? icm.getRGB(i) : 0;
+            final IIOMetadataNode entry = new IIOMetadataNode("ColorTableEntry");
+            entry.setAttribute("index", Integer.toString(i));
+            entry.setAttribute("red", Integer.toString(rgb >>> 16 & 0xFF));
+            entry.setAttribute("green", Integer.toString(rgb >>> 8 & 0xFF));
+            entry.setAttribute("blue", Integer.toString(rgb & 0xFF));
+            table.appendChild(entry);
+        }
+
+        return table;
+    }
+
+    private static IIOMetadataNode child(final IIOMetadataNode parent, final String name) {
+        for (int i = 0; i < parent.getLength(); i++) {
+            if (parent.item(i) instanceof IIOMetadataNode node && name.equals(node.getNodeName())) {
+                return node;
+            }
+        }
+
+        final IIOMetadataNode node = new IIOMetadataNode(name);
+        parent.appendChild(node);
+        return node;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endWriteSequence();
+            out.close();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+}
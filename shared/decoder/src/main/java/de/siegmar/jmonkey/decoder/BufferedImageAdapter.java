@@ -19,8 +19,12 @@
 package de.siegmar.jmonkey.decoder;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
 
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
 import de.siegmar.jmonkey.commons.misc.ImageAdapter;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 
 public class BufferedImageAdapter implements ImageAdapter<BufferedImage> {
@@ -33,6 +37,34 @@ public class BufferedImageAdapter implements ImageAdapter<BufferedImage> {
         return bia.getImage();
     }
 
+    /**
+     * Converts an indexed image to a {@link BufferedImage#TYPE_BYTE_INDEXED} image without
+     * resolving the pixels to ARGB.
+     */
+    public static BufferedImage convertIndexed(final IndexedImage image) {
+        final IndexColorModel colorModel = indexColorModel(image.getPalette(), image.getTransparentIndex());
+        final BufferedImage bi = new BufferedImage(image.getWidth(), image.getHeight(),
+            BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+        bi.getRaster().setDataElements(0, 0, image.getWidth(), image.getHeight(), image.getIndices());
+        return bi;
+    }
+
+    /**
+     * Creates an 8-bit color model of the given palette.
+     *
+     * @param palette          the palette (only the first 256 colors are used)
+     * @param transparentIndex the transparent palette index or {@link IndexedImage#NO_TRANSPARENCY}
+     */
+    public static IndexColorModel indexColorModel(final ColorPalette palette, final int transparentIndex) {
+        final int colors = Math.min(palette.size(), 256);
+        final int[] cmap = new int[colors];
+        for (int i = 0; i < colors; i++) {
+            cmap[i] = palette.color(i);
+        }
+
+        return new IndexColorModel(8, colors, cmap, 0, true, transparentIndex, DataBuffer.TYPE_BYTE);
+    }
+
     @Override
     public void init(final int width, final int height) {
         img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
@@ -43,6 +75,17 @@ public class BufferedImageAdapter implements ImageAdapter<BufferedImage> {
         img.setRGB(x, y, color);
     }
 
+    @Override
+    public void setPixels(final int x, final int y, final int width, final int height,
+                          final int[] argb, final int offset, final int stride) {
+        if (offset == 0 && stride == width) {
+            // the raster of TYPE_INT_ARGB stores exactly this layout - copy without color conversion
+            img.getRaster().setDataElements(x, y, width, height, argb);
+        } else {
+            img.setRGB(x, y, width, height, argb, offset, stride);
+        }
+    }
+
     @Override
     public BufferedImage getImage() {
         return img;
@@ -19,19 +19,19 @@
 package de.siegmar.jmonkey.decoder.costume;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.ByteString;
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.lang.Assert;
+import de.siegmar.jmonkey.commons.lang.Lazy;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.WritableRasterImage;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 
 /**
  * Costume > Animations > Limbs > Commands > Images
@@ -69,10 +69,24 @@ public final class ChunkCODecoder {
     private ChunkCODecoder() {
     }
 
+    /**
+     * Decodes the costume structure. Limb images are decoded on first access.
+     */
     public static Costume decode(final BasicChunk chunk, final ColorPalette roomPalette) {
         Assert.assertEqual(chunk.header().name(), "CO");
 
-        return new CostumeBuilder(chunk, roomPalette).build();
+        return new CostumeBuilder(chunk, roomPalette, null, 0).build();
+    }
+
+    /**
+     * Decodes the costume structure. Limb images are decoded on first access and shared via the given
+     * {@link LimbImageCache} with all other decodings of the same costume.
+     */
+    public static Costume decode(final int costumeId, final BasicChunk chunk, final ColorPalette roomPalette,
+                                 final LimbImageCache limbImageCache) {
+        Assert.assertEqual(chunk.header().name(), "CO");
+
+        return new CostumeBuilder(chunk, roomPalette, limbImageCache, costumeId).build();
     }
 
     @SuppressWarnings("checkstyle:ClassDataAbstractionCoupling")
@@ -80,22 +94,18 @@ public final class ChunkCODecoder {
 
         private static final int TOTAL_LIMBS = 16;
 
-        private final BasicChunk chunk;
-        private final ColorPalette roomPalette;
         private final EnhancedByteBuffer bb;
 
         private final CostumeHeader header;
         private final LimbImageDecoder limbImageDecoder;
 
-        CostumeBuilder(final BasicChunk chunk, final ColorPalette roomPalette) {
-            this.chunk = chunk;
-            this.roomPalette = roomPalette;
+        CostumeBuilder(final BasicChunk chunk, final ColorPalette roomPalette,
+                       final LimbImageCache limbImageCache, final int costumeId) {
             header = decodeHeader(chunk, roomPalette);
-            limbImageDecoder = new LimbImageDecoder(chunk);
+            limbImageDecoder = new LimbImageDecoder(chunk, limbImageCache, costumeId);
             bb = chunk.dataWithHeader().ebbLE();
         }
 
-        // FIXME roomPalette should be used later, palette can be changed on existing costumes
         private static CostumeHeader decodeHeader(final BasicChunk chunk, final ColorPalette roomPalette) {
             final EnhancedByteBuffer bb = chunk.ebbLE();
 
@@ -110,45 +120,41 @@ public final class ChunkCODecoder {
                 default -> throw new IllegalStateException("Unknown format: " + format);
             };
 
-            final var palette = mapPalette(roomPalette, bb.readImmutableBytes(colors));
+            // keep the mapping as well: the palette can be changed on existing costumes
+            final ByteString paletteMap = bb.readImmutableBytes(colors);
+            final ColorPalette palette = CostumeHeader.mapPalette(roomPalette, paletteMap);
             final int animCommandsOffset = bb.readU16();
 
-            final var limbsOffsets = bb.readList(TOTAL_LIMBS, () -> new LimbOffset(bb.readU16()));
-            final var animOffsets = bb.readList(numAnim, () -> new AnimOffset(bb.readU16()));
+            final int[] limbsOffsets = bb.readU16Array(TOTAL_LIMBS);
+            final int[] animOffsets = bb.readU16Array(numAnim);
 
-            Assert.assertEqual(bb.position(), animOffsets.stream()
-                .filter(AnimOffset::isDefined)
-                .min(AnimOffset::compareTo)
-                .orElseThrow().address());
+            Assert.assertEqual(bb.position(), Arrays.stream(animOffsets)
+                .filter(offset -> offset > 0)
+                .min()
+                .orElseThrow());
 
             // read animCommands
             bb.position(animCommandsOffset);
-            final int firstLimbOffset = limbsOffsets.get(0).address();
+            final int firstLimbOffset = limbsOffsets[0];
             final int cmdSize = firstLimbOffset - animCommandsOffset;
-            final var animCommands =
-                bb.readList(cmdSize, () -> new CostumeAnimationCommand(bb.readU8()));
+            final int[] animCommands = bb.readU8Array(cmdSize);
 
             Assert.assertEqual(bb.position(), firstLimbOffset);
 
-            return new CostumeHeader(mirror, palette, limbsOffsets, animOffsets, animCommands);
+            return new CostumeHeader(mirror, palette, paletteMap, limbsOffsets, animOffsets, animCommands);
         }
 
         public Costume build() {
-            final var animations = header.uniqueAnimOffsets().stream()
-                .collect(Collectors.toMap(animOffset -> animOffset, this::decodeLimbAnimation, (a, b) -> b));
+            final Map<Integer, List<LimbAnimation>> animations = new HashMap<>();
+            for (final int animOffset : header.uniqueAnimOffsets()) {
+                animations.put(animOffset, decodeLimbAnimation(animOffset));
+            }
 
             return new Costume(header, animations);
         }
 
-        private static ColorPalette mapPalette(final ColorPalette roomPalette, final ByteString costumePalette) {
-            final byte[] palette = costumePalette.dumpCopy();
-            return new ColorPalette(IntStream.range(0, palette.length)
-                .map(i -> roomPalette.color(palette[i] & 0xff))
-                .toArray());
-        }
-
-        private List<LimbAnimation> decodeLimbAnimation(final AnimOffset animOffset) {
-            bb.position(animOffset.address());
+        private List<LimbAnimation> decodeLimbAnimation(final int animOffset) {
+            bb.position(animOffset);
 
             final List<LimbAnimation> limbAnimations = new ArrayList<>();
             final int limbMask = bb.readU16();
@@ -171,7 +177,8 @@ public final class ChunkCODecoder {
 
                 // a frame can be either a command (like start/stop/hide/sound) or an image
                 for (int frameNo = 0; frameNo < framesLen; frameNo++) {
-                    final CostumeAnimationCommand command = header.animationCommands().get(start + frameNo);
+                    final CostumeAnimationCommand command =
+                        new CostumeAnimationCommand(header.animationCommand(start + frameNo));
                     limbFrames.add(buildLimbFrame(limbNo, command));
                 }
 
@@ -188,7 +195,7 @@ public final class ChunkCODecoder {
         }
 
         private ImageOffset resolvePicOffset(final int limbNo, final CostumeAnimationCommand command) {
-            final int imageTableOffsetStart = header.limbOffsets().get(limbNo).address();
+            final int imageTableOffsetStart = header.limbOffset(limbNo);
             final int picTableOffset = imageTableOffsetStart + command.getCommand() * 2;
             return new ImageOffset(bb.readU16(picTableOffset));
         }
@@ -199,13 +206,21 @@ public final class ChunkCODecoder {
 
         private class LimbImageDecoder {
 
+            private static final int IMAGE_HEADER_SIZE = 12;
+
+            private final LimbImageCache limbImageCache;
+            private final int costumeId;
+            private final ByteString data;
             private final EnhancedByteBuffer bb;
             private final int shift;
             private final int mask;
             private final Map<ImageOffset, CostumeLimbImage> imageCache = new HashMap<>();
 
-            LimbImageDecoder(final BasicChunk chunk) {
-                bb = chunk.dataWithHeader().ebbLE();
+            LimbImageDecoder(final BasicChunk chunk, final LimbImageCache limbImageCache, final int costumeId) {
+                this.limbImageCache = limbImageCache;
+                this.costumeId = costumeId;
+                data = chunk.dataWithHeader();
+                bb = data.ebbLE();
 
                 switch (header.palette().size()) {
                     case 16 -> {
@@ -221,39 +236,56 @@ public final class ChunkCODecoder {
             }
 
             private CostumeLimbImage obtainImage(final ImageOffset offset) {
-                return imageCache.computeIfAbsent(offset, this::decodeImage);
+                return imageCache.computeIfAbsent(offset, this::readImage);
             }
 
-            private CostumeLimbImage decodeImage(final ImageOffset imageOffset) {
-                bb.position(imageOffset.address());
+            private CostumeLimbImage readImage(final ImageOffset imageOffset) {
+                final int pos = imageOffset.address();
 
-                final int width = bb.readU16();
-                final int height = bb.readU16();
-                final int relX = bb.readS16();
-                final int relY = bb.readS16();
-                final int moveX = bb.readS16();
-                final int moveY = bb.readS16();
+                final int width = bb.readU16(pos);
+                final int height = bb.readU16(pos + 2);
+                final int relX = (short) bb.readU16(pos + 4);
+                final int relY = (short) bb.readU16(pos + 6);
+                final int moveX = (short) bb.readU16(pos + 8);
+                final int moveY = (short) bb.readU16(pos + 10);
 
                 Assert.assertThat(width <= 255, "width: %d", width);
                 Assert.assertThat(height <= 255, "height: %d", height);
 
-                final WritableRasterImage img = new WritableRasterImage(width, height);
+                final ColorPalette palette = header.palette();
+
+                // color 0 is transparent
+                final Lazy<IndexedImage> handle = Lazy.of(() ->
+                    new IndexedImage(width, height, loadIndices(pos, width, height), palette, 0));
+
+                return new CostumeLimbImage(handle, width, height, relX, relY, moveX, moveY);
+            }
+
+            private byte[] loadIndices(final int pos, final int width, final int height) {
+                if (limbImageCache == null) {
+                    return decodeIndices(pos, width, height);
+                }
+                return limbImageCache.get(costumeId, data.size(), pos, () -> decodeIndices(pos, width, height));
+            }
+
+            // may be called concurrently (lazy handles) -- use a dedicated buffer
+            private byte[] decodeIndices(final int pos, final int width, final int height) {
+                final EnhancedByteBuffer imgBuf = data.ebbLE().position(pos + IMAGE_HEADER_SIZE);
+                final byte[] indices = new byte[width * height];
 
                 int x = 0;
                 int y = 0;
 
                 IMAGE:
                 while (true) {
-                    int rep = bb.readU8();
+                    int rep = imgBuf.readU8();
                     final int color = rep >> shift;
                     rep &= mask;
                     if (rep == 0) {
-                        rep = bb.readU8();
+                        rep = imgBuf.readU8();
                     }
                     while (rep > 0) {
-                        if (color != 0) {
-                            img.draw(x, y, header.palette().color(color));
-                        }
+                        indices[y * width + x] = (byte) color;
                         rep--;
                         y++;
                         if (y >= height) {
@@ -266,7 +298,7 @@ public final class ChunkCODecoder {
                     }
                 }
 
-                return new CostumeLimbImage(img.rasterImage(), relX, relY, moveX, moveY);
+                return indices;
             }
 
         }
@@ -0,0 +1,216 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
+import de.siegmar.jmonkey.decoder.AnimatedGifWriter;
+import de.siegmar.jmonkey.decoder.BufferedImageAdapter;
+
+/**
+ * The precomputed frames of a costume animation (see {@link CostumeAnimator#compile(int)}).
+ * <p>
+ * Frames {@code 0..loopStart-1} are played once, the frames from {@code loopStart} on are repeated forever.
+ * Animations that come to an end repeat their last frame. All frames are rendered with the same size, the
+ * actor position is at {@link #originX()}/{@link #originY()}.
+ */
+public final class CompiledAnimation {
+
+    private static final int JIFFIES_PER_SECOND = 60;
+    private static final int CENTIS_PER_SECOND = 100;
+
+    private final List<FrameLayout> frames;
+    private final int loopStart;
+    private final boolean mirror;
+    private final ColorPalette palette;
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+
+    CompiledAnimation(final List<FrameLayout> frames, final int loopStart, final boolean mirror,
+                      final ColorPalette palette) {
+        Preconditions.checkArgument(frames.isEmpty() || loopStart >= 0 && loopStart < frames.size(),
+            "Invalid loop start %s for %s frames", loopStart, frames.size());
+        this.frames = List.copyOf(frames);
+        this.loopStart = loopStart;
+        this.mirror = mirror;
+        this.palette = palette;
+
+        final List<PlacedLimb> limbs = frames.stream()
+            .flatMap(f -> f.limbs().stream())
+            .toList();
+        minX = limbs.stream().mapToInt(PlacedLimb::x).min().orElse(0);
+        minY = limbs.stream().mapToInt(PlacedLimb::y).min().orElse(0);
+        width = Math.max(1, limbs.stream().mapToInt(l -> l.x() + l.limbImage().width()).max().orElse(0) - minX);
+        height = Math.max(1, limbs.stream().mapToInt(l -> l.y() + l.limbImage().height()).max().orElse(0) - minY);
+    }
+
+    public List<FrameLayout> frames() {
+        return frames;
+    }
+
+    public int frameCount() {
+        return frames.size();
+    }
+
+    public int loopStart() {
+        return loopStart;
+    }
+
+    /**
+     * Number of frames that are repeated. An animation that comes to a halt has a loop length of 1.
+     */
+    public int loopLength() {
+        return frames.size() - loopStart;
+    }
+
+    /**
+     * Resolves the frame that is shown at the given animation step.
+     *
+     * @param step the number of animation steps since the start of the animation
+     * @return the frame index
+     */
+    public int frameIndexAt(final long step) {
+        Preconditions.checkArgument(step >= 0, "step must not be negative: %s", step);
+        checkFrames();
+        if (step < frames.size()) {
+            return (int) step;
+        }
+        return loopStart + (int) ((step - loopStart) % loopLength());
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int originX() {
+        return mirror ? minX + width : -minX;
+    }
+
+    public int originY() {
+        return -minY;
+    }
+
+    /**
+     * Renders a frame with the costume palette – color 0 is transparent.
+     */
+    public IndexedImage render(final int frame) {
+        final WritableIndexedImage img = new WritableIndexedImage(width, height);
+        drawFrame(img, frame, 0);
+        return img.indexedImage(palette, 0);
+    }
+
+    /**
+     * Renders all frames side by side.
+     */
+    public IndexedImage frameStrip() {
+        final WritableIndexedImage img = new WritableIndexedImage(width * Math.max(1, frames.size()), height);
+        for (int i = 0; i < frames.size(); i++) {
+            drawFrame(img, i, i * width);
+        }
+        return img.indexedImage(palette, 0);
+    }
+
+    private void drawFrame(final WritableIndexedImage img, final int frame, final int offsetX) {
+        for (final PlacedLimb limb : frames.get(frame).limbs()) {
+            drawLimb(img, limb, offsetX);
+        }
+    }
+
+    private void drawLimb(final WritableIndexedImage img, final PlacedLimb limb, final int offsetX) {
+        final IndexedImage limbImage = limb.limbImage().image();
+        final int left = limb.x() - minX;
+        final int top = limb.y() - minY;
+        for (int y = 0; y < limbImage.getHeight(); y++) {
+            for (int x = 0; x < limbImage.getWidth(); x++) {
+                final int idx = limbImage.getIndex(x, y);
+                if (idx != 0) {
+                    final int dstX = mirror ? width - 1 - (left + x) : left + x;
+                    img.draw(offsetX + dstX, top + y, idx);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the animation as animated GIF. Consecutive identical frames are merged.
+     * <p>
+     * GIFs can only loop as a whole, so the frames before {@link #loopStart()} are repeated as well.
+     * Animations that come to a halt are not looped.
+     *
+     * @param out          the stream to write to – it is not closed
+     * @param frameJiffies the duration of one animation step in jiffies (1/60 s)
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeGif(final OutputStream out, final int frameJiffies) throws IOException {
+        Preconditions.checkArgument(frameJiffies > 0, "frameJiffies must be positive: %s", frameJiffies);
+        checkFrames();
+
+        try (AnimatedGifWriter gif = new AnimatedGifWriter(out, loopLength() > 1)) {
+            int start = 0;
+            for (int i = 1; i <= frames.size(); i++) {
+                if (i == frames.size() || !frames.get(i).equals(frames.get(start))) {
+                    final BufferedImage image = BufferedImageAdapter.convertIndexed(render(start));
+                    gif.writeFrame(image, centis((long) i * frameJiffies) - centis((long) start * frameJiffies));
+                    start = i;
+                }
+            }
+        }
+    }
+
+    private void checkFrames() {
+        if (frames.isEmpty()) {
+            throw new IllegalStateException("Animation has no frames");
+        }
+    }
+
+    private static int centis(final long jiffies) {
+        return (int) Math.round(jiffies * (double) CENTIS_PER_SECOND / JIFFIES_PER_SECOND);
+    }
+
+    /**
+     * A limb image placed relative to the actor position (before mirroring).
+     */
+    public record PlacedLimb(CostumeLimbImage limbImage, int x, int y) {
+    }
+
+    /**
+     * The visible limb images of one frame in drawing order.
+     */
+    public record FrameLayout(List<PlacedLimb> limbs) {
+
+        public FrameLayout {
+            limbs = List.copyOf(limbs);
+        }
+
+    }
+
+}
@@ -20,15 +20,18 @@ package de.siegmar.jmonkey.decoder.costume;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public final class Costume {
 
     @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
     private final CostumeHeader header;
-    private final Map<AnimOffset, List<LimbAnimation>> animations;
+    // by animation offset
+    private final Map<Integer, List<LimbAnimation>> animations;
 
     public Costume(final CostumeHeader header,
-                   final Map<AnimOffset, List<LimbAnimation>> animations) {
+                   final Map<Integer, List<LimbAnimation>> animations) {
         this.header = header;
         this.animations = animations;
     }
@@ -39,13 +42,25 @@ public final class Costume {
     }
 
     public List<LimbAnimation> getAnimation(final int animNo) {
-        final AnimOffset offset = header.animOffsets().get(animNo);
-        return offset.isDefined() ? animations.get(offset) : List.of();
+        final int offset = header.animOffset(animNo);
+        return offset > 0 ? animations.get(offset) : List.of();
+    }
+
+    /**
+     * Provides all distinct limb images referenced by any animation of this costume.
+     */
+    public Stream<CostumeLimbImage> limbImages() {
+        return animations.values().stream()
+            .flatMap(List::stream)
+            .flatMap(limbAnimation -> limbAnimation.getFrames().stream())
+            .map(LimbFrame::getLimbImage)
+            .filter(Objects::nonNull)
+            .distinct();
     }
 
     // TODO check this!
     public List<LimbAnimation> getUniqueAnimation(final int animNo) {
-        return animations.get(header.uniqueAnimOffsets().get(animNo));
+        return animations.get(header.uniqueAnimOffsets()[animNo]);
     }
 
 }
@@ -0,0 +1,165 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+
+/**
+ * Headless costume animation engine.
+ * <p>
+ * Every limb of an animation runs its own sequence of images and control commands: <em>stop</em> freezes
+ * the limb for the rest of the animation, <em>hide</em> hides it until its next image (<em>start</em> and
+ * sounds are ignored -- a stopped limb is only restarted by the game starting another animation).
+ * Non-looping limbs stay on their last frame. The limb states are simulated step by step until they
+ * repeat, which yields a finite list of frame layouts with a loop point – see {@link CompiledAnimation}.
+ * Compiled animations are cached; instances are thread-safe.
+ */
+public final class CostumeAnimator {
+
+    private static final int MAX_FRAMES = 4096;
+
+    private final Costume costume;
+    private final ColorPalette palette;
+    private final Map<Integer, CompiledAnimation> compiled = new ConcurrentHashMap<>();
+
+    public CostumeAnimator(final Costume costume) {
+        this(costume, costume.header().palette());
+    }
+
+    /**
+     * @param costume the costume
+     * @param palette the resolved costume palette (see {@link CostumeHeader#palette(ColorPalette)})
+     */
+    public CostumeAnimator(final Costume costume, final ColorPalette palette) {
+        this.costume = costume;
+        this.palette = palette;
+    }
+
+    /**
+     * Lists the numbers of all animations with at least one limb.
+     */
+    public List<Integer> animations() {
+        return IntStream.range(0, costume.header().animCount())
+            .filter(animNo -> !costume.getAnimation(animNo).isEmpty())
+            .boxed()
+            .toList();
+    }
+
+    public CompiledAnimation compile(final int animNo) {
+        return compiled.computeIfAbsent(animNo, this::compileAnimation);
+    }
+
+    private CompiledAnimation compileAnimation(final int animNo) {
+        final List<LimbAnimation> limbs = costume.getAnimation(animNo);
+        final boolean mirror = costume.header().mirror() && (animNo % 4) == 0;
+
+        final List<LimbState> states = limbs.stream()
+            .map(l -> new LimbState(0, false, true, null))
+            .toList();
+
+        final List<CompiledAnimation.FrameLayout> frames = new ArrayList<>();
+        final Map<List<LimbState>, Integer> seen = new HashMap<>();
+
+        // a frame only depends on the limb states after the step – as soon as they repeat, so do the frames
+        List<LimbState> current = states;
+        int loopStart = 0;
+        while (!limbs.isEmpty() && frames.size() < MAX_FRAMES) {
+            final List<LimbState> next = new ArrayList<>(limbs.size());
+            for (int i = 0; i < limbs.size(); i++) {
+                next.add(current.get(i).step(limbs.get(i)));
+            }
+
+            final Integer previous = seen.putIfAbsent(next, frames.size());
+            if (previous != null) {
+                loopStart = previous;
+                break;
+            }
+
+            frames.add(layout(next));
+            current = next;
+        }
+
+        return new CompiledAnimation(frames, loopStart, mirror, palette);
+    }
+
+    private static CompiledAnimation.FrameLayout layout(final List<LimbState> states) {
+        final List<CompiledAnimation.PlacedLimb> placed = new ArrayList<>();
+        int x = 0;
+        int y = 0;
+        for (final LimbState state : states) {
+            final CostumeLimbImage image = state.image();
+            if (!state.hidden() && image != null) {
+                placed.add(new CompiledAnimation.PlacedLimb(image, x + image.relX(), y + image.relY()));
+                x += image.moveX();
+                y -= image.moveY();
+            }
+        }
+        return new CompiledAnimation.FrameLayout(placed);
+    }
+
+    /**
+     * State of one limb before an animation step.
+     *
+     * @param pos     the position within the limb frames
+     * @param stopped if the limb has been stopped
+     * @param hidden  if the limb is currently hidden
+     * @param image   the last image of the limb
+     */
+    private record LimbState(int pos, boolean stopped, boolean hidden, CostumeLimbImage image) {
+
+        LimbState step(final LimbAnimation limb) {
+            if (stopped) {
+                return this;
+            }
+
+            final LimbFrame frame = limb.getFrames().get(pos);
+            final CostumeAnimationCommand command = frame.getCommand();
+
+            boolean nextStopped = false;
+            boolean nextHidden = hidden;
+            CostumeLimbImage nextImage = image;
+            if (!command.isControl()) {
+                nextImage = frame.getLimbImage();
+                nextHidden = false;
+            } else if (command.isStop()) {
+                nextStopped = true;
+            } else if (command.isHide()) {
+                nextHidden = true;
+            }
+
+            return new LimbState(nextPos(limb), nextStopped, nextHidden, nextImage);
+        }
+
+        private int nextPos(final LimbAnimation limb) {
+            if (pos + 1 < limb.getFrames().size()) {
+                return pos + 1;
+            }
+            return limb.isLoop() ? 0 : pos;
+        }
+
+    }
+
+}
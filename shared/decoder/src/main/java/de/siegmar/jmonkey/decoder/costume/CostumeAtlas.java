@@ -0,0 +1,180 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
+
+/**
+ * All distinct limb images of a costume packed into one indexed image.
+ * <p>
+ * Frames are numbered in the order the images are first referenced (by animation number, limb and frame),
+ * so the same costume always results in the same atlas. {@link #animations()} maps the frames of every
+ * animation to these numbers.
+ */
+public final class CostumeAtlas {
+
+    /**
+     * Frame index of an animation step without a limb image (e.g. a command hiding the limb).
+     */
+    public static final int NO_FRAME = -1;
+
+    private static final int PADDING = 1;
+
+    private final IndexedImage image;
+    private final List<Frame> frames;
+    private final Map<CostumeLimbImage, Integer> frameIndexes;
+    private final List<Animation> animations;
+
+    private CostumeAtlas(final IndexedImage image, final List<Frame> frames,
+                         final Map<CostumeLimbImage, Integer> frameIndexes, final List<Animation> animations) {
+        this.image = image;
+        this.frames = frames;
+        this.frameIndexes = frameIndexes;
+        this.animations = animations;
+    }
+
+    public static CostumeAtlas of(final Costume costume) {
+        final Map<CostumeLimbImage, Integer> frameIndexes = new LinkedHashMap<>();
+        final List<Animation> animations = new ArrayList<>();
+        for (int animNo = 0; animNo < costume.header().animCount(); animNo++) {
+            final List<LimbFrames> limbs = costume.getAnimation(animNo).stream()
+                .map(limbAnimation -> indexLimbImages(limbAnimation, frameIndexes))
+                .toList();
+            if (!limbs.isEmpty()) {
+                animations.add(new Animation(animNo, limbs));
+            }
+        }
+
+        // the packing only needs the dimensions -- the limb images are decoded one by one while copying
+        final List<CostumeLimbImage> limbImages = List.copyOf(frameIndexes.keySet());
+        final ShelfPacker.Packing packing = ShelfPacker.pack(limbImages.stream()
+            .map(l -> new ShelfPacker.Size(l.width(), l.height()))
+            .toList(), PADDING);
+
+        final ColorPalette palette = costume.header().palette();
+        final WritableIndexedImage atlas = new WritableIndexedImage(packing.width(), packing.height());
+        final List<Frame> frames = new ArrayList<>(limbImages.size());
+        for (int i = 0; i < limbImages.size(); i++) {
+            final CostumeLimbImage limbImage = limbImages.get(i);
+            final ShelfPacker.Rect rect = packing.rects().get(i);
+            copy(limbImage.image(), atlas, rect.x(), rect.y());
+            frames.add(new Frame(rect.x(), rect.y(), rect.width(), rect.height(),
+                limbImage.relX(), limbImage.relY(), limbImage.moveX(), limbImage.moveY()));
+        }
+
+        // color 0 is transparent -- just like for the limb images
+        return new CostumeAtlas(atlas.indexedImage(palette, 0), List.copyOf(frames), frameIndexes,
+            List.copyOf(animations));
+    }
+
+    private static LimbFrames indexLimbImages(final LimbAnimation limbAnimation,
+                                              final Map<CostumeLimbImage, Integer> frameIndexes) {
+        final List<Integer> limbFrames = new ArrayList<>(limbAnimation.getFrames().size());
+        for (final LimbFrame limbFrame : limbAnimation.getFrames()) {
+            final CostumeLimbImage limbImage = limbFrame.getLimbImage();
+            limbFrames.add(limbImage == null ? NO_FRAME
+                : frameIndexes.computeIfAbsent(limbImage, k -> frameIndexes.size()));
+        }
+        return new LimbFrames(limbAnimation.getLimbNo(), limbAnimation.isLoop(), List.copyOf(limbFrames));
+    }
+
+    private static void copy(final IndexedImage src, final WritableIndexedImage dst, final int dstX, final int dstY) {
+        for (int y = 0; y < src.getHeight(); y++) {
+            for (int x = 0; x < src.getWidth(); x++) {
+                dst.draw(dstX + x, dstY + y, src.getIndex(x, y));
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the costume has no limb images -- the atlas image is then 0x0 pixels.
+     */
+    public boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    public IndexedImage image() {
+        return image;
+    }
+
+    public List<Frame> frames() {
+        return frames;
+    }
+
+    /**
+     * The frame indexes of all (non-empty) animations of the costume.
+     */
+    public List<Animation> animations() {
+        return animations;
+    }
+
+    /**
+     * Finds the frame of the given limb image.
+     */
+    public Optional<Frame> frame(final CostumeLimbImage limbImage) {
+        return Optional.ofNullable(frameIndexes.get(limbImage)).map(frames::get);
+    }
+
+    /**
+     * A limb image within the atlas.
+     *
+     * @param x      the left position within the atlas
+     * @param y      the top position within the atlas
+     * @param width  the width of the limb image
+     * @param height the height of the limb image
+     * @param relX   see {@link CostumeLimbImage#relX()}
+     * @param relY   see {@link CostumeLimbImage#relY()}
+     * @param moveX  see {@link CostumeLimbImage#moveX()}
+     * @param moveY  see {@link CostumeLimbImage#moveY()}
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public record Frame(int x, int y, int width, int height, int relX, int relY, int moveX, int moveY) {
+
+    }
+
+    /**
+     * An animation of the costume.
+     *
+     * @param animNo the animation number
+     * @param limbs  the animated limbs
+     */
+    public record Animation(int animNo, List<LimbFrames> limbs) {
+
+    }
+
+    /**
+     * The steps of a limb within an animation.
+     *
+     * @param limbNo the limb number
+     * @param loop   {@code true} if the steps are repeated
+     * @param frames the index (see {@link CostumeAtlas#frames()}) of every step or {@link #NO_FRAME}
+     */
+    public record LimbFrames(int limbNo, boolean loop, List<Integer> frames) {
+
+    }
+
+}
@@ -18,18 +18,97 @@
 
 package de.siegmar.jmonkey.decoder.costume;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
+import de.siegmar.jmonkey.commons.io.ByteString;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
 
-public record CostumeHeader(boolean mirror,
-                            ColorPalette palette,
-                            List<LimbOffset> limbOffsets,
-                            List<AnimOffset> animOffsets,
-                            List<CostumeAnimationCommand> animationCommands) {
+/**
+ * Header of a costume. The offset and command tables are kept as they are stored in the costume.
+ */
+public final class CostumeHeader {
+
+    private final boolean mirror;
+    private final ColorPalette palette;
+    private final ByteString paletteMap;
+    private final int[] limbOffsets;
+    private final int[] animOffsets;
+    private final int[] animationCommands;
+
+    /**
+     * Creates a costume header.
+     *
+     * @param mirror            {@code true} if west facing animations are drawn mirrored
+     * @param palette           the costume palette resolved against the room palette used for decoding
+     * @param paletteMap        maps each costume color to a room palette index
+     * @param limbOffsets       the offset of the image table of every limb
+     * @param animOffsets       the offset of every animation (0 if undefined)
+     * @param animationCommands the animation commands all limb animations refer to
+     */
+    public CostumeHeader(final boolean mirror, final ColorPalette palette, final ByteString paletteMap,
+                         final int[] limbOffsets, final int[] animOffsets, final int[] animationCommands) {
+        this.mirror = mirror;
+        this.palette = palette;
+        this.paletteMap = paletteMap;
+        this.limbOffsets = limbOffsets.clone();
+        this.animOffsets = animOffsets.clone();
+        this.animationCommands = animationCommands.clone();
+    }
+
+    public boolean mirror() {
+        return mirror;
+    }
+
+    public ColorPalette palette() {
+        return palette;
+    }
+
+    public ByteString paletteMap() {
+        return paletteMap;
+    }
+
+    public int limbOffset(final int limbNo) {
+        return limbOffsets[limbNo];
+    }
+
+    public int animCount() {
+        return animOffsets.length;
+    }
+
+    /**
+     * Provides the offset of an animation.
+     *
+     * @param animNo the animation number
+     * @return the offset or 0 if the animation is undefined
+     */
+    public int animOffset(final int animNo) {
+        return animOffsets[animNo];
+    }
+
+    /**
+     * Provides the offsets of all defined animations -- animations may share their offset.
+     */
+    public int[] uniqueAnimOffsets() {
+        return Arrays.stream(animOffsets).filter(offset -> offset > 0).distinct().toArray();
+    }
+
+    public int animationCommand(final int index) {
+        return animationCommands[index];
+    }
+
+    /**
+     * Resolves the costume palette against another room palette. As limb images only store
+     * costume color indices, they can be rendered with the result without being decoded again.
+     */
+    public ColorPalette palette(final ColorPalette roomPalette) {
+        return mapPalette(roomPalette, paletteMap);
+    }
 
-    public List<AnimOffset> uniqueAnimOffsets() {
-        return animOffsets.stream().filter(AnimOffset::isDefined).distinct().toList();
+    static ColorPalette mapPalette(final ColorPalette roomPalette, final ByteString paletteMap) {
+        return new ColorPalette(IntStream.range(0, paletteMap.size())
+            .map(i -> roomPalette.color(paletteMap.get(i) & 0xff))
+            .toArray());
     }
 
 }
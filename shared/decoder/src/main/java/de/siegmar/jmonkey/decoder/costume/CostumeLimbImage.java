@@ -18,8 +18,28 @@
 
 package de.siegmar.jmonkey.decoder.costume;
 
+import de.siegmar.jmonkey.commons.lang.Lazy;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 import de.siegmar.jmonkey.commons.misc.RasterImage;
 
-public record CostumeLimbImage(RasterImage rasterImage, int relX, int relY, int moveX, int moveY) {
+/**
+ * A limb image of a costume. The metadata is read when the costume is decoded, the pixels only on first
+ * access of {@link #image()}.
+ */
+public record CostumeLimbImage(Lazy<IndexedImage> imageHandle, int width, int height,
+                               int relX, int relY, int moveX, int moveY) {
+
+    public CostumeLimbImage(final IndexedImage image, final int relX, final int relY,
+                            final int moveX, final int moveY) {
+        this(Lazy.value(image), image.getWidth(), image.getHeight(), relX, relY, moveX, moveY);
+    }
+
+    public IndexedImage image() {
+        return imageHandle.get();
+    }
+
+    public RasterImage rasterImage() {
+        return image().toRasterImage();
+    }
 
 }
@@ -0,0 +1,69 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import java.util.function.Supplier;
+
+import de.siegmar.jmonkey.commons.misc.CacheStats;
+import de.siegmar.jmonkey.commons.misc.WeightedLruCache;
+
+/**
+ * Cache of decoded limb image pixels of one game (see {@code DataRepository}).
+ * <p>
+ * Only the palette indices are cached – they don't depend on the room palette the costume is decoded with,
+ * so the same entry serves every palette. The key only identifies the image within the game, so a cache
+ * must not be shared between different game directories.
+ */
+public final class LimbImageCache {
+
+    private static final long OBJECT_OVERHEAD = 64;
+    private static final long DEFAULT_MAX_WEIGHT = 16L * 1024 * 1024;
+
+    private final WeightedLruCache<Key, byte[]> cache;
+
+    public LimbImageCache() {
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Creates a limb image cache.
+     *
+     * @param maxWeight the maximum estimated size (in bytes) of all cached pixels – 0 disables caching
+     */
+    public LimbImageCache(final long maxWeight) {
+        cache = new WeightedLruCache<>(maxWeight, indices -> OBJECT_OVERHEAD + indices.length);
+    }
+
+    byte[] get(final int costumeId, final int chunkSize, final int offset, final Supplier<byte[]> loader) {
+        return cache.get(new Key(costumeId, chunkSize, offset), key -> loader.get());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // the chunk size guards against mixing up different versions of a costume
+    private record Key(int costumeId, int chunkSize, int offset) {
+    }
+
+}
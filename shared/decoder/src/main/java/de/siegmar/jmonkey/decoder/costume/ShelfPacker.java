@@ -0,0 +1,109 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Deterministic shelf packer for building texture atlases.
+ * <p>
+ * Rectangles are sorted by descending height (ties broken by descending width and input order) and placed
+ * left to right on shelves. The atlas width is the larger one of the widest rectangle and the square root
+ * of the total area, so atlases come out roughly square.
+ */
+public final class ShelfPacker {
+
+    private ShelfPacker() {
+    }
+
+    /**
+     * Packs the given sizes.
+     *
+     * @param sizes   the rectangles to place (only width and height are used)
+     * @param padding the gap between two rectangles
+     * @return the packing with the rectangles in input order
+     */
+    public static Packing pack(final List<Size> sizes, final int padding) {
+        Preconditions.checkArgument(padding >= 0, "padding must not be negative: %s", padding);
+
+        final long area = sizes.stream()
+            .mapToLong(s -> (long) (s.width() + padding) * (s.height() + padding))
+            .sum();
+        final int maxWidth = sizes.stream().mapToInt(Size::width).max().orElse(0);
+        final int atlasWidth = Math.max(maxWidth, (int) Math.ceil(Math.sqrt(area)));
+
+        final List<Integer> order = IntStream.range(0, sizes.size()).boxed()
+            .sorted(Comparator.<Integer>comparingInt(i -> sizes.get(i).height()).reversed()
+                .thenComparing(Comparator.<Integer>comparingInt(i -> sizes.get(i).width()).reversed())
+                .thenComparingInt(i -> i))
+            .toList();
+
+        final Rect[] rects = new Rect[sizes.size()];
+        int shelfY = 0;
+        int shelfHeight = 0;
+        int x = 0;
+        int usedWidth = 0;
+        for (final int idx : order) {
+            final Size size = sizes.get(idx);
+            if (x > 0 && x + size.width() > atlasWidth) {
+                shelfY += shelfHeight + padding;
+                shelfHeight = 0;
+                x = 0;
+            }
+
+            rects[idx] = new Rect(x, shelfY, size.width(), size.height());
+            usedWidth = Math.max(usedWidth, x + size.width());
+            shelfHeight = Math.max(shelfHeight, size.height());
+            x += size.width() + padding;
+        }
+
+        return new Packing(usedWidth, shelfY + shelfHeight, List.of(rects));
+    }
+
+    public record Size(int width, int height) {
+
+        public Size {
+            Preconditions.checkArgument(width >= 0 && height >= 0, "Invalid size: %sx%s", width, height);
+        }
+
+    }
+
+    public record Rect(int x, int y, int width, int height) {
+
+        public boolean intersects(final Rect other) {
+            return x < other.x + other.width && other.x < x + width
+                && y < other.y + other.height && other.y < y + height;
+        }
+
+    }
+
+    /**
+     * @param width  the width of the atlas
+     * @param height the height of the atlas
+     * @param rects  the placed rectangles (in the order of the packed sizes)
+     */
+    public record Packing(int width, int height, List<Rect> rects) {
+
+    }
+
+}
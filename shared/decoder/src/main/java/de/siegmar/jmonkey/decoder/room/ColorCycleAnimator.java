@@ -0,0 +1,207 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.decoder.AnimatedGifWriter;
+import de.siegmar.jmonkey.decoder.BufferedImageAdapter;
+
+/**
+ * Headless color cycling of a room palette (see {@link ChunkCC}).
+ * <p>
+ * The animation runs on a virtual clock measured in jiffies (1/60 s) – the unit of {@link ColorCycle#delay()}.
+ * Only palette entries are rotated; images keep their palette indices and are recolored with
+ * {@link IndexedImage#withPalette(ColorPalette)} (or
+ * {@link de.siegmar.jmonkey.decoder.room.image.LayeredImage#withPalette(ColorPalette)}).
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class ColorCycleAnimator {
+
+    public static final int JIFFIES_PER_SECOND = 60;
+
+    private static final int CENTIS_PER_SECOND = 100;
+
+    private final List<ColorCycle> cycles;
+    private final int[] counters;
+    private final int[] palette;
+    private long time;
+
+    /**
+     * Creates an animator starting with the given palette at time 0.
+     *
+     * @param palette the room palette
+     * @param cycles  the color cycles of the room – cycles without a delay are ignored
+     */
+    public ColorCycleAnimator(final ColorPalette palette, final List<ColorCycle> cycles) {
+        this.palette = palette.roomPalette().getPalette();
+        this.cycles = cycles.stream()
+            .filter(cycle -> cycle.delay() > 0)
+            .toList();
+
+        for (final ColorCycle cycle : this.cycles) {
+            Preconditions.checkArgument(cycle.start() <= cycle.end() && cycle.end() < this.palette.length,
+                "Color cycle %s exceeds palette of size %s", cycle, this.palette.length);
+        }
+
+        counters = new int[this.cycles.size()];
+    }
+
+    /**
+     * Returns the current time in jiffies.
+     */
+    public long time() {
+        return time;
+    }
+
+    public ColorPalette palette() {
+        return new ColorPalette(palette);
+    }
+
+    /**
+     * Returns the number of jiffies after which all cycles are back at their initial state –
+     * the length of a seamless loop.
+     */
+    public long period() {
+        long period = 1;
+        for (final ColorCycle cycle : cycles) {
+            period = lcm(period, (long) cycle.delay() * (cycle.end() - cycle.start() + 1));
+        }
+        return period;
+    }
+
+    private static long lcm(final long a, final long b) {
+        return a / gcd(a, b) * b;
+    }
+
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Advances the clock by one jiffy.
+     *
+     * @return {@code true} if the palette has changed
+     */
+    public boolean tick() {
+        time++;
+
+        boolean changed = false;
+        for (int i = 0; i < counters.length; i++) {
+            final ColorCycle cycle = cycles.get(i);
+            if (++counters[i] >= cycle.delay()) {
+                counters[i] = 0;
+                rotate(cycle.start(), cycle.end());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // forward rotation: the last entry moves to the start
+    private void rotate(final int start, final int end) {
+        final int last = palette[end];
+        System.arraycopy(palette, start, palette, start + 1, end - start);
+        palette[start] = last;
+    }
+
+    /**
+     * Runs the animation for the given number of jiffies. The listener is called for the
+     * current palette first and then for every palette change.
+     *
+     * @param jiffies  the duration to run
+     * @param listener the listener to notify
+     */
+    public void run(final long jiffies, final FrameListener listener) {
+        listener.onFrame(time, palette());
+
+        final long end = time + jiffies;
+        while (time < end) {
+            if (tick()) {
+                listener.onFrame(time, palette());
+            }
+        }
+    }
+
+    /**
+     * Runs the animation for the given number of jiffies and writes it as a looping GIF. All frames
+     * share the pixel data of the image, only their color tables differ.
+     *
+     * @param image   the image to animate
+     * @param jiffies the duration to run (see {@link #period()} for a seamless loop)
+     * @param out     the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeGif(final IndexedImage image, final long jiffies, final OutputStream out) throws IOException {
+        final WritableRaster raster = BufferedImageAdapter.convertIndexed(image).getRaster();
+
+        try (AnimatedGifWriter gif = new AnimatedGifWriter(out, true)) {
+            final long end = time + jiffies;
+
+            ColorPalette framePalette = palette();
+            long frameTime = time;
+            while (time < end) {
+                // a change at the very end would be a frame without duration
+                if (tick() && time < end) {
+                    writeGifFrame(gif, raster, image, framePalette, centis(time) - centis(frameTime));
+                    framePalette = palette();
+                    frameTime = time;
+                }
+            }
+            writeGifFrame(gif, raster, image, framePalette, centis(end) - centis(frameTime));
+        }
+    }
+
+    private static void writeGifFrame(final AnimatedGifWriter gif, final WritableRaster raster,
+                                      final IndexedImage image, final ColorPalette framePalette,
+                                      final long delay) throws IOException {
+        final BufferedImage frame = new BufferedImage(
+            BufferedImageAdapter.indexColorModel(framePalette, image.getTransparentIndex()), raster, false, null);
+        gif.writeFrame(frame, (int) Math.min(delay, Integer.MAX_VALUE));
+    }
+
+    private static long centis(final long jiffies) {
+        return Math.round(jiffies * (double) CENTIS_PER_SECOND / JIFFIES_PER_SECOND);
+    }
+
+    /**
+     * Listener for palette changes.
+     */
+    @FunctionalInterface
+    public interface FrameListener {
+
+        /**
+         * Called for every new palette.
+         *
+         * @param time    the current time in jiffies
+         * @param palette the current palette
+         */
+        void onFrame(long time, ColorPalette palette);
+
+    }
+
+}
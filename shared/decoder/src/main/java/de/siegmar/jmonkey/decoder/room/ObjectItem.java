@@ -20,8 +20,21 @@ package de.siegmar.jmonkey.decoder.room;
 
 import java.util.Optional;
 
+import de.siegmar.jmonkey.commons.lang.Lazy;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 
-public record ObjectItem(ChunkOC chunkOC, Optional<LayeredImage> objectImage) {
+/**
+ * An object of a room.
+ *
+ * @param imageHandle the object image - decoded on first access
+ */
+public record ObjectItem(ChunkOC chunkOC, Lazy<Optional<LayeredImage>> imageHandle) {
+
+    /**
+     * Provides the object image, decoding it on first access.
+     */
+    public Optional<LayeredImage> objectImage() {
+        return imageHandle.get();
+    }
 
 }
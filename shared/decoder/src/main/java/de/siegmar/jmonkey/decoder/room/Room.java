@@ -22,12 +22,19 @@ import java.util.List;
 import java.util.Optional;
 
 import de.siegmar.jmonkey.commons.io.BasicChunk;
+import de.siegmar.jmonkey.commons.lang.Lazy;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
 import de.siegmar.jmonkey.decoder.room.box.ChunkBX;
 import de.siegmar.jmonkey.decoder.room.image.ChunkHD;
 import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
 
-public record Room(ChunkHD hd, Optional<ColorPalette> pa, Optional<BasicChunk> imageData, Optional<LayeredImage> image,
+/**
+ * A decoded room.
+ *
+ * @param imageHandle the background image - decoded on first access
+ */
+public record Room(ChunkHD hd, Optional<ColorPalette> pa, Optional<BasicChunk> imageData,
+                   Lazy<Optional<LayeredImage>> imageHandle,
                    Optional<ChunkBX> bx, Optional<ChunkSA> sa, Optional<ChunkCC> cc, List<ObjectItem> objects,
                    ChunkEN chunkEN, ChunkEX chunkEX, List<ChunkLS> chunkLS) {
 
@@ -36,4 +43,11 @@ public record Room(ChunkHD hd, Optional<ColorPalette> pa, Optional<BasicChunk> i
         chunkLS = List.copyOf(chunkLS);
     }
 
+    /**
+     * Provides the background image, decoding it on first access.
+     */
+    public Optional<LayeredImage> image() {
+        return imageHandle.get();
+    }
+
 }
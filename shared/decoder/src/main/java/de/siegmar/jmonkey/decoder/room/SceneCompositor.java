@@ -0,0 +1,336 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.ImageAdapter;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.commons.misc.RasterImage;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+
+/**
+ * Composes room frames of the background, visible objects and actors.
+ * <p>
+ * Changes only mark the affected rows of the affected 8 pixel strips as dirty – rendering re-composites
+ * just those regions. Actors are hidden behind the z-plane they are assigned to. Visible objects
+ * replace the room's z-planes in their area with their own ones.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SceneCompositor {
+
+    private static final int STRIP_WIDTH = 8;
+
+    private final RasterImage background;
+    private final List<MaskLayer> masks;
+    private final int width;
+    private final int height;
+    private final int[] frame;
+    private final int[] dirtyTop;
+    private final int[] dirtyBottom;
+
+    private final Map<Integer, SceneObject> objects = new HashMap<>();
+    // in drawing order
+    private final List<SceneObject> objectOrder = new ArrayList<>();
+    private final Map<Integer, Actor> actors = new LinkedHashMap<>();
+
+    public SceneCompositor(final LayeredImage background) {
+        this.background = background.getImage().toRasterImage();
+        masks = background.getMasks();
+        width = background.getWidth();
+        height = background.getHeight();
+        frame = new int[width * height];
+
+        final int stripCnt = (width + STRIP_WIDTH - 1) / STRIP_WIDTH;
+        dirtyTop = new int[stripCnt];
+        dirtyBottom = new int[stripCnt];
+        markDirty(0, 0, width, height);
+    }
+
+    /**
+     * Creates a compositor for the given room. All objects are added, but hidden.
+     *
+     * @param room the room
+     * @return a new compositor
+     * @throws IllegalStateException if the room has no image
+     */
+    public static SceneCompositor of(final Room room) {
+        final SceneCompositor compositor = new SceneCompositor(room.image()
+            .orElseThrow(() -> new IllegalStateException("Room has no image")));
+        room.objects().forEach(compositor::addObject);
+        return compositor;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Adds a (hidden) object. Its image is not accessed before the object becomes visible.
+     * Objects are drawn in the order they have been added.
+     *
+     * @param item the object
+     */
+    public void addObject(final ObjectItem item) {
+        final int objectId = item.chunkOC().objectId();
+        Preconditions.checkArgument(!objects.containsKey(objectId), "Object %s already added", objectId);
+
+        final SceneObject object = new SceneObject(item);
+        objects.put(objectId, object);
+        objectOrder.add(object);
+    }
+
+    public void setObjectVisible(final int objectId, final boolean visible) {
+        final SceneObject object = objects.get(objectId);
+        Preconditions.checkArgument(object != null, "Unknown object %s", objectId);
+
+        if (object.visible != visible) {
+            object.visible = visible;
+            final ChunkOC oc = object.item.chunkOC();
+            markDirty(oc.xPosition(), oc.yPosition(), oc.width(), oc.height());
+        }
+    }
+
+    /**
+     * Places (or moves) an actor.
+     *
+     * @param actorId the actor
+     * @param image   the current costume frame – fully transparent pixels (alpha 0) are skipped
+     * @param x       the left position of the frame
+     * @param y       the top position of the frame
+     * @param zPlane  the z-plane (1-based) the actor is hidden behind or 0 to always draw it in front
+     */
+    public void setActor(final int actorId, final RasterImage image, final int x, final int y, final int zPlane) {
+        Preconditions.checkArgument(zPlane >= 0, "Invalid zPlane: %s", zPlane);
+
+        final Actor actor = new Actor(image, x, y, zPlane);
+        final Actor previous = actors.put(actorId, actor);
+        if (previous != null) {
+            previous.markDirty(this);
+        }
+        actor.markDirty(this);
+    }
+
+    public void removeActor(final int actorId) {
+        final Actor previous = actors.remove(actorId);
+        if (previous != null) {
+            previous.markDirty(this);
+        }
+    }
+
+    /**
+     * Marks a region to be composed again.
+     */
+    public void markDirty(final int x, final int y, final int w, final int h) {
+        final int top = Math.max(y, 0);
+        final int bottom = Math.min(y + h, height);
+        final int left = Math.max(x, 0);
+        final int right = Math.min(x + w, width);
+        if (top >= bottom || left >= right) {
+            return;
+        }
+
+        for (int strip = left / STRIP_WIDTH; strip <= (right - 1) / STRIP_WIDTH; strip++) {
+            if (dirtyTop[strip] >= dirtyBottom[strip]) {
+                dirtyTop[strip] = top;
+                dirtyBottom[strip] = bottom;
+            } else {
+                dirtyTop[strip] = Math.min(dirtyTop[strip], top);
+                dirtyBottom[strip] = Math.max(dirtyBottom[strip], bottom);
+            }
+        }
+    }
+
+    public boolean isDirty() {
+        for (int strip = 0; strip < dirtyTop.length; strip++) {
+            if (dirtyTop[strip] < dirtyBottom[strip]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Composes all dirty regions and transfers them (and only them) to the given adapter. The adapter
+     * has to hold the previously rendered frame already – or use {@link #frame()} initially.
+     *
+     * @param imageAdapter the adapter to update
+     * @return the number of strips that have been composed
+     */
+    public <T> int render(final ImageAdapter<T> imageAdapter) {
+        final int strips = composeDirty();
+        for (int strip = 0; strip < dirtyTop.length; strip++) {
+            final int top = dirtyTop[strip];
+            final int bottom = dirtyBottom[strip];
+            if (top < bottom) {
+                final int left = strip * STRIP_WIDTH;
+                final int right = Math.min(left + STRIP_WIDTH, width);
+                imageAdapter.setPixels(left, top, right - left, bottom - top, frame, top * width + left, width);
+            }
+        }
+        clearDirty();
+        return strips;
+    }
+
+    /**
+     * Composes all dirty regions and returns a copy of the entire frame.
+     */
+    public RasterImage frame() {
+        composeDirty();
+        clearDirty();
+        return new RasterImage(width, height, Arrays.copyOf(frame, frame.length));
+    }
+
+    // updates the frame buffer only -- the regions stay marked dirty until clearDirty()
+    private int composeDirty() {
+        int strips = 0;
+        for (int strip = 0; strip < dirtyTop.length; strip++) {
+            final int top = dirtyTop[strip];
+            final int bottom = dirtyBottom[strip];
+            if (top < bottom) {
+                final int left = strip * STRIP_WIDTH;
+                compose(left, top, Math.min(left + STRIP_WIDTH, width), bottom);
+                strips++;
+            }
+        }
+        return strips;
+    }
+
+    private void clearDirty() {
+        Arrays.fill(dirtyTop, 0);
+        Arrays.fill(dirtyBottom, 0);
+    }
+
+    private void compose(final int left, final int top, final int right, final int bottom) {
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                frame[y * width + x] = background.getColor(x, y);
+            }
+        }
+
+        for (final SceneObject object : objectOrder) {
+            final Optional<LayeredImage> image = object.image();
+            if (image.isPresent()) {
+                final ChunkOC oc = object.item.chunkOC();
+                drawObject(image.get().getImage(), oc.xPosition(), oc.yPosition(), left, top, right, bottom);
+            }
+        }
+
+        for (final Actor actor : actors.values()) {
+            drawActor(actor, left, top, right, bottom);
+        }
+    }
+
+    private void drawObject(final IndexedImage image, final int ox, final int oy,
+                            final int left, final int top, final int right, final int bottom) {
+        final int x0 = Math.max(left, ox);
+        final int x1 = Math.min(right, ox + image.getWidth());
+        final int y0 = Math.max(top, oy);
+        final int y1 = Math.min(bottom, oy + image.getHeight());
+
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                final int color = image.getColor(x - ox, y - oy);
+                if (color >>> 24 != 0) {
+                    frame[y * width + x] = color;
+                }
+            }
+        }
+    }
+
+    private void drawActor(final Actor actor, final int left, final int top, final int right, final int bottom) {
+        final RasterImage image = actor.image;
+        final int x0 = Math.max(left, actor.x);
+        final int x1 = Math.min(right, actor.x + image.getWidth());
+        final int y0 = Math.max(top, actor.y);
+        final int y1 = Math.min(bottom, actor.y + image.getHeight());
+
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                final int color = image.getColor(x - actor.x, y - actor.y);
+                if (color >>> 24 != 0 && !isOccluded(x, y, actor.zPlane)) {
+                    frame[y * width + x] = color;
+                }
+            }
+        }
+    }
+
+    private boolean isOccluded(final int x, final int y, final int zPlane) {
+        if (zPlane == 0) {
+            return false;
+        }
+
+        // the topmost visible object at this position provides the z-planes
+        for (int i = objectOrder.size() - 1; i >= 0; i--) {
+            final SceneObject object = objectOrder.get(i);
+            final Optional<LayeredImage> image = object.image();
+            if (image.isPresent() && object.covers(x, y)) {
+                final List<MaskLayer> objectMasks = image.get().getMasks();
+                final ChunkOC oc = object.item.chunkOC();
+                return zPlane <= objectMasks.size()
+                    && objectMasks.get(zPlane - 1).isSet(x - oc.xPosition(), y - oc.yPosition());
+            }
+        }
+
+        return zPlane <= masks.size() && masks.get(zPlane - 1).isSet(x, y);
+    }
+
+    private static final class SceneObject {
+
+        private final ObjectItem item;
+        private boolean visible;
+
+        SceneObject(final ObjectItem item) {
+            this.item = item;
+        }
+
+        Optional<LayeredImage> image() {
+            return visible ? item.objectImage() : Optional.empty();
+        }
+
+        boolean covers(final int x, final int y) {
+            final ChunkOC oc = item.chunkOC();
+            return x >= oc.xPosition() && x < oc.xPosition() + oc.width()
+                && y >= oc.yPosition() && y < oc.yPosition() + oc.height();
+        }
+
+    }
+
+    private record Actor(RasterImage image, int x, int y, int zPlane) {
+
+        void markDirty(final SceneCompositor compositor) {
+            compositor.markDirty(x, y, image.getWidth(), image.getHeight());
+        }
+
+    }
+
+}
@@ -20,96 +20,192 @@ package de.siegmar.jmonkey.decoder.room.image;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import de.siegmar.jmonkey.commons.io.ByteString;
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.lang.Assert;
 import de.siegmar.jmonkey.commons.lang.Preconditions;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 import de.siegmar.jmonkey.commons.misc.MaskLayer;
-import de.siegmar.jmonkey.commons.misc.RasterImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
 
 public abstract class AbstractImageDecoder {
 
+    protected static final int STRIP_WIDTH = 8;
+
     protected final EnhancedByteBuffer bb;
     protected final ColorPalette palette;
     protected final int width;
     protected final int height;
+    private final DecodeMode mode;
+    private Header header;
 
     protected AbstractImageDecoder(final ByteString data, final ColorPalette palette,
-                                   final int width, final int height) {
+                                   final int width, final int height, final DecodeMode mode) {
 
         Preconditions.checkArgument(width > 0);
         Preconditions.checkArgument(height > 0);
-        Preconditions.checkArgument(width % 8 == 0);
+        Preconditions.checkArgument(width % STRIP_WIDTH == 0);
 
         bb = data.ebbLE();
         this.palette = palette;
         this.width = width;
         this.height = height;
+        this.mode = mode;
     }
 
     public static LayeredImage decodeVGA(final ByteString data, final ColorPalette palette,
                                          final int width, final int height) {
 
-        return new ImageVGADecoder(data, palette, width, height).buildImg();
+        return decodeVGA(data, palette, width, height, DecodeMode.SEQUENTIAL);
+    }
+
+    public static LayeredImage decodeVGA(final ByteString data, final ColorPalette palette,
+                                         final int width, final int height, final DecodeMode mode) {
+
+        return new ImageVGADecoder(data, palette, width, height, mode).decode();
     }
 
     public static LayeredImage decodeEGA(final ByteString data, final ColorPalette palette,
                                          final int width, final int height) {
 
-        return new ImageEGADecoder(data, palette, width, height).buildImg();
+        return decodeEGA(data, palette, width, height, DecodeMode.SEQUENTIAL);
     }
 
-    LayeredImage buildImg() {
-        final int stripCnt = width / 8;
+    public static LayeredImage decodeEGA(final ByteString data, final ColorPalette palette,
+                                         final int width, final int height, final DecodeMode mode) {
 
-        final int zPlanesOffset = fetchOffset();
+        return new ImageEGADecoder(data, palette, width, height, mode).decode();
+    }
 
-        final List<Integer> stripOffsets = decodeStripOffsets(stripCnt);
+    public int getStripCount() {
+        return width / STRIP_WIDTH;
+    }
 
-        final RasterImage imageLayer = decodeImage(stripOffsets);
+    /**
+     * Size of the encoded image data.
+     */
+    public int getDataSize() {
+        return bb.limit();
+    }
 
-        Assert.assertEqual(bb.position(), zPlanesOffset);
+    public LayeredImage decode() {
+        return decodeStrips(0, getStripCount());
+    }
+
+    /**
+     * Decodes only the strips {@code from} (inclusive) to {@code to} (exclusive) including their part
+     * of the z-planes. The resulting image is {@code (to - from) * 8} pixels wide.
+     * <p>
+     * A decoder may be used for multiple (also concurrent) calls – the offset tables are read only once.
+     *
+     * @param from the first strip to decode
+     * @param to   the strip to stop at
+     * @return the image of the given strips
+     */
+    public LayeredImage decodeStrips(final int from, final int to) {
+        Preconditions.checkArgument(from >= 0 && from < to && to <= getStripCount(),
+            "Invalid strip range [%s, %s) of %s strips", from, to, getStripCount());
+
+        final Header hdr = header();
+
+        final IndexedImage imageLayer = decodeImage(hdr, from, to);
 
-        final List<MaskLayer> zPlanes = decodeLayers(stripCnt, zPlanesOffset);
+        final List<MaskLayer> zPlanes = decodeLayers(hdr, from, to);
 
         return new LayeredImage(imageLayer, zPlanes);
     }
 
-    private List<Integer> decodeStripOffsets(final int stripCnt) {
-        final List<Integer> stripOffsets = new ArrayList<>(stripCnt);
-        for (int strip = 0; strip < stripCnt; strip++) {
-            stripOffsets.add(fetchOffset());
+    private synchronized Header header() {
+        if (header == null) {
+            final int zPlanesOffset = fetchOffset();
+            final int[] stripOffsets = fetchOffsets(getStripCount());
+            final List<int[]> zPlanes = zPlanesOffset < bb.limit()
+                ? readZPlanes(getStripCount(), zPlanesOffset)
+                : List.of();
+            header = new Header(zPlanesOffset, stripOffsets, zPlanes);
         }
-        return stripOffsets;
+        return header;
     }
 
     protected abstract int fetchOffset();
 
-    protected abstract RasterImage decodeImage(List<Integer> stripOffsets);
-
-    protected List<MaskLayer> decodeLayers(final int stripCnt, final int zPlanesOffset) {
-        if (!bb.hasRemaining()) {
-            return List.of();
+    protected abstract int[] fetchOffsets(int count);
+
+    /**
+     * Decodes the palette indices of a single strip into the columns {@code strip * 8} to
+     * {@code strip * 8 + 7} of the image.
+     * Invoked concurrently for different strips in {@link DecodeMode#PARALLEL}.
+     *
+     * @param img       the target image
+     * @param strip     the strip number
+     * @param stripData the data of this strip only
+     */
+    protected abstract void decodeStrip(WritableIndexedImage img, int strip, EnhancedByteBuffer stripData);
+
+    private IndexedImage decodeImage(final Header hdr, final int from, final int to) {
+        final StripImage img = decodeStripRange(hdr, from, to);
+
+        // The first strip may copy pixels from its (not decoded) left neighbour – find the first strip to
+        // the left that doesn't (probing single strips) and decode the widened range once. The first strip
+        // of the image refers to the previous row.
+        int start = from;
+        boolean pending = img.hasPending(0);
+        while (pending && start > 0) {
+            start--;
+            pending = decodeStripRange(hdr, start, start + 1).hasPending(0);
         }
+        final int end = pending ? getStripCount() : to;
 
-        final List<List<Integer>> zPlanes = readZPlanes(stripCnt, zPlanesOffset);
-        final List<MaskLayer> layers = new ArrayList<>(zPlanes.size());
+        final StripImage widened = start == from && end == to ? img : decodeStripRange(hdr, start, end);
+        return widened.resolve(palette, from - start, to - start);
+    }
 
-        for (final List<Integer> zPlane : zPlanes) {
-            final BuildMask maskLayer = new BuildMask();
-            for (int strip = 0; strip < stripCnt; strip++) {
-                addZplane(zPlane, strip, maskLayer);
-            }
-            layers.add(new MaskLayer(width, height, maskLayer.pixels));
-        }
+    private StripImage decodeStripRange(final Header hdr, final int from, final int to) {
+        final StripImage img = new StripImage((to - from) * STRIP_WIDTH, height);
+
+        strips(from, to).forEach(strip -> {
+            final int start = hdr.stripOffsets[strip];
+            final int end = strip + 1 < hdr.stripOffsets.length ? hdr.stripOffsets[strip + 1] : hdr.zPlanesOffset;
+            final EnhancedByteBuffer stripData = bb.slice(start, end - start);
+
+            decodeStrip(img, strip - from, stripData);
+
+            Assert.assertThat(!stripData.hasRemaining(), "Strip %d has %d bytes left",
+                strip, stripData.remaining());
+        });
+
+        return img;
+    }
+
+    private IntStream strips(final int from, final int to) {
+        final IntStream strips = IntStream.range(from, to);
+        return mode == DecodeMode.PARALLEL ? strips.parallel() : strips;
+    }
 
-        return layers;
+    private List<MaskLayer> decodeLayers(final Header hdr, final int from, final int to) {
+        // Neighbouring strips share the words of a mask row, so z-planes are decoded in parallel
+        // plane by plane.
+        final Stream<int[]> planes = hdr.zPlanes.stream();
+        return (mode == DecodeMode.PARALLEL ? planes.parallel() : planes)
+            .map(zPlane -> decodeZplane(zPlane, from, to))
+            .toList();
     }
 
-    private List<List<Integer>> readZPlanes(final int stripCnt, final int zPlanesOffset) {
-        final List<List<Integer>> zPlanes = new ArrayList<>();
+    private MaskLayer decodeZplane(final int[] zPlane, final int from, final int to) {
+        final int maskWidth = (to - from) * STRIP_WIDTH;
+        final BuildMask maskLayer = new BuildMask(maskWidth);
+        for (int strip = from; strip < to; strip++) {
+            addZplane(bb.slice(zPlane[strip], bb.limit() - zPlane[strip]), strip - from, maskLayer);
+        }
+        return new MaskLayer(maskWidth, height, maskLayer.bits);
+    }
+
+    private List<int[]> readZPlanes(final int stripCnt, final int zPlanesOffset) {
+        final List<int[]> zPlanes = new ArrayList<>();
 
         int offset = zPlanesOffset;
         do {
@@ -121,10 +217,9 @@ public abstract class AbstractImageDecoder {
                 break;
             }
 
-            final List<Integer> zPlane = new ArrayList<>(stripCnt);
+            final int[] zPlane = bb.readU16Array(stripCnt);
             for (int strip = 0; strip < stripCnt; strip++) {
-                final int relativeOffset = bb.readU16();
-                zPlane.add(offset + relativeOffset);
+                zPlane[strip] += offset;
             }
             zPlanes.add(zPlane);
 
@@ -134,35 +229,32 @@ public abstract class AbstractImageDecoder {
         return zPlanes;
     }
 
-    private void addZplane(final List<Integer> zPlane,
+    private void addZplane(final EnhancedByteBuffer zPlaneData,
                            final int currentStrip, final BuildMask img) {
-        final int zPlaneOffset = zPlane.get(currentStrip);
-        bb.position(zPlaneOffset);
-
         int len;
 
         int y = height;
         while (y > 0) {
-            len = bb.readU8();
+            len = zPlaneData.readU8();
 
             if ((len & 0x80) != 0) {
                 len &= 0x7F;
 
                 // TODO check: there are OIs where we run out of data
-//                final int mask = bb.readU8();
-                final int mask = bb.hasRemaining() ? bb.readU8() : 0;
+//                final int mask = zPlaneData.readU8();
+                final int mask = zPlaneData.hasRemaining() ? zPlaneData.readU8() : 0;
 
                 do {
                     if (mask != 0) {
-                        tintMask(height, img, currentStrip, y, mask);
+                        img.drawStrip(currentStrip, height - y, mask);
                     }
                     --y;
                 } while (--len > 0 && y > 0);
             } else {
                 do {
-                    final int mask = bb.readU8();
+                    final int mask = zPlaneData.readU8();
                     if (mask != 0) {
-                        tintMask(height, img, currentStrip, y, mask);
+                        img.drawStrip(currentStrip, height - y, mask);
                     }
                     --y;
                 } while (--len > 0 && y > 0);
@@ -170,21 +262,27 @@ public abstract class AbstractImageDecoder {
         }
     }
 
-    private static void tintMask(final int height, final BuildMask img, final int currentStrip,
-                                 final int h, final int mask) {
-        for (int p = 0; p < 8; p++) {
-            if ((mask & (0x80 >>> p)) != 0) {
-                img.draw(currentStrip * 8 + p, height - h, (byte) 1);
-            }
-        }
+    private record Header(int zPlanesOffset, int[] stripOffsets, List<int[]> zPlanes) {
     }
 
     private final class BuildMask {
 
-        private final byte[][] pixels = new byte[height][width];
+        private final int rowWords;
+        private final long[] bits;
+
+        BuildMask(final int maskWidth) {
+            rowWords = MaskLayer.rowWords(maskWidth);
+            bits = new long[rowWords * height];
+        }
 
-        public void draw(final int x, final int y, final byte color) {
-            pixels[y][x] = color;
+        /**
+         * Sets the 8 pixels of a strip row at once. The strip byte has its leftmost pixel in the MSB
+         * whereas the mask stores it in the lowest bit, so the byte is bit-reversed first.
+         */
+        public void drawStrip(final int strip, final int y, final int mask) {
+            final long reversed = Integer.reverse(mask) >>> 24;
+            final int x = strip * STRIP_WIDTH;
+            bits[y * rowWords + (x >>> 6)] |= reversed << (x & 63);
         }
 
     }
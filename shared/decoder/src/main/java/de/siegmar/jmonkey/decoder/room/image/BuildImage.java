@@ -18,24 +18,23 @@
 
 package de.siegmar.jmonkey.decoder.room.image;
 
-import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.WritableRasterImage;
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
 
 final class BuildImage {
 
     private static final int STRIP_WIDTH = 8;
-    private final ColorPalette palette;
     private final double height;
-    private final WritableRasterImage writableRasterImage;
+    private final WritableIndexedImage image;
     private Codec.RenderingDirection renderingDirection;
     private int imgY;
     private int imgX;
     private int stripOffset;
 
-    BuildImage(final ColorPalette palette, final double height, final WritableRasterImage writableRasterImage) {
-        this.palette = palette;
+    BuildImage(final double height, final WritableIndexedImage image, final int stripOffset) {
         this.height = height;
-        this.writableRasterImage = writableRasterImage;
+        this.image = image;
+        this.stripOffset = stripOffset;
     }
 
     public void setRenderingDirection(final Codec.RenderingDirection renderingDirection) {
@@ -43,10 +42,41 @@ final class BuildImage {
     }
 
     public boolean draw(final int paletteIdx) {
-        writableRasterImage.draw(STRIP_WIDTH * stripOffset + imgX, imgY, palette.color(paletteIdx));
+        image.draw(STRIP_WIDTH * stripOffset + imgX, imgY, paletteIdx);
         return renderingDirection == Codec.RenderingDirection.HORIZONTAL ? moveHorizontal() : moveVertical();
     }
 
+    int pixelCount() {
+        return STRIP_WIDTH * (int) height;
+    }
+
+    /**
+     * Draws an entire strip at once.
+     *
+     * @param indices the {@link #pixelCount()} palette indices of the strip in rendering order
+     */
+    public void drawStrip(final byte[] indices) {
+        Preconditions.checkArgument(indices.length == pixelCount(), "Invalid strip length: %s", indices.length);
+
+        final int h = (int) height;
+        final int x0 = STRIP_WIDTH * stripOffset;
+        int i = 0;
+        if (renderingDirection == Codec.RenderingDirection.HORIZONTAL) {
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < STRIP_WIDTH; x++) {
+                    image.draw(x0 + x, y, indices[i++]);
+                }
+            }
+        } else {
+            for (int x = 0; x < STRIP_WIDTH; x++) {
+                for (int y = 0; y < h; y++) {
+                    image.draw(x0 + x, y, indices[i++]);
+                }
+            }
+        }
+        stripOffset++;
+    }
+
     private boolean moveHorizontal() {
         if (++imgX == STRIP_WIDTH) {
             imgX = 0;
@@ -32,6 +32,22 @@ public final class ChunkBMDecoder {
 
     public static Optional<LayeredImage> decode(final BasicChunk chunk, final ChunkHD chunkHD,
                                                 final ColorPalette palette) {
+        return decode(chunk, chunkHD, palette, DecodeMode.SEQUENTIAL);
+    }
+
+    public static Optional<LayeredImage> decode(final BasicChunk chunk, final ChunkHD chunkHD,
+                                                final ColorPalette palette, final DecodeMode mode) {
+        return decoder(chunk, chunkHD, palette, mode)
+            .map(AbstractImageDecoder::decode);
+    }
+
+    /**
+     * Creates a decoder for the room image – e.g. to decode only some strips of it.
+     *
+     * @see AbstractImageDecoder#decodeStrips(int, int)
+     */
+    public static Optional<AbstractImageDecoder> decoder(final BasicChunk chunk, final ChunkHD chunkHD,
+                                                         final ColorPalette palette, final DecodeMode mode) {
         Assert.assertEqual(chunk.header().name(), "BM");
 
         if (chunkHD.height() == 0 && chunk.header().payloadLength() == 2) {
@@ -41,8 +57,8 @@ public final class ChunkBMDecoder {
         final ByteString imageChunk = chunk.data();
 
         return Optional.of(palette != null
-            ? AbstractImageDecoder.decodeVGA(imageChunk, palette, chunkHD.width(), chunkHD.height())
-            : AbstractImageDecoder.decodeEGA(imageChunk, ColorPalette.EGA, chunkHD.width(), chunkHD.height()));
+            ? new ImageVGADecoder(imageChunk, palette, chunkHD.width(), chunkHD.height(), mode)
+            : new ImageEGADecoder(imageChunk, ColorPalette.EGA, chunkHD.width(), chunkHD.height(), mode));
     }
 
 }
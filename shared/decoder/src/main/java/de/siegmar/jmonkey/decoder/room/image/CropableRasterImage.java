@@ -53,12 +53,9 @@ public final class CropableRasterImage extends WritableRasterImage {
             return rasterImage();
         }
 
-        final int[][] tmp = new int[maxHeight][maxWidth];
+        final int[] tmp = new int[maxWidth * maxHeight];
         for (int y = 0; y < maxHeight; y++) {
-            final int sourceY = minY + y;
-            for (int x = 0; x < maxWidth; x++) {
-                tmp[y][x] = pixels[sourceY][minX + x];
-            }
+            System.arraycopy(pixels, (minY + y) * width + minX, tmp, y * maxWidth, maxWidth);
         }
 
         return new RasterImage(maxWidth, maxHeight, tmp);
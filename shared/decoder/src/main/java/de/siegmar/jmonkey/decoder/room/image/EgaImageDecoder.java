@@ -19,8 +19,7 @@
 package de.siegmar.jmonkey.decoder.room.image;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.WritableRasterImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
 
 public final class EgaImageDecoder {
 
@@ -32,8 +31,8 @@ public final class EgaImageDecoder {
         "checkstyle:ExecutableStatementCount",
         "checkstyle:CyclomaticComplexity"
     })
-    public static void decode(final WritableRasterImage imageLayer, final EnhancedByteBuffer bb,
-                              final int height, final ColorPalette palette, final int stripe) {
+    public static void decode(final WritableIndexedImage imageLayer, final EnhancedByteBuffer bb,
+                              final int height, final int stripe) {
         int color;
         int run;
         int x = 0;
@@ -60,7 +59,7 @@ public final class EgaImageDecoder {
                             col = color >> 4;
                         }
 
-                        imageLayer.draw(stripe * 8 + x, y, palette.color(col));
+                        imageLayer.draw(stripe * 8 + x, y, col);
 
                         y++;
                         if (y >= height) {
@@ -90,7 +89,7 @@ public final class EgaImageDecoder {
                 }
 
                 for (z = 0; z < run; z++) {
-                    imageLayer.draw(stripe * 8 + x, y, palette.color(color & 0xf));
+                    imageLayer.draw(stripe * 8 + x, y, color & 0xf);
 
                     y++;
                     if (y >= height) {
@@ -18,19 +18,16 @@
 
 package de.siegmar.jmonkey.decoder.room.image;
 
-import java.util.List;
-
 import de.siegmar.jmonkey.commons.io.ByteString;
-import de.siegmar.jmonkey.commons.lang.Assert;
+import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.RasterImage;
-import de.siegmar.jmonkey.commons.misc.WritableRasterImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
 
 public class ImageEGADecoder extends AbstractImageDecoder {
 
     public ImageEGADecoder(final ByteString data, final ColorPalette palette,
-                           final int width, final int height) {
-        super(data, palette, width, height);
+                           final int width, final int height, final DecodeMode mode) {
+        super(data, palette, width, height, mode);
     }
 
     @Override
@@ -39,16 +36,13 @@ public class ImageEGADecoder extends AbstractImageDecoder {
     }
 
     @Override
-    public RasterImage decodeImage(final List<Integer> stripOffsets) {
-        final WritableRasterImage imageLayer = new WritableRasterImage(width, height);
-        int strip = 0;
-        for (final Integer stripOffset : stripOffsets) {
-            Assert.assertEqual(bb.position(), (long) stripOffset);
-
-            EgaImageDecoder.decode(imageLayer, bb, height, palette, strip++);
-        }
+    protected int[] fetchOffsets(final int count) {
+        return bb.readU16Array(count);
+    }
 
-        return imageLayer.rasterImage();
+    @Override
+    protected void decodeStrip(final WritableIndexedImage img, final int strip, final EnhancedByteBuffer stripData) {
+        EgaImageDecoder.decode(img, stripData, height, strip);
     }
 
 }
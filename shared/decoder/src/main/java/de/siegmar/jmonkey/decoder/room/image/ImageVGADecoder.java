@@ -18,19 +18,16 @@
 
 package de.siegmar.jmonkey.decoder.room.image;
 
-import java.util.List;
-
 import de.siegmar.jmonkey.commons.io.ByteString;
-import de.siegmar.jmonkey.commons.lang.Assert;
+import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.misc.ColorPalette;
-import de.siegmar.jmonkey.commons.misc.RasterImage;
-import de.siegmar.jmonkey.commons.misc.WritableRasterImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
 
 public class ImageVGADecoder extends AbstractImageDecoder {
 
     public ImageVGADecoder(final ByteString data, final ColorPalette palette,
-                           final int width, final int height) {
-        super(data, palette.roomPalette(), width, height);
+                           final int width, final int height, final DecodeMode mode) {
+        super(data, palette.roomPalette(), width, height, mode);
     }
 
     @Override
@@ -39,31 +36,22 @@ public class ImageVGADecoder extends AbstractImageDecoder {
     }
 
     @Override
-    public RasterImage decodeImage(final List<Integer> stripOffsets) {
-        final WritableRasterImage img = new WritableRasterImage(width, height);
-        final BuildImage imageLayer = new BuildImage(palette, height, img);
-
-        int strip = 0;
-        for (final Integer stripOffset : stripOffsets) {
-            Assert.assertEqual(bb.position(), (long) stripOffset);
-
-            // TODO slice data for this stripe only
-
-            final int codec = bb.readU8();
-            final Codec algo = Codec.of(codec);
-            imageLayer.setRenderingDirection(algo.getDirection());
-
-            switch (algo.getMethod()) {
-                case UNCOMPRESSED -> UncompressedImageDecoder.decode(imageLayer, bb);
-                case EGA -> EgaImageDecoder.decode(img, bb, height, palette, strip);
-                case METHOD_1 -> Method1ImageDecoder.decode(imageLayer, algo.getPaletteBitLength(), bb);
-                default -> throw new IllegalStateException("Unsupported compression method: " + algo.getMethod());
-            }
+    protected int[] fetchOffsets(final int count) {
+        return bb.readU32Array(count);
+    }
 
-            strip++;
+    @Override
+    protected void decodeStrip(final WritableIndexedImage img, final int strip, final EnhancedByteBuffer stripData) {
+        final Codec algo = Codec.of(stripData.readU8());
+        final BuildImage imageLayer = new BuildImage(height, img, strip);
+        imageLayer.setRenderingDirection(algo.getDirection());
+
+        switch (algo.getMethod()) {
+            case UNCOMPRESSED -> UncompressedImageDecoder.decode(imageLayer, stripData);
+            case EGA -> EgaImageDecoder.decode(img, stripData, height, strip);
+            case METHOD_1 -> Method1ImageDecoder.decode(imageLayer, algo.getPaletteBitLength(), stripData);
+            default -> throw new IllegalStateException("Unsupported compression method: " + algo.getMethod());
         }
-
-        return img.rasterImage();
     }
 
 }
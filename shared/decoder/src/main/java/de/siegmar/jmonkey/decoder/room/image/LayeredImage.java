@@ -18,18 +18,21 @@
 
 package de.siegmar.jmonkey.decoder.room.image;
 
+import java.util.Arrays;
 import java.util.List;
 
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
 import de.siegmar.jmonkey.commons.misc.ImageAdapter;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
 import de.siegmar.jmonkey.commons.misc.MaskLayer;
-import de.siegmar.jmonkey.commons.misc.RasterImage;
 
 public class LayeredImage {
 
-    private final RasterImage image;
+    private final IndexedImage image;
     private final List<MaskLayer> masks;
 
-    public LayeredImage(final RasterImage image, final List<MaskLayer> masks) {
+    public LayeredImage(final IndexedImage image, final List<MaskLayer> masks) {
         this.image = image;
         this.masks = List.copyOf(masks);
     }
@@ -42,10 +45,75 @@ public class LayeredImage {
         return image.getHeight();
     }
 
+    public IndexedImage getImage() {
+        return image;
+    }
+
     public List<MaskLayer> getMasks() {
         return masks;
     }
 
+    /**
+     * Creates a view of this image using a different palette (e.g. for color cycling).
+     * Neither the pixel data nor the masks are decoded again.
+     */
+    public LayeredImage withPalette(final ColorPalette palette) {
+        return new LayeredImage(image.withPalette(palette), masks);
+    }
+
+    /**
+     * Joins images of the same height (e.g. single strips) horizontally – the palette of the first
+     * image is used.
+     */
+    public static LayeredImage joinHorizontally(final List<LayeredImage> images) {
+        Preconditions.checkArgument(!images.isEmpty(), "No images to join");
+
+        final int height = images.get(0).getHeight();
+        final int width = images.stream().mapToInt(LayeredImage::getWidth).sum();
+        final int maskCount = images.get(0).getMasks().size();
+        for (final LayeredImage image : images) {
+            Preconditions.checkArgument(image.getHeight() == height && image.getMasks().size() == maskCount,
+                "Image dimensions/masks differ");
+        }
+
+        final byte[] indices = new byte[width * height];
+        final int rowWords = MaskLayer.rowWords(width);
+        final long[][] maskBits = new long[maskCount][rowWords * height];
+
+        int x0 = 0;
+        for (final LayeredImage image : images) {
+            final int w = image.getWidth();
+            final byte[] src = image.image.getIndices();
+            for (int y = 0; y < height; y++) {
+                System.arraycopy(src, y * w, indices, y * width + x0, w);
+            }
+
+            for (int m = 0; m < maskCount; m++) {
+                copyMask(image.masks.get(m), maskBits[m], rowWords, x0);
+            }
+
+            x0 += w;
+        }
+
+        final IndexedImage first = images.get(0).image;
+        final List<MaskLayer> masks = Arrays.stream(maskBits)
+            .map(bits -> new MaskLayer(width, height, bits))
+            .toList();
+        return new LayeredImage(new IndexedImage(width, height, indices, first.getPalette(),
+            first.getTransparentIndex()), masks);
+    }
+
+    private static void copyMask(final MaskLayer mask, final long[] dstBits, final int dstRowWords, final int x0) {
+        for (int y = 0; y < mask.getHeight(); y++) {
+            for (int x = 0; x < mask.getWidth(); x++) {
+                if (mask.isSet(x, y)) {
+                    final int dx = x0 + x;
+                    dstBits[y * dstRowWords + (dx >>> 6)] |= 1L << (dx & 63);
+                }
+            }
+        }
+    }
+
     public <T> void writeTo(final ImageAdapter<T> imageAdapter) {
         image.writeTo(imageAdapter);
     }
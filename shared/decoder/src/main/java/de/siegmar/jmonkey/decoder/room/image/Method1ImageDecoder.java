@@ -18,42 +18,119 @@
 
 package de.siegmar.jmonkey.decoder.room.image;
 
-import de.siegmar.jmonkey.commons.io.BitBuffer;
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
+import de.siegmar.jmonkey.commons.io.LittleEndianBitReader;
 
+/**
+ * Decoder for the "method 1" codecs.
+ * <p>
+ * Every pixel is encoded by one of the prefix codes 0 (same color), 10 (new palette index follows),
+ * 110 (subtract) or 111 (negate subtraction and subtract). Instead of reading the prefix bit by bit,
+ * the decoder peeks the longest possible code (prefix + palette index) and resolves it with a
+ * lookup table.
+ */
 public final class Method1ImageDecoder {
 
+    private static final int MIN_PALETTE_BIT_LENGTH = 4;
+    private static final int MAX_PALETTE_BIT_LENGTH = 8;
+    private static final int NEW_INDEX_PREFIX_BITS = 2;
+    private static final int SUBTRACT_PREFIX_BITS = 3;
+
+    // table entry: action (bits 0-1) | consumed bits (bits 2-5) | palette index (bits 8-15)
+    private static final int ACTION_SAME = 0;
+    private static final int ACTION_NEW_INDEX = 1;
+    private static final int ACTION_SUBTRACT = 2;
+    private static final int ACTION_NEGATE = 3;
+    private static final int ACTION_MASK = 0x3;
+    private static final int CONSUMED_SHIFT = 2;
+    private static final int CONSUMED_MASK = 0xF;
+    private static final int VALUE_SHIFT = 8;
+
+    private static final int[][] TABLES = new int[MAX_PALETTE_BIT_LENGTH + 1][];
+
+    static {
+        for (int pbl = MIN_PALETTE_BIT_LENGTH; pbl <= MAX_PALETTE_BIT_LENGTH; pbl++) {
+            TABLES[pbl] = buildTable(pbl);
+        }
+    }
+
     private Method1ImageDecoder() {
     }
 
-    @SuppressWarnings("PMD.EmptyIfStmt")
+    private static int[] buildTable(final int paletteBitLength) {
+        final int[] table = new int[1 << peekBits(paletteBitLength)];
+        for (int bits = 0; bits < table.length; bits++) {
+            table[bits] = decodeEntry(bits, paletteBitLength);
+        }
+        return table;
+    }
+
+    private static int peekBits(final int paletteBitLength) {
+        return NEW_INDEX_PREFIX_BITS + paletteBitLength;
+    }
+
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static int decodeEntry(final int bits, final int paletteBitLength) {
+        if ((bits & 0b1) == 0) {
+            return entry(ACTION_SAME, 1, 0);
+        }
+        if ((bits & 0b10) == 0) {
+            final int paletteIndex = (bits >>> NEW_INDEX_PREFIX_BITS) & ((1 << paletteBitLength) - 1);
+            return entry(ACTION_NEW_INDEX, peekBits(paletteBitLength), paletteIndex);
+        }
+        if ((bits & 0b100) == 0) {
+            return entry(ACTION_SUBTRACT, SUBTRACT_PREFIX_BITS, 0);
+        }
+        return entry(ACTION_NEGATE, SUBTRACT_PREFIX_BITS, 0);
+    }
+
+    private static int entry(final int action, final int consumedBits, final int value) {
+        return action | consumedBits << CONSUMED_SHIFT | value << VALUE_SHIFT;
+    }
+
     public static void decode(final BuildImage img, final int paletteBitLength, final EnhancedByteBuffer bb) {
+        final int[] table = TABLES[paletteBitLength];
+        final int peekBits = peekBits(paletteBitLength);
+        final byte[] indices = new byte[img.pixelCount()];
+
         int paletteIndex = bb.readU8();
-        img.draw(paletteIndex);
+        indices[0] = (byte) paletteIndex;
 
         int subtractionValue = 1;
 
-        final BitBuffer bis = bb.bitstream();
-
-        do {
-            if (!bis.readBit()) {
-                // 0: Draw next pixel with current palette index.
-            } else if (!bis.readBit()) {
-                // 10: Read a new palette index from the bit stream, i.e., read the number of bits that the
-                // parameter specifies as a value (see the Tiny Bits of Decompression chapter).
-                // Set the subtraction variable to 1, and draw the next pixel.
-                paletteIndex = bis.readBits(paletteBitLength) & 0xff;
-                subtractionValue = 1;
-            } else if (!bis.readBit()) {
-                // 110: Subtract the subtraction variable from the palette index, and draw the next pixel.
-                paletteIndex -= subtractionValue;
-            } else {
-                // 111: Negate the subtraction variable (i.e., if it's 1, change it to -1, if it's -1,
-                // change it to 1). Subtract it from the palette index, and draw the next pixel.
-                subtractionValue = -subtractionValue;
-                paletteIndex -= subtractionValue;
+        final LittleEndianBitReader bits = bb.littleEndianBitReader();
+
+        for (int i = 1; i < indices.length; i++) {
+            final int entry = table[bits.peekBits(peekBits)];
+            bits.skipBits(entry >>> CONSUMED_SHIFT & CONSUMED_MASK);
+
+            switch (entry & ACTION_MASK) {
+                case ACTION_SAME -> {
+                    // 0: Draw next pixel with current palette index.
+                }
+                case ACTION_NEW_INDEX -> {
+                    // 10: Read a new palette index from the bit stream, i.e., read the number of bits that the
+                    // parameter specifies as a value (see the Tiny Bits of Decompression chapter).
+                    // Set the subtraction variable to 1, and draw the next pixel.
+                    paletteIndex = entry >>> VALUE_SHIFT;
+                    subtractionValue = 1;
+                }
+                case ACTION_SUBTRACT ->
+                    // 110: Subtract the subtraction variable from the palette index, and draw the next pixel.
+                    paletteIndex -= subtractionValue;
+                default -> {
+                    // 111: Negate the subtraction variable (i.e., if it's 1, change it to -1, if it's -1,
+                    // change it to 1). Subtract it from the palette index, and draw the next pixel.
+                    subtractionValue = -subtractionValue;
+                    paletteIndex -= subtractionValue;
+                }
             }
-        } while (!img.draw(paletteIndex));
+
+            indices[i] = (byte) paletteIndex;
+        }
+
+        bits.release();
+        img.drawStrip(indices);
     }
 
 }
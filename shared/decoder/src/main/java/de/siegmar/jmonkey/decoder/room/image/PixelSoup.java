@@ -48,12 +48,12 @@ public class PixelSoup {
     public RasterImage toRasterImage() {
         final int height = maxY - minY;
         final int width = maxX - minX;
-        final int[][] pixelArray = new int[height][width];
+        final int[] pixelArray = new int[width * height];
         for (final int pixel : pixels) {
             final int x = pixel >> 16;
             final int y = pixel >> 8 & 0x00FF;
             final int color = pixel & 0x0000FF;
-            pixelArray[y][x] = color;
+            pixelArray[y * width + x] = color;
         }
         return new RasterImage(width, height, pixelArray);
     }
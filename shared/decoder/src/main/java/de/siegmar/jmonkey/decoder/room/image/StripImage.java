@@ -0,0 +1,106 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room.image;
+
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
+
+/**
+ * Indexed image that allows strips to be decoded independently (and concurrently).
+ * <p>
+ * The EGA codec may repeat the color of the pixel to the left. For the first column of a strip that
+ * pixel belongs to the previous strip, which might not be decoded yet. Such pixels (and all pixels
+ * copying from them) are recorded per strip and resolved strip by strip from left to right in
+ * {@link #resolve(ColorPalette, int, int)}.
+ */
+final class StripImage extends WritableIndexedImage {
+
+    private static final int STRIP_WIDTH = 8;
+
+    // one array per strip, only ever touched by the thread decoding that strip
+    private final boolean[][] pending;
+
+    StripImage(final int width, final int height) {
+        super(width, height);
+        pending = new boolean[width / STRIP_WIDTH][];
+    }
+
+    @Override
+    public void drawPreviousColor(final int x, final int y) {
+        final int strip = x / STRIP_WIDTH;
+        final int col = x % STRIP_WIDTH;
+        final boolean[] stripPending = pending[strip];
+
+        if (col == 0 || stripPending != null && stripPending[(col - 1) * height + y]) {
+            markPending(strip, col, y);
+        } else {
+            super.drawPreviousColor(x, y);
+        }
+    }
+
+    private void markPending(final int strip, final int col, final int y) {
+        if (pending[strip] == null) {
+            pending[strip] = new boolean[STRIP_WIDTH * height];
+        }
+        pending[strip][col * height + y] = true;
+    }
+
+    /**
+     * Returns whether the given strip has pixels referring to its left neighbour.
+     */
+    boolean hasPending(final int strip) {
+        return pending[strip] != null;
+    }
+
+    /**
+     * Resolves all pending pixels and returns the strips {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    IndexedImage resolve(final ColorPalette palette, final int from, final int to) {
+        for (int strip = 0; strip < pending.length; strip++) {
+            if (pending[strip] != null) {
+                resolveStrip(strip);
+            }
+        }
+
+        if (from == 0 && to == pending.length) {
+            return indexedImage(palette, IndexedImage.NO_TRANSPARENCY);
+        }
+
+        final int croppedWidth = (to - from) * STRIP_WIDTH;
+        final byte[] cropped = new byte[croppedWidth * height];
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(indices, y * width + from * STRIP_WIDTH, cropped, y * croppedWidth, croppedWidth);
+        }
+        return new IndexedImage(croppedWidth, height, cropped, palette, IndexedImage.NO_TRANSPARENCY);
+    }
+
+    // left to right, so pixels copying from other pending pixels see their resolved color
+    private void resolveStrip(final int strip) {
+        final boolean[] stripPending = pending[strip];
+        for (int col = 0; col < STRIP_WIDTH; col++) {
+            for (int y = 0; y < height; y++) {
+                if (stripPending[col * height + y]) {
+                    super.drawPreviousColor(strip * STRIP_WIDTH + col, y);
+                }
+            }
+        }
+    }
+
+}
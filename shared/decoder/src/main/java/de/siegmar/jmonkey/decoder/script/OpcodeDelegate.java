@@ -230,8 +230,6 @@ public interface OpcodeDelegate {
 
     void delayVariable(OpParameter var);
 
-    Object callOpcode();
-
     void beforeOpcode(int pos, int opcode);
 
     void afterOpcode();
@@ -555,11 +555,6 @@ public class PrintOpcodeDelegate implements OpcodeDelegate {
         printM("delayVariable", var);
     }
 
-    @Override
-    public Object callOpcode() {
-        return mainScript.callOpcode();
-    }
-
     @Override
     public void beforeOpcode(final int pos, final int opcode) {
         print("/* [%04X] (%02X) */ ".formatted(pos, opcode));
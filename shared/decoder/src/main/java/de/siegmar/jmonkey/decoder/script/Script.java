@@ -43,9 +43,13 @@ public class Script {
     private final boolean freezeResistant;
     private final boolean recursive;
     private final int startPos;
+    private final ScriptProgram program;
+    private int pc;
+    private int currentIndex;
     private int currentOpcodePos;
     private final Map<Integer, ScummInteger> localVariables = new HashMap<>();
 
+    private ScriptClock clock = ScriptClock.system();
     private ScriptStatus status = ScriptStatus.ACTIVE;
     private int frozen;
     private long delayedUntil;
@@ -54,6 +58,14 @@ public class Script {
     public Script(final int scriptId, final ScriptDecoder scriptDecoder, final OpcodeDelegate opcodeDelegate,
                   final ByteString data, final int scriptPos, final List<Integer> args,
                   final boolean freezeResistant, final boolean recursive) {
+        this(scriptId, scriptDecoder, opcodeDelegate, data.ebbLE(), scriptPos, null, args, freezeResistant,
+            recursive);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private Script(final int scriptId, final ScriptDecoder scriptDecoder, final OpcodeDelegate opcodeDelegate,
+                   final EnhancedByteBuffer bb, final int scriptPos, final ScriptProgram program,
+                   final List<Integer> args, final boolean freezeResistant, final boolean recursive) {
 
         LOG.log(TRACE, "Initialize script (%s, %s, %s)",
             args, freezeResistant, recursive);
@@ -61,15 +73,29 @@ public class Script {
         this.scriptId = scriptId;
         this.scriptDecoder = scriptDecoder;
         this.opcodeDelegate = opcodeDelegate;
-        bb = data.ebbLE();
-        bb.position(scriptPos);
+        this.bb = bb;
+        if (bb != null) {
+            bb.position(scriptPos);
+        }
         final int argsSize = args.size();
         for (int i = 0; i < argsSize; i++) {
             setVariable(i, new ScummInteger(args.get(i)));
         }
         this.freezeResistant = freezeResistant;
         this.recursive = recursive;
-        startPos = bb.position();
+        startPos = scriptPos;
+        this.program = program;
+    }
+
+    /**
+     * Creates a script that runs an already decoded program instead of interpreting the bytecode.
+     *
+     * @see ScriptProgram#decode(ScriptDecoder, ByteString, int)
+     */
+    public static Script predecoded(final int scriptId, final OpcodeDelegate opcodeDelegate,
+                                    final ScriptProgram program, final List<Integer> args,
+                                    final boolean freezeResistant, final boolean recursive) {
+        return new Script(scriptId, null, opcodeDelegate, null, 0, program, args, freezeResistant, recursive);
     }
 
     public int getScriptId() {
@@ -79,32 +105,25 @@ public class Script {
     public void execute() {
         MDC.put("script", scriptId);
 
-        if (delayedUntil > System.currentTimeMillis()) {
+        if (delayedUntil > clock.millis()) {
             LOG.log(TRACE, "delayed for %d msec",
-                delayedUntil - System.currentTimeMillis());
+                delayedUntil - clock.millis());
             return;
         }
 
         LOG.log(TRACE, "execute()");
 
-        while (status == ScriptStatus.ACTIVE && frozen == 0 && breaker.getAndSet(true) && bb.hasRemaining()) {
-            currentOpcodePos = bb.position();
-            final int opcode = bb.readU8();
-
-            opcodeDelegate.setScript(this);
-            opcodeDelegate.beforeOpcode(currentOpcodePos, opcode);
-
-            opcodeDelegate.setScript(this);
-            decoder(opcode)
-                .execute(opcode, bb, opcodeDelegate);
-
-            opcodeDelegate.setScript(this);
-            opcodeDelegate.afterOpcode();
+        while (status == ScriptStatus.ACTIVE && frozen == 0 && breaker.getAndSet(true) && hasRemaining()) {
+            if (program != null) {
+                executeInstruction();
+            } else {
+                executeOpcode();
+            }
         }
 
-        if (!bb.hasRemaining()) {
+        if (!hasRemaining()) {
             if (recursive) {
-                bb.position(startPos);
+                rewind();
             } else {
                 opcodeDelegate.endScript();
 
@@ -115,24 +134,55 @@ public class Script {
         MDC.remove("script");
     }
 
-    // called from ExpressionOpcode TODO: refactor
-    public Object callOpcode() {
-        opcodeDelegate.setScript(this);
-        opcodeDelegate.startExpression();
+    private boolean hasRemaining() {
+        return program != null ? pc < program.size() : bb.hasRemaining();
+    }
 
+    private void rewind() {
+        if (program != null) {
+            pc = 0;
+        } else {
+            bb.position(startPos);
+        }
+    }
+
+    private void executeOpcode() {
+        currentOpcodePos = bb.position();
         final int opcode = bb.readU8();
 
+        opcodeDelegate.setScript(this);
+        opcodeDelegate.beforeOpcode(currentOpcodePos, opcode);
+
         opcodeDelegate.setScript(this);
         decoder(opcode)
-            .execute(opcode, bb, opcodeDelegate);
+            .decode(opcode, bb)
+            .execute(opcodeDelegate);
 
         opcodeDelegate.setScript(this);
-        return opcodeDelegate.endExpression();
+        opcodeDelegate.afterOpcode();
+    }
+
+    private void executeInstruction() {
+        currentIndex = pc++;
+        final ScriptInstruction instruction = program.instruction(currentIndex);
+        currentOpcodePos = instruction.offset();
+
+        opcodeDelegate.setScript(this);
+        opcodeDelegate.beforeOpcode(currentOpcodePos, instruction.opcode());
+
+        opcodeDelegate.setScript(this);
+        instruction.instruction().execute(opcodeDelegate);
+
+        opcodeDelegate.setScript(this);
+        opcodeDelegate.afterOpcode();
     }
 
     private Opcode decoder(final int opcode) {
-        return scriptDecoder.getOpcodeDecoder(opcode)
-            .orElseThrow(() -> new IllegalStateException("No impl for opcode %02X found".formatted(opcode)));
+        final Opcode decoder = scriptDecoder.decoder(opcode);
+        if (decoder == null) {
+            throw new IllegalStateException("No impl for opcode %02X found".formatted(opcode));
+        }
+        return decoder;
     }
 
     public void breakHere() {
@@ -141,25 +191,47 @@ public class Script {
     }
 
     public void redo() {
-        gotoOffset(currentOpcodePos);
+        LOG.log(TRACE, "Redo %04X", currentOpcodePos);
+        if (program != null) {
+            pc = currentIndex;
+        } else {
+            bb.position(currentOpcodePos);
+        }
         breakHere();
     }
 
     public void gotoOffset(final int offset) {
         LOG.log(TRACE, "Jump to %04X", offset);
-        bb.position(offset);
+        if (program != null) {
+            // jumps are resolved to instruction indexes when decoding the program
+            final ScriptInstruction instruction = program.instruction(currentIndex);
+            if (instruction.jumpOffset() != offset) {
+                throw new IllegalStateException("Unexpected jump to %04X from %s".formatted(offset, instruction));
+            }
+            pc = instruction.jumpTarget();
+        } else {
+            bb.position(offset);
+        }
     }
 
     public void delay(final int duration) {
         LOG.log(TRACE, "delay(%d)", duration);
-        delayedUntil = System.currentTimeMillis() + jiffiesToMillis(duration);
+        delayedUntil = clock.millis() + jiffiesToMillis(duration);
         breakHere();
     }
 
-    private static long jiffiesToMillis(final int duration) {
+    static long jiffiesToMillis(final int duration) {
         return duration * 1000L / 60;
     }
 
+    void setClock(final ScriptClock clock) {
+        this.clock = clock;
+    }
+
+    long getDelayedUntil() {
+        return delayedUntil;
+    }
+
     public void stop() {
         LOG.log(TRACE, "stop()");
         status = ScriptStatus.STOPPED;
@@ -181,6 +253,10 @@ public class Script {
         }
     }
 
+    public boolean isFrozen() {
+        return frozen > 0;
+    }
+
     public boolean isStopped() {
         LOG.log(TRACE, "isStopped()");
         return status == ScriptStatus.STOPPED;
@@ -192,6 +268,7 @@ public class Script {
             .add("freezeResistant=" + freezeResistant)
             .add("recursive=" + recursive)
             .add("startPos=" + startPos)
+            .add("predecoded=" + (program != null))
             .add("args=" + localVariables)
             .toString();
     }
@@ -0,0 +1,43 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+/**
+ * Time source of script delays and the {@link ScriptScheduler}.
+ */
+public interface ScriptClock {
+
+    /**
+     * Provides the clock based on the system time.
+     */
+    static ScriptClock system() {
+        return SystemScriptClock.INSTANCE;
+    }
+
+    /**
+     * The current time in milliseconds.
+     */
+    long millis();
+
+    /**
+     * Waits until the given time (in milliseconds) is reached.
+     */
+    void sleepUntil(long time);
+
+}
@@ -18,8 +18,6 @@
 
 package de.siegmar.jmonkey.decoder.script;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import de.siegmar.jmonkey.decoder.script.opcode.ActorFollowCameraOpcode;
@@ -101,15 +99,31 @@ import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToActorOpcode;
 import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToObjectOpcode;
 import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToOpcode;
 
+/**
+ * Dispatches opcodes to their decoders.
+ * <p>
+ * The decoders are stateless and the dispatch table isn't modified after construction – instances are
+ * immutable and can be shared between threads (see {@link #shared()}).
+ */
 @SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:ClassDataAbstractionCoupling"})
 public class ScriptDecoder {
 
-    private  final Map<Integer, Opcode> decoders = new HashMap<>();
+    private static final int OPCODE_COUNT = 256;
+    private static final ScriptDecoder SHARED = new ScriptDecoder();
+
+    private final Opcode[] decoders = new Opcode[OPCODE_COUNT];
 
     public ScriptDecoder() {
         loadOpcodes();
     }
 
+    /**
+     * Provides the process-wide shared instance.
+     */
+    public static ScriptDecoder shared() {
+        return SHARED;
+    }
+
     @SuppressWarnings({"checkstyle:JavaNCSS", "checkstyle:ExecutableStatementCount"})
     private void loadOpcodes() {
         addOpCode(new ActorFollowCameraOpcode());
@@ -129,7 +143,7 @@ public class ScriptDecoder {
         addOpCode(new DrawBoxOpcode());
         addOpCode(new DrawObjectOpcode());
         addOpCode(new EndCutsceneOpcode());
-        addOpCode(new ExpressionOpcode());
+        addOpCode(new ExpressionOpcode(this::decoder));
         addOpCode(new FaceActorOpcode());
         addOpCode(new FindInventoryOpcode());
         addOpCode(new FindObjectOpcode());
@@ -193,16 +207,26 @@ public class ScriptDecoder {
 
     private void addOpCode(final Opcode opcode) {
         for (final Integer i : opcode.opcodes()) {
-            if (decoders.containsKey(i)) {
+            if (decoders[i] != null) {
                 throw new IllegalStateException("Operator %02X already defined by %s; Can't register %s"
-                    .formatted(i, decoders.get(i), opcode));
+                    .formatted(i, decoders[i], opcode));
             }
-            decoders.put(i, opcode);
+            decoders[i] = opcode;
         }
     }
 
     public Optional<Opcode> getOpcodeDecoder(final int opcode) {
-        return Optional.ofNullable(decoders.get(opcode));
+        return Optional.ofNullable(decoder(opcode));
+    }
+
+    /**
+     * Looks up the decoder of an opcode without wrapping – for the hot path of script execution.
+     *
+     * @param opcode the opcode
+     * @return the decoder or {@code null} if the opcode is unknown
+     */
+    public Opcode decoder(final int opcode) {
+        return opcode >= 0 && opcode < OPCODE_COUNT ? decoders[opcode] : null;
     }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import de.siegmar.jmonkey.decoder.script.opcode.Instruction;
+import de.siegmar.jmonkey.decoder.script.opcode.JumpInstruction;
+
+/**
+ * A pre-decoded opcode of a {@link ScriptProgram}.
+ */
+public final class ScriptInstruction {
+
+    /**
+     * Jump target of instructions that don't jump.
+     */
+    public static final int NO_JUMP = -1;
+
+    private final int offset;
+    private final int opcode;
+    private final Instruction instruction;
+    private final int jumpTarget;
+
+    ScriptInstruction(final int offset, final int opcode, final Instruction instruction, final int jumpTarget) {
+        this.offset = offset;
+        this.opcode = opcode;
+        this.instruction = instruction;
+        this.jumpTarget = jumpTarget;
+    }
+
+    /**
+     * The offset of the opcode within the script data.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    public int opcode() {
+        return opcode;
+    }
+
+    public Instruction instruction() {
+        return instruction;
+    }
+
+    /**
+     * The offset this (possibly conditional) jump leads to or {@link #NO_JUMP}.
+     */
+    public int jumpOffset() {
+        return instruction instanceof JumpInstruction jump ? jump.offset() : NO_JUMP;
+    }
+
+    /**
+     * The instruction index this (possibly conditional) jump leads to or {@link #NO_JUMP}.
+     */
+    public int jumpTarget() {
+        return jumpTarget;
+    }
+
+    @Override
+    public String toString() {
+        return "%04X: %02X".formatted(offset, opcode);
+    }
+
+}
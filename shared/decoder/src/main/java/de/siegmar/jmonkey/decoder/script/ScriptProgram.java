@@ -0,0 +1,145 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
+import de.siegmar.jmonkey.decoder.script.opcode.Instruction;
+import de.siegmar.jmonkey.decoder.script.opcode.JumpInstruction;
+import de.siegmar.jmonkey.decoder.script.opcode.Opcode;
+
+/**
+ * A script decoded once into an array of instructions.
+ * <p>
+ * Every instruction holds its already resolved operands and calls the {@link OpcodeDelegate} directly.
+ * Running a program doesn't parse the bytecode again. Jump offsets are mapped to instruction indices when
+ * decoding. A program doesn't reference the script data and can be shared between scripts.
+ */
+public final class ScriptProgram {
+
+    private static final System.Logger LOG = System.getLogger(ScriptProgram.class.getName());
+
+    private static final int NO_INSTRUCTION = -1;
+    private static final long INSTRUCTION_WEIGHT = 64;
+
+    private final ScriptInstruction[] instructions;
+
+    private ScriptProgram(final ScriptInstruction[] instructions) {
+        this.instructions = instructions;
+    }
+
+    /**
+     * Decodes the script from {@code scriptPos} to the end of {@code data}.
+     *
+     * @throws IllegalStateException if the data contains unknown opcodes or jumps into an opcode
+     */
+    public static ScriptProgram decode(final ScriptDecoder scriptDecoder, final ByteString data,
+                                       final int scriptPos) {
+        final EnhancedByteBuffer bb = data.ebbLE();
+        bb.position(scriptPos);
+
+        final List<Integer> offsets = new ArrayList<>();
+        final List<Integer> opcodes = new ArrayList<>();
+        final List<Instruction> decoded = new ArrayList<>();
+        while (bb.hasRemaining()) {
+            offsets.add(bb.position());
+            final int opcode = bb.readU8();
+            opcodes.add(opcode);
+            decoded.add(decoder(scriptDecoder, opcode).decode(opcode, bb));
+        }
+
+        final int[] indexByOffset = new int[bb.limit() + 1];
+        Arrays.fill(indexByOffset, NO_INSTRUCTION);
+        for (int i = 0; i < offsets.size(); i++) {
+            indexByOffset[offsets.get(i)] = i;
+        }
+        // jumping to the very end terminates the script
+        indexByOffset[bb.limit()] = offsets.size();
+
+        final ScriptInstruction[] instructions = new ScriptInstruction[offsets.size()];
+        for (int i = 0; i < instructions.length; i++) {
+            final Instruction instruction = decoded.get(i);
+            final int jumpTarget = instruction instanceof JumpInstruction jump
+                ? index(indexByOffset, jump.offset())
+                : ScriptInstruction.NO_JUMP;
+            instructions[i] = new ScriptInstruction(offsets.get(i), opcodes.get(i), instruction, jumpTarget);
+        }
+
+        return new ScriptProgram(instructions);
+    }
+
+    /**
+     * Decodes the script like {@link #decode(ScriptDecoder, ByteString, int)} but returns an empty optional
+     * if the script can't be decoded ahead of time (e.g. because it contains unknown opcodes).
+     */
+    public static Optional<ScriptProgram> tryDecode(final ScriptDecoder scriptDecoder, final ByteString data,
+                                                    final int scriptPos) {
+        try {
+            return Optional.of(decode(scriptDecoder, data, scriptPos));
+        } catch (final IllegalStateException | IllegalArgumentException | BufferUnderflowException e) {
+            LOG.log(DEBUG, () -> "Can't pre-decode script: %s".formatted(e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private static Opcode decoder(final ScriptDecoder scriptDecoder, final int opcode) {
+        final Opcode decoder = scriptDecoder.decoder(opcode);
+        if (decoder == null) {
+            throw new IllegalStateException("No impl for opcode %02X found".formatted(opcode));
+        }
+        return decoder;
+    }
+
+    private static int index(final int[] indexByOffset, final int offset) {
+        final int idx = offset >= 0 && offset < indexByOffset.length ? indexByOffset[offset] : NO_INSTRUCTION;
+        if (idx == NO_INSTRUCTION) {
+            throw new IllegalStateException("No instruction at offset %04X".formatted(offset));
+        }
+        return idx;
+    }
+
+    public int size() {
+        return instructions.length;
+    }
+
+    public ScriptInstruction instruction(final int idx) {
+        return instructions[idx];
+    }
+
+    /**
+     * Estimates the retained size in bytes (for cache weighing).
+     */
+    public long weight() {
+        return instructions.length * INSTRUCTION_WEIGHT;
+    }
+
+    @Override
+    public String toString() {
+        return "ScriptProgram[instructions=%d]".formatted(instructions.length);
+    }
+
+}
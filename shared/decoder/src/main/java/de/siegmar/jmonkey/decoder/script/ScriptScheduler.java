@@ -0,0 +1,222 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import static java.lang.System.Logger.Level.TRACE;
+
+import java.time.Duration;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Cooperative scheduler that runs the scripts of a fixed number of slots round-robin (like the SCUMM engine).
+ * <p>
+ * Each round executes every script until it breaks ({@code breakHere}, {@code delay}, ...). Scripts
+ * started during a round run from the next round on. Between rounds the scheduler waits for the next frame or,
+ * if all scripts are delayed, until the first of them wakes up. With a {@link VirtualScriptClock} this runs
+ * game logic deterministically and without actually waiting.
+ * <p>
+ * Not thread-safe – scripts are meant to call back into the scheduler (via their {@link OpcodeDelegate}) from
+ * the thread running it.
+ */
+public final class ScriptScheduler {
+
+    /**
+     * Number of script slots ScummVM provides.
+     */
+    public static final int DEFAULT_SLOTS = 80;
+
+    /**
+     * Frames per second – one frame per jiffy.
+     */
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    private static final System.Logger LOG = System.getLogger(ScriptScheduler.class.getName());
+    private static final int NO_SLOT = -1;
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private final ScriptClock clock;
+    private final Script[] slots;
+    private final int frameRate;
+    private int currentSlot = NO_SLOT;
+
+    public ScriptScheduler(final ScriptClock clock) {
+        this(clock, DEFAULT_SLOTS, DEFAULT_FRAME_RATE);
+    }
+
+    /**
+     * @param frameRate frames per second – frame {@code n} starts at millisecond {@code ceil(n * 1000 / frameRate)},
+     *                  so a rate that doesn't divide 1000 doesn't accumulate rounding errors
+     */
+    public ScriptScheduler(final ScriptClock clock, final int slotCount, final int frameRate) {
+        Preconditions.checkArgument(slotCount > 0, "slotCount must be positive: %s", slotCount);
+        Preconditions.checkArgument(frameRate > 0 && frameRate <= MILLIS_PER_SECOND,
+            "frameRate must be between 1 and 1000: %s", frameRate);
+        this.clock = clock;
+        slots = new Script[slotCount];
+        this.frameRate = frameRate;
+    }
+
+    public ScriptClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Puts the script into the first free slot.
+     *
+     * @return the slot number
+     * @throws IllegalStateException if all slots are occupied
+     */
+    public int start(final Script script) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) {
+                LOG.log(TRACE, "Start script %d in slot %d", script.getScriptId(), i);
+                script.setClock(clock);
+                slots[i] = script;
+                return i;
+            }
+        }
+        throw new IllegalStateException("No free slot for script " + script.getScriptId());
+    }
+
+    /**
+     * Stops the currently running script and starts the given one in its slot.
+     *
+     * @throws IllegalStateException if no script is running
+     */
+    public void chain(final Script script) {
+        if (currentSlot == NO_SLOT) {
+            throw new IllegalStateException("chain() called outside of a running script");
+        }
+        LOG.log(TRACE, "Chain script %d in slot %d", script.getScriptId(), currentSlot);
+        slots[currentSlot].stop();
+        script.setClock(clock);
+        slots[currentSlot] = script;
+    }
+
+    /**
+     * Stops all scripts with the given id.
+     */
+    public void stop(final int scriptId) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && slots[i].getScriptId() == scriptId) {
+                slots[i].stop();
+                // the running script is removed once it has given control back
+                if (i != currentSlot) {
+                    slots[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Freezes all scripts but the running one. Freeze resistant scripts are only frozen if forced to.
+     */
+    public void freeze(final boolean force) {
+        for (int i = 0; i < slots.length; i++) {
+            final Script script = slots[i];
+            if (script != null && i != currentSlot && (force || !script.isFreezeResistant())) {
+                script.freeze();
+            }
+        }
+    }
+
+    public void unfreeze() {
+        for (final Script script : slots) {
+            if (script != null) {
+                script.unfreeze();
+            }
+        }
+    }
+
+    public boolean isRunning(final int scriptId) {
+        for (final Script script : slots) {
+            if (script != null && script.getScriptId() == scriptId && !script.isStopped()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isIdle() {
+        for (final Script script : slots) {
+            if (script != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes every script once (until it breaks) in slot order.
+     */
+    public void runRound() {
+        final Script[] round = slots.clone();
+        for (int i = 0; i < round.length; i++) {
+            final Script script = round[i];
+            if (script == null || slots[i] != script) {
+                continue;
+            }
+
+            currentSlot = i;
+            try {
+                script.execute();
+            } finally {
+                currentSlot = NO_SLOT;
+            }
+
+            if (slots[i] == script && script.isStopped()) {
+                slots[i] = null;
+            }
+        }
+    }
+
+    public void run(final Duration duration) {
+        runUntil(clock.millis() + duration.toMillis());
+    }
+
+    /**
+     * Runs rounds until the clock reaches {@code until} or all scripts have ended.
+     */
+    public void runUntil(final long until) {
+        while (clock.millis() < until && !isIdle()) {
+            runRound();
+            clock.sleepUntil(Math.min(nextWakeUp(), until));
+        }
+    }
+
+    // frozen scripts only wake up if another script unfreezes them
+    private long nextWakeUp() {
+        final long nextFrame = nextFrame(clock.millis());
+        long next = Long.MAX_VALUE;
+        for (final Script script : slots) {
+            if (script != null && !script.isFrozen()) {
+                next = Math.min(next, Math.max(nextFrame, script.getDelayedUntil()));
+            }
+        }
+        return next;
+    }
+
+    // Delays are truncated to whole milliseconds (see Script#delay) – a delay of n frames never ends after frame n
+    private long nextFrame(final long now) {
+        final long frame = now * frameRate / MILLIS_PER_SECOND + 1;
+        return (frame * MILLIS_PER_SECOND + frameRate - 1) / frameRate;
+    }
+
+}
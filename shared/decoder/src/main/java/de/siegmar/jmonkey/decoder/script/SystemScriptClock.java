@@ -16,36 +16,34 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
-package de.siegmar.jmonkey.decoder.costume;
+package de.siegmar.jmonkey.decoder.script;
 
-import java.util.Objects;
+/**
+ * Clock based on the system time – waiting actually blocks the calling thread.
+ */
+final class SystemScriptClock implements ScriptClock {
 
-public record AnimOffset(int address) implements Comparable<AnimOffset> {
+    static final SystemScriptClock INSTANCE = new SystemScriptClock();
 
-    public boolean isDefined() {
-        return address > 0;
+    private SystemScriptClock() {
     }
 
     @Override
-    public int compareTo(final AnimOffset o) {
-        return Integer.compare(address, o.address);
+    public long millis() {
+        return System.currentTimeMillis();
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(address);
-    }
-
-    @Override
-    public boolean equals(final Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
+    public void sleepUntil(final long time) {
+        final long duration = time - millis();
+        if (duration > 0) {
+            try {
+                Thread.sleep(duration);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
         }
-        final AnimOffset that = (AnimOffset) o;
-        return address == that.address;
     }
 
 }
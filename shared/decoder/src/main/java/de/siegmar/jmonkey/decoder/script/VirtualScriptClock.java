@@ -0,0 +1,62 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+
+/**
+ * Clock that only advances when asked to – waiting jumps straight to the requested time.
+ * <p>
+ * Used to run scripts deterministically and faster than real time (e.g. headless regression runs).
+ */
+public final class VirtualScriptClock implements ScriptClock {
+
+    private long now;
+
+    public VirtualScriptClock() {
+        this(0);
+    }
+
+    public VirtualScriptClock(final long start) {
+        now = start;
+    }
+
+    @Override
+    public long millis() {
+        return now;
+    }
+
+    @Override
+    public void sleepUntil(final long time) {
+        if (time > now) {
+            now = time;
+        }
+    }
+
+    public void advance(final long millis) {
+        Preconditions.checkArgument(millis >= 0, "Time can't go backwards: %s", millis);
+        now += millis;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualScriptClock[now=%d]".formatted(now);
+    }
+
+}
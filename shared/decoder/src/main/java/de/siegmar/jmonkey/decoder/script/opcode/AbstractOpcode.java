@@ -23,10 +23,11 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.lang.Preconditions;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.ScummString;
 import de.siegmar.jmonkey.decoder.script.ScummVars;
 import de.siegmar.jmonkey.decoder.script.VarType;
@@ -35,6 +36,12 @@ import de.siegmar.jmonkey.decoder.script.parameter.NamedVariable;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 import de.siegmar.jmonkey.decoder.script.parameter.ParameterBuilder;
 
+/**
+ * Base of all opcode decoders.
+ * <p>
+ * Decoders are stateless (all state is held by the buffer and the instructions they return) – no
+ * synchronization needed.
+ */
 public abstract class AbstractOpcode implements Opcode {
 
     private static final Charset CHARSET = Charset.forName("CP850");
@@ -52,15 +59,6 @@ public abstract class AbstractOpcode implements Opcode {
         return opcodes;
     }
 
-    @Override
-    public synchronized void execute(final int opcode, final EnhancedByteBuffer bb,
-                                     final OpcodeDelegate opcodeDelegate) {
-        // FIXME no thread safety
-        doDecode(opcode, bb, opcodeDelegate);
-    }
-
-    protected abstract void doDecode(int opcode, EnhancedByteBuffer bb, OpcodeDelegate opcodeDelegate);
-
     protected OpParameter resolveParameter8(final EnhancedByteBuffer bb, final int opcode, final int pos) {
         return isPointer(opcode, pos) ? resolvePointer(bb) : new ConstantParameter(bb.readU8());
     }
@@ -146,6 +144,27 @@ public abstract class AbstractOpcode implements Opcode {
         return ssb.build();
     }
 
+    /**
+     * Binds an already decoded operand to an operation of a sub-command builder (like {@code ActorOps}).
+     */
+    protected static <T, P> Consumer<T> bind(final P operand, final BiConsumer<T, P> operation) {
+        return target -> operation.accept(target, operand);
+    }
+
+    protected static <T> Consumer<T> bind(final OpParameter operand1, final OpParameter operand2,
+                                          final BinaryOperation<T> operation) {
+        return target -> operation.accept(target, operand1, operand2);
+    }
+
+    /**
+     * Calls the decoded operations on a sub-command builder in order.
+     */
+    protected static <T> void applyAll(final T target, final List<Consumer<T>> operations) {
+        for (final Consumer<T> operation : operations) {
+            operation.accept(target);
+        }
+    }
+
     protected List<OpParameter> readList16(final EnhancedByteBuffer bb) {
         final List<OpParameter> args = new ArrayList<>();
 
@@ -157,4 +176,14 @@ public abstract class AbstractOpcode implements Opcode {
         return args;
     }
 
+    /**
+     * An operation of a sub-command builder with two operands.
+     */
+    @FunctionalInterface
+    protected interface BinaryOperation<T> {
+
+        void accept(T target, OpParameter operand1, OpParameter operand2);
+
+    }
+
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 /**
@@ -37,9 +36,9 @@ public class ActorFollowCameraOpcode extends AbstractOpcode {
 
     // opcode actor[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
-        opcodeDelegate.actorFollowCamera(actor);
+        return opcodeDelegate -> opcodeDelegate.actorFollowCamera(actor);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 /**
@@ -37,11 +36,11 @@ public class ActorFromPosOpcode extends AbstractOpcode {
 
     // opcode result x[p16] y[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter x = resolveParameter16(bb, opcode, 0);
         final OpParameter y = resolveParameter16(bb, opcode, 1);
-        opcodeDelegate.actorFromPos(result, x, y);
+        return opcodeDelegate -> opcodeDelegate.actorFromPos(result, x, y);
     }
 
 }
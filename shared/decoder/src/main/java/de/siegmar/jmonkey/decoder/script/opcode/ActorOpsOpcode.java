@@ -18,10 +18,13 @@
 
 package de.siegmar.jmonkey.decoder.script.opcode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
+import de.siegmar.jmonkey.decoder.script.ActorOps;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 /**
@@ -35,39 +38,46 @@ public class ActorOpsOpcode extends AbstractOpcode {
         super(OPCODES);
     }
 
-    @SuppressWarnings("checkstyle:CyclomaticComplexity")
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
 
-        final var actorOps = opcodeDelegate.actorOps(actor);
+        final List<Consumer<ActorOps>> operations = new ArrayList<>();
 
         int subOpCode;
         while ((subOpCode = bb.readU8()) != 0xFF) {
-            switch (subOpCode & 0x1F) {
-                case 0x01 -> actorOps.costume(resolveParameter8(bb, subOpCode, 0));
-                case 0x04 -> actorOps.walkSpeed(resolveParameter8(bb, subOpCode, 0),
-                    resolveParameter8(bb, subOpCode, 1));
-                case 0x05 -> actorOps.sound(resolveParameter8(bb, subOpCode, 0));
-                case 0x06 -> actorOps.walkAnimNr(resolveParameter8(bb, subOpCode, 0));
-                case 0x07 -> actorOps.talkAnimNr(resolveParameter8(bb, subOpCode, 0),
-                    resolveParameter8(bb, subOpCode, 1));
-                case 0x08 -> actorOps.standAnimNr(resolveParameter8(bb, subOpCode, 0));
-                case 0x0A -> actorOps.init();
-                case 0x0B -> actorOps.elevation(resolveParameter16(bb, subOpCode, 0));
-                case 0x0D -> actorOps.palette(resolveParameter8(bb, subOpCode, 0),
-                    resolveParameter8(bb, subOpCode, 1)
-                );
-                case 0x0E -> actorOps.talkColor(resolveParameter8(bb, subOpCode, 0));
-                case 0x0F -> actorOps.name(getString(bb));
-                case 0x10 -> actorOps.initAnimNr(resolveParameter8(bb, subOpCode, 0));
-                case 0x12 -> actorOps.width(resolveParameter8(bb, subOpCode, 0));
-                case 0x13 -> actorOps.scale(resolveParameter8(bb, subOpCode, 0));
-                default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpCode));
-            }
+            operations.add(decodeOperation(bb, subOpCode));
         }
 
-        actorOps.end();
+        return opcodeDelegate -> {
+            final ActorOps actorOps = opcodeDelegate.actorOps(actor);
+            applyAll(actorOps, operations);
+            actorOps.end();
+        };
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private Consumer<ActorOps> decodeOperation(final EnhancedByteBuffer bb, final int subOpCode) {
+        return switch (subOpCode & 0x1F) {
+            case 0x01 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::costume);
+            case 0x04 -> bind(resolveParameter8(bb, subOpCode, 0),
+                resolveParameter8(bb, subOpCode, 1), ActorOps::walkSpeed);
+            case 0x05 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::sound);
+            case 0x06 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::walkAnimNr);
+            case 0x07 -> bind(resolveParameter8(bb, subOpCode, 0),
+                resolveParameter8(bb, subOpCode, 1), ActorOps::talkAnimNr);
+            case 0x08 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::standAnimNr);
+            case 0x0A -> ActorOps::init;
+            case 0x0B -> bind(resolveParameter16(bb, subOpCode, 0), ActorOps::elevation);
+            case 0x0D -> bind(resolveParameter8(bb, subOpCode, 0),
+                resolveParameter8(bb, subOpCode, 1), ActorOps::palette);
+            case 0x0E -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::talkColor);
+            case 0x0F -> bind(getString(bb), ActorOps::name);
+            case 0x10 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::initAnimNr);
+            case 0x12 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::width);
+            case 0x13 -> bind(resolveParameter8(bb, subOpCode, 0), ActorOps::scale);
+            default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpCode));
+        };
     }
 
 }
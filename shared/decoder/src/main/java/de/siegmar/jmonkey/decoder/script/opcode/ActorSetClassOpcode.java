@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 /**
@@ -38,10 +37,10 @@ public class ActorSetClassOpcode extends AbstractOpcode {
 
     // opcode object[p16] classes[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter obj = resolveParameter16(bb, opcode, 0);
         final List<OpParameter> classes = readList16(bb);
-        opcodeDelegate.setClass(obj, classes);
+        return opcodeDelegate -> opcodeDelegate.setClass(obj, classes);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class AnimateActorOpcode extends AbstractOpcode {
@@ -33,10 +32,10 @@ public class AnimateActorOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter costume = resolveParameter8(bb, opcode, 0);
         final OpParameter animation = resolveParameter8(bb, opcode, 1);
-        opcodeDelegate.animateCostume(costume, animation);
+        return opcodeDelegate -> opcodeDelegate.animateCostume(costume, animation);
     }
 
 }
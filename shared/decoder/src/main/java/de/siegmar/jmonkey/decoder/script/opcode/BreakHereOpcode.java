@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 public class BreakHereOpcode extends AbstractOpcode {
 
@@ -32,8 +31,8 @@ public class BreakHereOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
-        opcodeDelegate.breakHere();
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
+        return opcodeDelegate -> opcodeDelegate.breakHere();
     }
 
 }
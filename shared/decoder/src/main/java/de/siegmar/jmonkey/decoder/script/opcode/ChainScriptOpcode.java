@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class ChainScriptOpcode extends AbstractOpcode {
@@ -35,10 +34,10 @@ public class ChainScriptOpcode extends AbstractOpcode {
 
     // opcode script[p8] args[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter scriptId = resolveParameter8(bb, opcode, 0);
         final List<OpParameter> args = readList16(bb);
-        opcodeDelegate.chainScript(scriptId, args);
+        return opcodeDelegate -> opcodeDelegate.chainScript(scriptId, args);
     }
 
 }
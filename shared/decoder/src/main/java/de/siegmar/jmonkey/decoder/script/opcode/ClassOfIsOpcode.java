@@ -35,12 +35,22 @@ public class ClassOfIsOpcode extends AbstractOpcode {
 
     // opcode value[p16] args[v16]... target[16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter value = resolveParameter16(bb, opcode, 0);
         final List<OpParameter> args = readList16(bb);
         final int offset = bb.position() + bb.readS16() + 2;
 
-        opcodeDelegate.classOfIsConditionJump(value, args, offset);
+        return new ClassOfIsConditionJump(value, args, offset);
+    }
+
+    private record ClassOfIsConditionJump(OpParameter value, List<OpParameter> args, int offset)
+        implements JumpInstruction {
+
+        @Override
+        public void execute(final OpcodeDelegate opcodeDelegate) {
+            opcodeDelegate.classOfIsConditionJump(value, args, offset);
+        }
+
     }
 
 }
@@ -22,7 +22,7 @@ import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.decoder.script.InputMode;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
+import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class CursorCommandOpcode extends AbstractOpcode {
 
@@ -34,20 +34,23 @@ public class CursorCommandOpcode extends AbstractOpcode {
 
     // opcode sub-opcode
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
-        switch (subOpcode) {
-            case 0x01 -> opcodeDelegate.cursor(InputMode.ON);
-            case 0x02 -> opcodeDelegate.cursor(InputMode.OFF);
-            case 0x03 -> opcodeDelegate.userput(InputMode.ON);
-            case 0x04 -> opcodeDelegate.userput(InputMode.OFF);
-            case 0x05 -> opcodeDelegate.cursor(InputMode.SOFT_ON);
-            case 0x06 -> opcodeDelegate.cursor(InputMode.SOFT_OFF);
-            case 0x07 -> opcodeDelegate.userput(InputMode.SOFT_ON);
-            case 0x08 -> opcodeDelegate.userput(InputMode.SOFT_OFF);
-            case 0x0D -> opcodeDelegate.initCharset(resolveParameter8(bb, subOpcode, 0));
+        return switch (subOpcode) {
+            case 0x01 -> opcodeDelegate -> opcodeDelegate.cursor(InputMode.ON);
+            case 0x02 -> opcodeDelegate -> opcodeDelegate.cursor(InputMode.OFF);
+            case 0x03 -> opcodeDelegate -> opcodeDelegate.userput(InputMode.ON);
+            case 0x04 -> opcodeDelegate -> opcodeDelegate.userput(InputMode.OFF);
+            case 0x05 -> opcodeDelegate -> opcodeDelegate.cursor(InputMode.SOFT_ON);
+            case 0x06 -> opcodeDelegate -> opcodeDelegate.cursor(InputMode.SOFT_OFF);
+            case 0x07 -> opcodeDelegate -> opcodeDelegate.userput(InputMode.SOFT_ON);
+            case 0x08 -> opcodeDelegate -> opcodeDelegate.userput(InputMode.SOFT_OFF);
+            case 0x0D -> {
+                final OpParameter charset = resolveParameter8(bb, subOpcode, 0);
+                yield opcodeDelegate -> opcodeDelegate.initCharset(charset);
+            }
             default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-        }
+        };
     }
 
 }
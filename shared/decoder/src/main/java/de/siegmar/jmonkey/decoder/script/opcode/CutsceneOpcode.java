@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class CutsceneOpcode extends AbstractOpcode {
@@ -35,9 +34,9 @@ public class CutsceneOpcode extends AbstractOpcode {
 
     // opcode args[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final List<OpParameter> args = readList16(bb);
-        opcodeDelegate.cutscene(args);
+        return opcodeDelegate -> opcodeDelegate.cutscene(args);
     }
 
 }
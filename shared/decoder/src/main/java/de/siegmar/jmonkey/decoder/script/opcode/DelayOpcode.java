@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 public class DelayOpcode extends AbstractOpcode {
 
@@ -33,9 +32,9 @@ public class DelayOpcode extends AbstractOpcode {
 
     // opcode param[24]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int delay = decodeDelay(bb);
-        opcodeDelegate.delay(delay);
+        return opcodeDelegate -> opcodeDelegate.delay(delay);
     }
 
     private int decodeDelay(final EnhancedByteBuffer bb) {
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class DelayVariableOpcode extends AbstractOpcode {
@@ -33,9 +32,9 @@ public class DelayVariableOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter var = resolvePointer(bb);
-        opcodeDelegate.delayVariable(var);
+        return opcodeDelegate -> opcodeDelegate.delayVariable(var);
     }
 
 }
@@ -35,16 +35,16 @@ public class DoSentenceOpcode extends AbstractOpcode {
 
     // opcode verb[p8] objectA[p16] objectB[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter verb = resolveParameter8(bb, opcode, 0);
         if (verb instanceof ConstantParameter c && c.getValue() == 0xFE) {
             // FIXME: this is not exactly what ScummVM does...
-            opcodeDelegate.doSentenceStop();
-        } else {
-            final OpParameter obj1 = resolveParameter16(bb, opcode, 1);
-            final OpParameter obj2 = resolveParameter16(bb, opcode, 2);
-            opcodeDelegate.doSentence(verb, obj1, obj2);
+            return OpcodeDelegate::doSentenceStop;
         }
+
+        final OpParameter obj1 = resolveParameter16(bb, opcode, 1);
+        final OpParameter obj2 = resolveParameter16(bb, opcode, 2);
+        return opcodeDelegate -> opcodeDelegate.doSentence(verb, obj1, obj2);
     }
 
 }
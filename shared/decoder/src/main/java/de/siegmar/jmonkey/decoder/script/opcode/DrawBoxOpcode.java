@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class DrawBoxOpcode extends AbstractOpcode {
@@ -34,7 +33,7 @@ public class DrawBoxOpcode extends AbstractOpcode {
 
     // opcode left[p16] top[p16] auxopcode[8] right[p16] bottom[p16] color[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter left = resolveParameter16(bb, opcode, 0);
         final OpParameter top = resolveParameter16(bb, opcode, 1);
 
@@ -43,7 +42,7 @@ public class DrawBoxOpcode extends AbstractOpcode {
         final OpParameter bottom = resolveParameter16(bb, auxopcode, 1);
         final OpParameter color = resolveParameter8(bb, auxopcode, 2);
 
-        opcodeDelegate.drawBox(left, top, right, bottom, color);
+        return opcodeDelegate -> opcodeDelegate.drawBox(left, top, right, bottom, color);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class DrawObjectOpcode extends AbstractOpcode {
@@ -33,11 +32,11 @@ public class DrawObjectOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter object = resolveParameter16(bb, opcode, 0);
         final OpParameter xpos = resolveParameter16(bb, opcode, 1);
         final OpParameter ypos = resolveParameter16(bb, opcode, 2);
-        opcodeDelegate.drawObject(object, xpos, ypos);
+        return opcodeDelegate -> opcodeDelegate.drawObject(object, xpos, ypos);
     }
 
 }
@@ -19,13 +19,17 @@
 package de.siegmar.jmonkey.decoder.script.opcode;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.decoder.script.Calculation;
 import de.siegmar.jmonkey.decoder.script.ExpressionResult;
 import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
+import de.siegmar.jmonkey.decoder.script.Script;
 import de.siegmar.jmonkey.decoder.script.operator.ArithmeticOperator;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
@@ -33,28 +37,76 @@ public class ExpressionOpcode extends AbstractOpcode {
 
     private static final Set<Integer> OPCODES = Set.of(0xAC);
 
-    public ExpressionOpcode() {
+    private final IntFunction<Opcode> nestedDecoders;
+
+    /**
+     * @param nestedDecoders looks up the decoder of opcodes nested in an expression (subOpcode 0x6)
+     */
+    public ExpressionOpcode(final IntFunction<Opcode> nestedDecoders) {
         super(OPCODES);
+        this.nestedDecoders = nestedDecoders;
     }
 
     // opcode result subIpcode... $FF
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
-        final Deque<Object> stack = new ArrayDeque<>();
+        final List<Object> steps = new ArrayList<>();
+        boolean nested = false;
 
         int subOpcode;
         while ((subOpcode = bb.readU8()) != 0xFF) {
             switch (subOpcode & 0x1F) {
-                case 0x1 -> stack.push(resolveParameter16(bb, subOpcode, 0));
-                case 0x2, 0x3, 0x4, 0x5 -> stack.push(
-                    new Calculation(stack.pop(), stack.pop(), mapOperator(subOpcode)));
-                case 0x6 -> stack.push(new ExpressionResult(opcodeDelegate.callOpcode()));
+                case 0x1 -> steps.add(resolveParameter16(bb, subOpcode, 0));
+                case 0x2, 0x3, 0x4, 0x5 -> steps.add(mapOperator(subOpcode));
+                case 0x6 -> {
+                    steps.add(decodeNested(bb));
+                    nested = true;
+                }
                 default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
             }
         }
 
-        opcodeDelegate.exprMode(result, stack.pop());
+        if (!nested) {
+            // without nested opcodes the expression is constant and only built once
+            final Object value = evaluate(steps, null);
+            return opcodeDelegate -> opcodeDelegate.exprMode(result, value);
+        }
+
+        return opcodeDelegate -> opcodeDelegate.exprMode(result, evaluate(steps, opcodeDelegate));
+    }
+
+    private Instruction decodeNested(final EnhancedByteBuffer bb) {
+        final int opcode = bb.readU8();
+        final Opcode decoder = nestedDecoders.apply(opcode);
+        if (decoder == null) {
+            throw new IllegalStateException("No impl for opcode %02X found".formatted(opcode));
+        }
+        return decoder.decode(opcode, bb);
+    }
+
+    private static Object evaluate(final List<Object> steps, final OpcodeDelegate opcodeDelegate) {
+        final Deque<Object> stack = new ArrayDeque<>();
+        for (final Object step : steps) {
+            if (step instanceof ArithmeticOperator operator) {
+                stack.push(new Calculation(stack.pop(), stack.pop(), operator));
+            } else if (step instanceof Instruction instruction) {
+                stack.push(new ExpressionResult(callNested(instruction, opcodeDelegate)));
+            } else {
+                stack.push(step);
+            }
+        }
+        return stack.pop();
+    }
+
+    private static Object callNested(final Instruction instruction, final OpcodeDelegate opcodeDelegate) {
+        final Script script = opcodeDelegate.getScript();
+        opcodeDelegate.startExpression();
+
+        instruction.execute(opcodeDelegate);
+
+        opcodeDelegate.setScript(script);
+        return opcodeDelegate.endExpression();
     }
 
     private ArithmeticOperator mapOperator(final int subOpcode) {
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class FaceActorOpcode extends AbstractOpcode {
@@ -34,10 +33,10 @@ public class FaceActorOpcode extends AbstractOpcode {
 
     // opcode actor[p8] object[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
         final OpParameter object = resolveParameter16(bb, opcode, 1);
-        opcodeDelegate.faceActor(actor, object);
+        return opcodeDelegate -> opcodeDelegate.faceActor(actor, object);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class FindInventoryOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class FindInventoryOpcode extends AbstractOpcode {
 
     // opcode result owner[p8] index[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter owner = resolveParameter8(bb, opcode, 0);
         final OpParameter index = resolveParameter8(bb, opcode, 1);
-        opcodeDelegate.findInventory(result, owner, index);
+        return opcodeDelegate -> opcodeDelegate.findInventory(result, owner, index);
     }
 
 }
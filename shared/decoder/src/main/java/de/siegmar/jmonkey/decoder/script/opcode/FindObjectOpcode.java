@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class FindObjectOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class FindObjectOpcode extends AbstractOpcode {
 
     // opcode result x[p8] y[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter x = resolveParameter8(bb, opcode, 0);
         final OpParameter y = resolveParameter8(bb, opcode, 1);
-        opcodeDelegate.findObject(result, x, y);
+        return opcodeDelegate -> opcodeDelegate.findObject(result, x, y);
     }
 
 }
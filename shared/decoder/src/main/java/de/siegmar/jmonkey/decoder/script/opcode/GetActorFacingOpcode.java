@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class GetActorFacingOpcode extends AbstractOpcode {
@@ -34,10 +33,10 @@ public class GetActorFacingOpcode extends AbstractOpcode {
 
     // opcode result actor[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
-        opcodeDelegate.getActorFacing(result, actor);
+        return opcodeDelegate -> opcodeDelegate.getActorFacing(result, actor);
     }
 
 }
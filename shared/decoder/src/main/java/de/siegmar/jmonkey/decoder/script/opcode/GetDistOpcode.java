@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class GetDistOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class GetDistOpcode extends AbstractOpcode {
 
     // opcode result objA[p16] objB[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter o1 = resolveParameter16(bb, opcode, 0);
         final OpParameter o2 = resolveParameter16(bb, opcode, 1);
-        opcodeDelegate.getDist(result, o1, o2);
+        return opcodeDelegate -> opcodeDelegate.getDist(result, o1, o2);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class GetVerbEntryPointOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class GetVerbEntryPointOpcode extends AbstractOpcode {
 
     // opcode result object[p16] verb[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter object = resolveParameter16(bb, opcode, 0);
         final OpParameter verb = resolveParameter16(bb, opcode, 1);
-        opcodeDelegate.getVerbEntryPoint(result, object, verb);
+        return opcodeDelegate -> opcodeDelegate.getVerbEntryPoint(result, object, verb);
     }
 
 }
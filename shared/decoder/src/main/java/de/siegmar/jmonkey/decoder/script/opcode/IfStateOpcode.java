@@ -35,7 +35,7 @@ public class IfStateOpcode extends AbstractOpcode {
 
     // opcode object[p16] state[p8] target[16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter var = resolveParameter16(bb, opcode, 0);
         final OpParameter cmp = resolveParameter8(bb, opcode, 1);
         final int offset = bb.position() + bb.readS16() + 2;
@@ -46,7 +46,17 @@ public class IfStateOpcode extends AbstractOpcode {
             default -> throw new IllegalStateException("opcode not found: %X".formatted(opcode));
         };
 
-        opcodeDelegate.stateConditionJump(var, op, cmp, offset);
+        return new StateConditionJump(var, op, cmp, offset);
+    }
+
+    private record StateConditionJump(OpParameter var, ComparisonOperator op, OpParameter cmp, int offset)
+        implements JumpInstruction {
+
+        @Override
+        public void execute(final OpcodeDelegate opcodeDelegate) {
+            opcodeDelegate.stateConditionJump(var, op, cmp, offset);
+        }
+
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class IsScriptRunningOpcode extends AbstractOpcode {
@@ -34,10 +33,10 @@ public class IsScriptRunningOpcode extends AbstractOpcode {
 
     // opcode result script[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter scriptId = resolveParameter8(bb, opcode, 0);
-        opcodeDelegate.isScriptRunning(result, scriptId);
+        return opcodeDelegate -> opcodeDelegate.isScriptRunning(result, scriptId);
     }
 
 }
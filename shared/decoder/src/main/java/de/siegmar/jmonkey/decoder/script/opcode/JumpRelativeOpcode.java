@@ -32,10 +32,19 @@ public class JumpRelativeOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int target = bb.readS16();
         final int offset = bb.position() + target;
-        opcodeDelegate.gotoOffset(offset);
+        return new Goto(offset);
+    }
+
+    private record Goto(int offset) implements JumpInstruction {
+
+        @Override
+        public void execute(final OpcodeDelegate opcodeDelegate) {
+            opcodeDelegate.gotoOffset(offset);
+        }
+
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class LightsOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class LightsOpcode extends AbstractOpcode {
 
     // opcode arg1[p8] arg2[8] arg3[8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter arg1 = resolveParameter8(bb, opcode, 0);
         final int arg2 = bb.readU8();
         final int arg3 = bb.readU8();
-        opcodeDelegate.lights(arg1, arg2, arg3);
+        return opcodeDelegate -> opcodeDelegate.lights(arg1, arg2, arg3);
     }
 
 }
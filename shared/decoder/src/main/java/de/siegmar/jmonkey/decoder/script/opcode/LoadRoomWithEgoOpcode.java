@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class LoadRoomWithEgoOpcode extends AbstractOpcode {
@@ -34,12 +33,12 @@ public class LoadRoomWithEgoOpcode extends AbstractOpcode {
 
     // opcode object[p16] room[p8] x[16] y[16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter object = resolveParameter16(bb, opcode, 0);
         final OpParameter room = resolveParameter8(bb, opcode, 1);
         final int x = bb.readS16();
         final int y = bb.readS16();
-        opcodeDelegate.loadRoomWithEgo(object, room, x, y);
+        return opcodeDelegate -> opcodeDelegate.loadRoomWithEgo(object, room, x, y);
     }
 
 }
@@ -33,22 +33,20 @@ public class MatrixOpOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
 
         if ((subOpcode & 0x1F) == 0x04) {
-            opcodeDelegate.createBoxMatrix();
-            return;
+            return OpcodeDelegate::createBoxMatrix;
         }
 
         final OpParameter box = resolveParameter8(bb, subOpcode, 0);
         final OpParameter val = resolveParameter8(bb, subOpcode, 1);
 
-        if ((subOpcode & 0x1F) == 0x01) {
-            opcodeDelegate.setBoxFlags(box, val);
-        } else {
+        if ((subOpcode & 0x1F) != 0x01) {
             throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
         }
+        return opcodeDelegate -> opcodeDelegate.setBoxFlags(box, val);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 // TODO rename
 public class OldRoomEffectSetOpcode extends AbstractOpcode {
@@ -33,7 +32,7 @@ public class OldRoomEffectSetOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
 
         if ((subOpcode & 0x1F) != 3) {
@@ -41,7 +40,7 @@ public class OldRoomEffectSetOpcode extends AbstractOpcode {
         }
 
         final int x = bb.readS16();
-        opcodeDelegate.oldRoomEffectSet(x);
+        return opcodeDelegate -> opcodeDelegate.oldRoomEffectSet(x);
     }
 
 }
@@ -34,7 +34,7 @@ public class OneOpCmpOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter var = resolvePointer(bb);
         final int target = bb.readS16();
         final int offset = bb.position() + target;
@@ -45,7 +45,17 @@ public class OneOpCmpOpcode extends AbstractOpcode {
             default -> throw new IllegalStateException("opcode not found: %X".formatted(opcode));
         };
 
-        opcodeDelegate.conditionalJump(var, nop, offset);
+        return new ConditionalJump(var, nop, offset);
+    }
+
+    private record ConditionalJump(OpParameter var, ComparisonOperator operator, int offset)
+        implements JumpInstruction {
+
+        @Override
+        public void execute(final OpcodeDelegate opcodeDelegate) {
+            opcodeDelegate.conditionalJump(var, operator, offset);
+        }
+
     }
 
 }
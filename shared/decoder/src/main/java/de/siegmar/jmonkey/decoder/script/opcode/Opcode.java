@@ -21,12 +21,18 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 public interface Opcode {
 
     Set<Integer> opcodes();
 
-    void execute(int opcode, EnhancedByteBuffer bb, OpcodeDelegate opcodeDelegate);
+    /**
+     * Reads the operands of the opcode (the opcode itself has already been read).
+     *
+     * @param opcode the opcode
+     * @param bb     the bytecode, positioned right behind the opcode
+     * @return the decoded instruction
+     */
+    Instruction decode(int opcode, EnhancedByteBuffer bb);
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.operator.AssignmentOperator;
 import de.siegmar.jmonkey.decoder.script.operator.UnaryOperator;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
@@ -40,27 +39,26 @@ public class OperatorOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter var = resolvePointer(bb);
 
         if ((opcode & 0x7F) == 0x46) {
             final UnaryOperator operator = (opcode & 128) != 0
                 ? UnaryOperator.DECREMENT : UnaryOperator.INCREMENT;
-            opcodeDelegate.mutateVariable(var, operator);
-        } else {
-            final AssignmentOperator operator = switch (opcode & 0x7F) {
-                case 0x0A, 0x1A, 0x2C -> AssignmentOperator.ASSIGN;
-                case 0x1B -> AssignmentOperator.MULTIPLY_ASSIGN;
-                case 0x3A, 0x6A -> AssignmentOperator.SUBTRACT_ASSIGN;
-                case 0x2A, 0x5A -> AssignmentOperator.ADD_ASSIGN;
-                case 0x5B -> AssignmentOperator.DIVIDE_ASSIGN;
-                default -> throw new IllegalStateException("opcode not found: %X".formatted(opcode));
-            };
+            return opcodeDelegate -> opcodeDelegate.mutateVariable(var, operator);
+        }
 
-            final OpParameter operand = resolveParameter16(bb, opcode, 0);
+        final AssignmentOperator operator = switch (opcode & 0x7F) {
+            case 0x0A, 0x1A, 0x2C -> AssignmentOperator.ASSIGN;
+            case 0x1B -> AssignmentOperator.MULTIPLY_ASSIGN;
+            case 0x3A, 0x6A -> AssignmentOperator.SUBTRACT_ASSIGN;
+            case 0x2A, 0x5A -> AssignmentOperator.ADD_ASSIGN;
+            case 0x5B -> AssignmentOperator.DIVIDE_ASSIGN;
+            default -> throw new IllegalStateException("opcode not found: %X".formatted(opcode));
+        };
 
-            opcodeDelegate.mutateVariable(var, operator, operand);
-        }
+        final OpParameter operand = resolveParameter16(bb, opcode, 0);
+        return opcodeDelegate -> opcodeDelegate.mutateVariable(var, operator, operand);
     }
 
 }
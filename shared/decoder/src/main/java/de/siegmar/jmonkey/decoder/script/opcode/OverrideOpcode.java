@@ -32,13 +32,9 @@ public class OverrideOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
-        if (subOpcode != 0) {
-            opcodeDelegate.beginOverride();
-        } else {
-            opcodeDelegate.endOverride();
-        }
+        return subOpcode != 0 ? OpcodeDelegate::beginOverride : OpcodeDelegate::endOverride;
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class PickupObjectOpcode extends AbstractOpcode {
@@ -34,9 +33,9 @@ public class PickupObjectOpcode extends AbstractOpcode {
 
     // opcode object[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter object = resolveParameter16(bb, opcode, 0);
-        opcodeDelegate.pickupObject(object);
+        return opcodeDelegate -> opcodeDelegate.pickupObject(object);
     }
 
 }
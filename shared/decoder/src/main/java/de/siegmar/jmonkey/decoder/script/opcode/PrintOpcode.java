@@ -18,10 +18,12 @@
 
 package de.siegmar.jmonkey.decoder.script.opcode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.PrintOps;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
@@ -34,36 +36,36 @@ public class PrintOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
-        final PrintOps printOps;
-        if (opcode == 0xD8) {
-            printOps = opcodeDelegate.printEgo();
-        } else {
-            final OpParameter ego = resolveParameter8(bb, opcode, 0);
-            printOps = opcodeDelegate.print(ego);
-        }
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
+        final OpParameter ego = opcode == 0xD8 ? null : resolveParameter8(bb, opcode, 0);
+
+        final List<Consumer<PrintOps>> operations = new ArrayList<>();
 
         int subOpcode;
         LOOP:
         while ((subOpcode = bb.readU8()) != 0xFF) {
             switch (subOpcode & 0xF) {
-                case 0 -> printOps.pos(
+                case 0 -> operations.add(bind(
                     resolveParameter16(bb, subOpcode, 0),
-                    resolveParameter16(bb, subOpcode, 1));
-                case 1 -> printOps.color(resolveParameter8(bb, subOpcode, 0));
-                case 2 -> printOps.clipped(resolveParameter16(bb, subOpcode, 0));
-                case 4 -> printOps.center();
-                case 6 -> printOps.left();
-                case 7 -> printOps.overhead();
+                    resolveParameter16(bb, subOpcode, 1), PrintOps::pos));
+                case 1 -> operations.add(bind(resolveParameter8(bb, subOpcode, 0), PrintOps::color));
+                case 2 -> operations.add(bind(resolveParameter16(bb, subOpcode, 0), PrintOps::clipped));
+                case 4 -> operations.add(PrintOps::center);
+                case 6 -> operations.add(PrintOps::left);
+                case 7 -> operations.add(PrintOps::overhead);
                 case 15 -> {
-                    printOps.text(getString(bb));
+                    operations.add(bind(getString(bb), PrintOps::text));
                     break LOOP;
                 }
                 default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
             }
         }
 
-        printOps.end();
+        return opcodeDelegate -> {
+            final PrintOps printOps = ego == null ? opcodeDelegate.printEgo() : opcodeDelegate.print(ego);
+            applyAll(printOps, operations);
+            printOps.end();
+        };
     }
 
 }
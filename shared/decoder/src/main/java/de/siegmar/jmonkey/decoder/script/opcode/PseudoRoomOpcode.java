@@ -24,7 +24,6 @@ import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
 import de.siegmar.jmonkey.commons.lang.Assert;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 public class PseudoRoomOpcode extends AbstractOpcode {
 
@@ -35,7 +34,7 @@ public class PseudoRoomOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int room = bb.readU8();
 
         final List<Integer> aliases = new ArrayList<>();
@@ -45,7 +44,7 @@ public class PseudoRoomOpcode extends AbstractOpcode {
             aliases.add(i & 0x7F);
         }
 
-        opcodeDelegate.pseudoRoom(room, aliases);
+        return opcodeDelegate -> opcodeDelegate.pseudoRoom(room, aliases);
     }
 
 }
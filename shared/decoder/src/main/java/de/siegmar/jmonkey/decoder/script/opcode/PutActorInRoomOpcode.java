@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class PutActorInRoomOpcode extends AbstractOpcode {
@@ -34,10 +33,10 @@ public class PutActorInRoomOpcode extends AbstractOpcode {
 
     // opcode result object[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
         final OpParameter room = resolveParameter8(bb, opcode, 1);
-        opcodeDelegate.putActorInRoom(actor, room);
+        return opcodeDelegate -> opcodeDelegate.putActorInRoom(actor, room);
     }
 
 }
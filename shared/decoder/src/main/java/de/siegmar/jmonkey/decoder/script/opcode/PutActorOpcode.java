@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class PutActorOpcode extends AbstractOpcode {
@@ -33,11 +32,11 @@ public class PutActorOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
         final OpParameter x = resolveParameter16(bb, opcode, 1);
         final OpParameter y = resolveParameter16(bb, opcode, 2);
-        opcodeDelegate.putActor(actor, x, y);
+        return opcodeDelegate -> opcodeDelegate.putActor(actor, x, y);
     }
 
 }
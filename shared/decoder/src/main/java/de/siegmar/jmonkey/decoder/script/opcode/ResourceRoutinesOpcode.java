@@ -19,9 +19,9 @@
 package de.siegmar.jmonkey.decoder.script.opcode;
 
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.ResourceManager;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
@@ -33,42 +33,44 @@ public class ResourceRoutinesOpcode extends AbstractOpcode {
         super(OPCODES);
     }
 
-    @SuppressWarnings("checkstyle:CyclomaticComplexity")
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subCode = bb.readU8();
 
         if ((subCode & 0x3F) != (subCode & 0x1F)) {
             throw new IllegalStateException("opcode not found: %X".formatted(subCode));
         }
 
-        final ResourceManager resource = opcodeDelegate.resource();
-
         if (subCode == 17) {
-            resource.clearHeap();
-            return;
+            return opcodeDelegate -> opcodeDelegate.resource().clearHeap();
         }
 
         final OpParameter resId = resolveParameter8(bb, subCode, 0);
+        final BiConsumer<ResourceManager, OpParameter> operation = resolveOperation(subCode);
+
+        return opcodeDelegate -> operation.accept(opcodeDelegate.resource(), resId);
+    }
 
-        switch (subCode & 0x3F) {
-            case 1 -> resource.loadScript(resId);
-            case 2 -> resource.loadSound(resId);
-            case 3 -> resource.loadCostume(resId);
-            case 4 -> resource.loadRoom(resId);
-            case 7 -> resource.nukeCostume(resId);
-            case 8 -> resource.nukeRoom(resId);
-            case 9 -> resource.lockScript(resId);
-            case 10 -> resource.lockSound(resId);
-            case 11 -> resource.lockCostume(resId);
-            case 12 -> resource.lockRoom(resId);
-            case 13 -> resource.unlockScript(resId);
-            case 14 -> resource.unlockSound(resId);
-            case 15 -> resource.unlockCostume(resId);
-            case 16 -> resource.unlockRoom(resId);
-            case 18 -> resource.loadCharset(resId);
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private static BiConsumer<ResourceManager, OpParameter> resolveOperation(final int subCode) {
+        return switch (subCode & 0x3F) {
+            case 1 -> ResourceManager::loadScript;
+            case 2 -> ResourceManager::loadSound;
+            case 3 -> ResourceManager::loadCostume;
+            case 4 -> ResourceManager::loadRoom;
+            case 7 -> ResourceManager::nukeCostume;
+            case 8 -> ResourceManager::nukeRoom;
+            case 9 -> ResourceManager::lockScript;
+            case 10 -> ResourceManager::lockSound;
+            case 11 -> ResourceManager::lockCostume;
+            case 12 -> ResourceManager::lockRoom;
+            case 13 -> ResourceManager::unlockScript;
+            case 14 -> ResourceManager::unlockSound;
+            case 15 -> ResourceManager::unlockCostume;
+            case 16 -> ResourceManager::unlockRoom;
+            case 18 -> ResourceManager::loadCharset;
             default -> throw new IllegalStateException("Unknown subCode: %02X".formatted(subCode));
-        }
+        };
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class RoomOpsOpcode extends AbstractOpcode {
@@ -35,41 +34,41 @@ public class RoomOpsOpcode extends AbstractOpcode {
     // opcode 0x0A
     // opcode script[p8] args[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
-        switch (subOpcode & 0x1F) {
-            case 0x01 -> roomScroll(bb, subOpcode, opcodeDelegate);
-            case 0x02 -> roomColor(bb, subOpcode, opcodeDelegate);
-            case 0x03 -> setScreen(bb, subOpcode, opcodeDelegate);
-            case 0x04 -> setPalColor(bb, subOpcode, opcodeDelegate);
-            case 0x05 -> opcodeDelegate.shake(true);
-            case 0x06 -> opcodeDelegate.shake(false);
+        return switch (subOpcode & 0x1F) {
+            case 0x01 -> roomScroll(bb, subOpcode);
+            case 0x02 -> roomColor(bb, subOpcode);
+            case 0x03 -> setScreen(bb, subOpcode);
+            case 0x04 -> setPalColor(bb, subOpcode);
+            case 0x05 -> opcodeDelegate -> opcodeDelegate.shake(true);
+            case 0x06 -> opcodeDelegate -> opcodeDelegate.shake(false);
             default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-        }
+        };
     }
 
-    private void roomColor(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction roomColor(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter color = resolveParameter16(bb, subOpcode, 0);
         final OpParameter palIndex = resolveParameter16(bb, subOpcode, 1);
-        opcodeDelegate.roomColor(color, palIndex);
+        return opcodeDelegate -> opcodeDelegate.roomColor(color, palIndex);
     }
 
-    private void roomScroll(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction roomScroll(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter minX = resolveParameter16(bb, subOpcode, 0);
         final OpParameter maxX = resolveParameter16(bb, subOpcode, 1);
-        opcodeDelegate.roomScroll(minX, maxX);
+        return opcodeDelegate -> opcodeDelegate.roomScroll(minX, maxX);
     }
 
-    private void setScreen(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction setScreen(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter width = resolveParameter16(bb, subOpcode, 0);
         final OpParameter height = resolveParameter16(bb, subOpcode, 1);
-        opcodeDelegate.setScreen(width, height);
+        return opcodeDelegate -> opcodeDelegate.setScreen(width, height);
     }
 
-    private void setPalColor(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction setPalColor(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter color = resolveParameter16(bb, subOpcode, 0);
         final OpParameter palIndex = resolveParameter16(bb, subOpcode, 1);
-        opcodeDelegate.setPalColor(color, palIndex);
+        return opcodeDelegate -> opcodeDelegate.setPalColor(color, palIndex);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class SaveRestoreVerbsOpcode extends AbstractOpcode {
@@ -34,17 +33,18 @@ public class SaveRestoreVerbsOpcode extends AbstractOpcode {
 
     // opcode sub-opcode
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
+
         final OpParameter start = resolveParameter8(bb, subOpcode, 0);
         final OpParameter end = resolveParameter8(bb, subOpcode, 1);
         final OpParameter mode = resolveParameter8(bb, subOpcode, 2);
 
-        switch (subOpcode & 0x1F) {
-            case 0x01 -> opcodeDelegate.saveVerbs(start, end, mode);
-            case 0x02 -> opcodeDelegate.restoreVerbs(start, end, mode);
+        return switch (subOpcode & 0x1F) {
+            case 0x01 -> opcodeDelegate -> opcodeDelegate.saveVerbs(start, end, mode);
+            case 0x02 -> opcodeDelegate -> opcodeDelegate.restoreVerbs(start, end, mode);
             default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-        }
+        };
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.ScummString;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
@@ -35,10 +34,10 @@ public class SetObjectNameOpcode extends AbstractOpcode {
 
     // opcode object[p16] name[c]... $00
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter obj = resolveParameter16(bb, opcode, 0);
         final ScummString name = getString(bb);
-        opcodeDelegate.setObjectName(obj, name);
+        return opcodeDelegate -> opcodeDelegate.setObjectName(obj, name);
     }
 
 }
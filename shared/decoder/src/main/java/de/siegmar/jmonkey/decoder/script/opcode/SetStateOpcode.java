@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class SetStateOpcode extends AbstractOpcode {
@@ -35,10 +34,10 @@ public class SetStateOpcode extends AbstractOpcode {
     // opcode object[p16] state[p8]
     // result := value
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter object = resolveParameter16(bb, opcode, 0);
         final OpParameter state = resolveParameter8(bb, opcode, 1);
-        opcodeDelegate.setState(object, state);
+        return opcodeDelegate -> opcodeDelegate.setState(object, state);
     }
 
 }
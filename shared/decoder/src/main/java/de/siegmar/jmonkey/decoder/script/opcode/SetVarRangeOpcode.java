@@ -24,7 +24,6 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class SetVarRangeOpcode extends AbstractOpcode {
@@ -39,11 +38,11 @@ public class SetVarRangeOpcode extends AbstractOpcode {
     // - or -
     // opcode result number[8] values[16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter result = resolvePointer(bb);
         final int number = bb.readU8();
         final List<Integer> varlist = parseList(bb, opcode, number);
-        opcodeDelegate.setVarRange(result, number, varlist);
+        return opcodeDelegate -> opcodeDelegate.setVarRange(result, number, varlist);
     }
 
     private List<Integer> parseList(final EnhancedByteBuffer bb, final int opcode, final int len) {
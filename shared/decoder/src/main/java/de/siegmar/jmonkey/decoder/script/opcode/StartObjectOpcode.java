@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class StartObjectOpcode extends AbstractOpcode {
@@ -35,11 +34,11 @@ public class StartObjectOpcode extends AbstractOpcode {
 
     // opcode object[p16] script[p8] args[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter obj = resolveParameter16(bb, opcode, 0);
         final OpParameter scriptId = resolveParameter8(bb, opcode, 1);
         final List<OpParameter> args = readList16(bb);
-        opcodeDelegate.startObject(obj, scriptId, args);
+        return opcodeDelegate -> opcodeDelegate.startObject(obj, scriptId, args);
     }
 
 }
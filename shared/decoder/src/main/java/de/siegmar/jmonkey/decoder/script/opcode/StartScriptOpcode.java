@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class StartScriptOpcode extends AbstractOpcode {
@@ -36,12 +35,12 @@ public class StartScriptOpcode extends AbstractOpcode {
     // opcode 0x0A
     // opcode script[p8] args[v16]...
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final boolean freezeResistant = (opcode & 0x20) != 0;
         final boolean recursive = (opcode & 0x40) != 0;
         final OpParameter scriptId = resolveParameter8(bb, opcode, 0);
         final List<OpParameter> args = readList16(bb);
-        opcodeDelegate.startScript(scriptId, args, freezeResistant, recursive);
+        return opcodeDelegate -> opcodeDelegate.startScript(scriptId, args, freezeResistant, recursive);
     }
 
 }
@@ -32,12 +32,8 @@ public class StopObjectCodeOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
-        if (opcode == 0x00) {
-            opcodeDelegate.stopObjectCode();
-        } else {
-            opcodeDelegate.stopLocalGlobalScript();
-        }
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
+        return opcode == 0x00 ? OpcodeDelegate::stopObjectCode : OpcodeDelegate::stopLocalGlobalScript;
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class StopScriptOpcode extends AbstractOpcode {
@@ -34,9 +33,9 @@ public class StopScriptOpcode extends AbstractOpcode {
 
     // opcode script[p8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter scriptId = resolveParameter8(bb, opcode, 0);
-        opcodeDelegate.stopScript(scriptId);
+        return opcodeDelegate -> opcodeDelegate.stopScript(scriptId);
     }
 
 }
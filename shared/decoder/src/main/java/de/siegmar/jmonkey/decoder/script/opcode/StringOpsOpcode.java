@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.ScummString;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
@@ -34,49 +33,48 @@ public class StringOpsOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
-        switch (subOpcode & 0x1F) {
-            case 1 -> putCodeInString(bb, subOpcode, opcodeDelegate);
-            case 2 -> copyString(bb, subOpcode, opcodeDelegate);
-            case 0x03 -> setStringChar(bb, subOpcode, opcodeDelegate);
-            case 0x04 -> getStringChar(bb, subOpcode, opcodeDelegate);
-            case 0x05 -> createString(bb, subOpcode, opcodeDelegate);
+        return switch (subOpcode & 0x1F) {
+            case 1 -> putCodeInString(bb, subOpcode);
+            case 2 -> copyString(bb, subOpcode);
+            case 0x03 -> setStringChar(bb, subOpcode);
+            case 0x04 -> getStringChar(bb, subOpcode);
+            case 0x05 -> createString(bb, subOpcode);
             default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-        }
+        };
     }
 
-    private void putCodeInString(final EnhancedByteBuffer bb, final int subOpcode,
-                                 final OpcodeDelegate opcodeDelegate) {
+    private Instruction putCodeInString(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter stringId = resolveParameter8(bb, subOpcode, 0);
         final ScummString str = getString(bb);
-        opcodeDelegate.putCodeInString(stringId, str);
+        return opcodeDelegate -> opcodeDelegate.putCodeInString(stringId, str);
     }
 
-    private void copyString(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction copyString(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter destId = resolveParameter8(bb, subOpcode, 0);
         final OpParameter srcId = resolveParameter8(bb, subOpcode, 1);
-        opcodeDelegate.copyString(destId, srcId);
+        return opcodeDelegate -> opcodeDelegate.copyString(destId, srcId);
     }
 
-    private void setStringChar(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction setStringChar(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter stringId = resolveParameter8(bb, subOpcode, 0);
         final OpParameter index = resolveParameter8(bb, subOpcode, 1);
         final OpParameter ch = resolveParameter8(bb, subOpcode, 2);
-        opcodeDelegate.setStringChar(stringId, index, ch);
+        return opcodeDelegate -> opcodeDelegate.setStringChar(stringId, index, ch);
     }
 
-    private void getStringChar(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction getStringChar(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter result = resolvePointer(bb);
         final OpParameter stringId = resolveParameter8(bb, subOpcode, 0);
         final OpParameter index = resolveParameter8(bb, subOpcode, 1);
-        opcodeDelegate.getStringChar(result, stringId, index);
+        return opcodeDelegate -> opcodeDelegate.getStringChar(result, stringId, index);
     }
 
-    private void createString(final EnhancedByteBuffer bb, final int subOpcode, final OpcodeDelegate opcodeDelegate) {
+    private Instruction createString(final EnhancedByteBuffer bb, final int subOpcode) {
         final OpParameter stringId = resolveParameter8(bb, subOpcode, 0);
         final OpParameter size = resolveParameter8(bb, subOpcode, 1);
-        opcodeDelegate.createString(stringId, size);
+        return opcodeDelegate -> opcodeDelegate.createString(stringId, size);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 
 public class SystemOpsOpcode extends AbstractOpcode {
 
@@ -32,13 +31,13 @@ public class SystemOpsOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
         if (subOpcode != 3) {
             throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
         }
 
-        opcodeDelegate.quit();
+        return opcodeDelegate -> opcodeDelegate.quit();
     }
 
 }
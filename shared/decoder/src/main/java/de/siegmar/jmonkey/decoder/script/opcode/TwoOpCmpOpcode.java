@@ -38,7 +38,7 @@ public class TwoOpCmpOpcode extends AbstractOpcode {
 
     // opcode var value[p16] target[16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter var = resolvePointer(bb);
         final OpParameter val = resolveParameter16(bb, opcode, 0);
         final int target = bb.readS16();
@@ -54,7 +54,17 @@ public class TwoOpCmpOpcode extends AbstractOpcode {
             default -> throw new IllegalStateException("opcode not found: %X".formatted(opcode));
         };
 
-        opcodeDelegate.conditionalJump(var, operator, val, offset);
+        return new ConditionalJump(var, operator, val, offset);
+    }
+
+    private record ConditionalJump(OpParameter var, ComparisonOperator operator, OpParameter val, int offset)
+        implements JumpInstruction {
+
+        @Override
+        public void execute(final OpcodeDelegate opcodeDelegate) {
+            opcodeDelegate.conditionalJump(var, operator, val, offset);
+        }
+
     }
 
 }
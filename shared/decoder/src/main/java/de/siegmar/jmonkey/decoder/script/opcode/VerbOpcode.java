@@ -18,10 +18,13 @@
 
 package de.siegmar.jmonkey.decoder.script.opcode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
+import de.siegmar.jmonkey.decoder.script.VerbOps;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 @SuppressWarnings("checkstyle:CyclomaticComplexity")
@@ -34,31 +37,39 @@ public class VerbOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter verb = resolveParameter8(bb, opcode, 0);
 
-        final var verbOps = opcodeDelegate.verbOps(verb);
+        final List<Consumer<VerbOps>> operations = new ArrayList<>();
 
         int subOpcode;
         while ((subOpcode = bb.readU8()) != 0xFF) {
-            switch (subOpcode & 0x1F) {
-                case 0x02 -> verbOps.text(getString(bb));
-                case 0x03 -> verbOps.color(resolveParameter8(bb, subOpcode, 0));
-                case 0x04 -> verbOps.hiColor(resolveParameter8(bb, subOpcode, 0));
-                case 0x05 -> verbOps.setXy(resolveParameter16(bb, subOpcode, 0),
-                    resolveParameter16(bb, subOpcode, 1));
-                case 0x06 -> verbOps.on();
-                case 0x07 -> verbOps.off();
-                case 0x09 -> verbOps.create();
-                case 0x10 -> verbOps.dimColor(resolveParameter8(bb, subOpcode, 0));
-                case 0x12 -> verbOps.key(resolveParameter8(bb, subOpcode, 0));
-                case 0x13 -> verbOps.center();
-                case 0x14 -> verbOps.setToString(resolveParameter16(bb, subOpcode, 0));
-                default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-            }
+            operations.add(decodeOperation(bb, subOpcode));
         }
 
-        verbOps.end();
+        return opcodeDelegate -> {
+            final VerbOps verbOps = opcodeDelegate.verbOps(verb);
+            applyAll(verbOps, operations);
+            verbOps.end();
+        };
+    }
+
+    private Consumer<VerbOps> decodeOperation(final EnhancedByteBuffer bb, final int subOpcode) {
+        return switch (subOpcode & 0x1F) {
+            case 0x02 -> bind(getString(bb), VerbOps::text);
+            case 0x03 -> bind(resolveParameter8(bb, subOpcode, 0), VerbOps::color);
+            case 0x04 -> bind(resolveParameter8(bb, subOpcode, 0), VerbOps::hiColor);
+            case 0x05 -> bind(resolveParameter16(bb, subOpcode, 0),
+                resolveParameter16(bb, subOpcode, 1), VerbOps::setXy);
+            case 0x06 -> VerbOps::on;
+            case 0x07 -> VerbOps::off;
+            case 0x09 -> VerbOps::create;
+            case 0x10 -> bind(resolveParameter8(bb, subOpcode, 0), VerbOps::dimColor);
+            case 0x12 -> bind(resolveParameter8(bb, subOpcode, 0), VerbOps::key);
+            case 0x13 -> VerbOps::center;
+            case 0x14 -> bind(resolveParameter16(bb, subOpcode, 0), VerbOps::setToString);
+            default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
+        };
     }
 
 }
@@ -33,19 +33,18 @@ public class WaitOpcode extends AbstractOpcode {
     }
 
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final int subOpcode = bb.readU8();
-
-        switch (subOpcode & 0x1F) {
+        return switch (subOpcode & 0x1F) {
             case 1 -> {
                 final OpParameter actor = resolveParameter8(bb, subOpcode, 0);
-                opcodeDelegate.waitForActor(actor);
+                yield opcodeDelegate -> opcodeDelegate.waitForActor(actor);
             }
-            case 2 -> opcodeDelegate.waitForMessage();
-            case 3 -> opcodeDelegate.waitForCamera();
-            case 4 -> opcodeDelegate.waitForSentence();
+            case 2 -> OpcodeDelegate::waitForMessage;
+            case 3 -> OpcodeDelegate::waitForCamera;
+            case 4 -> OpcodeDelegate::waitForSentence;
             default -> throw new IllegalStateException("opcode not found: %X".formatted(subOpcode));
-        }
+        };
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class WalkActorToActorOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class WalkActorToActorOpcode extends AbstractOpcode {
 
     // opcode walker[p8] walkee[p8] distance[8]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter walker = resolveParameter8(bb, opcode, 0);
         final OpParameter walkee = resolveParameter8(bb, opcode, 1);
         final int distance = bb.readU8();
-        opcodeDelegate.walkActorToActor(walker, walkee, distance);
+        return opcodeDelegate -> opcodeDelegate.walkActorToActor(walker, walkee, distance);
     }
 
 }
@@ -21,7 +21,6 @@ package de.siegmar.jmonkey.decoder.script.opcode;
 import java.util.Set;
 
 import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
-import de.siegmar.jmonkey.decoder.script.OpcodeDelegate;
 import de.siegmar.jmonkey.decoder.script.parameter.OpParameter;
 
 public class WalkActorToOpcode extends AbstractOpcode {
@@ -34,11 +33,11 @@ public class WalkActorToOpcode extends AbstractOpcode {
 
     // opcode actor[p8] x[p16] y[p16]
     @Override
-    public void doDecode(final int opcode, final EnhancedByteBuffer bb, final OpcodeDelegate opcodeDelegate) {
+    public Instruction decode(final int opcode, final EnhancedByteBuffer bb) {
         final OpParameter actor = resolveParameter8(bb, opcode, 0);
         final OpParameter x = resolveParameter16(bb, opcode, 1);
         final OpParameter y = resolveParameter16(bb, opcode, 2);
-        opcodeDelegate.walkActorTo(actor, x, y);
+        return opcodeDelegate -> opcodeDelegate.walkActorTo(actor, x, y);
     }
 
 }
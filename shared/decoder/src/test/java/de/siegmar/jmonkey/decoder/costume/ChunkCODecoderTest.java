@@ -0,0 +1,120 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.BasicChunk;
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+
+class ChunkCODecoderTest {
+
+    private static final int LIMB_TABLE = 67;
+    private static final int FIRST_IMAGE = 71;
+    private static final int SECOND_IMAGE = 85;
+
+    @Test
+    void lazyLimbImages() {
+        final List<CostumeLimbImage> limbImages = ChunkCODecoder.decode(costumeChunk(), ColorPalette.EGA)
+            .limbImages()
+            .toList();
+
+        assertEquals(2, limbImages.size());
+
+        final CostumeLimbImage first = limbImages.get(0);
+        assertFalse(first.imageHandle().isInitialized());
+        assertEquals(3, first.width());
+        assertEquals(2, first.height());
+        assertEquals(-5, first.relX());
+        assertEquals(6, first.relY());
+
+        // column-major run-length encoded
+        assertArrayEquals(new byte[]{1, 1, 2, 1, 2, 2}, first.image().getIndices());
+        assertTrue(first.imageHandle().isInitialized());
+        assertArrayEquals(new byte[]{3, 3, 3, 3}, limbImages.get(1).image().getIndices());
+    }
+
+    @Test
+    void sharedLimbImages() {
+        final BasicChunk chunk = costumeChunk();
+        final LimbImageCache limbImageCache = new LimbImageCache();
+
+        final Costume first = ChunkCODecoder.decode(1, chunk, ColorPalette.EGA, limbImageCache);
+        final Costume second = ChunkCODecoder.decode(1, chunk, ColorPalette.EGA, limbImageCache);
+
+        first.limbImages().forEach(CostumeLimbImage::image);
+        second.limbImages().forEach(CostumeLimbImage::image);
+
+        assertEquals(2, limbImageCache.stats().misses());
+        assertEquals(2, limbImageCache.stats().hits());
+
+        // e.g. after another game directory has been opened
+        limbImageCache.invalidateAll();
+        ChunkCODecoder.decode(1, chunk, ColorPalette.EGA, limbImageCache).limbImages()
+            .forEach(CostumeLimbImage::image);
+        assertEquals(4, limbImageCache.stats().misses());
+    }
+
+    // one animation with one limb showing two images
+    private static BasicChunk costumeChunk() {
+        final ByteBuffer bb = ByteBuffer.allocate(99).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(bb.capacity()).put((byte) 'C').put((byte) 'O');
+
+        // header: 1 animation, 16 colors, palette map, command offset, limb offsets, anim offsets
+        bb.put((byte) 0).put((byte) 0x58);
+        for (int i = 0; i < 16; i++) {
+            bb.put((byte) i);
+        }
+        bb.putShort((short) 65);
+        for (int i = 0; i < 16; i++) {
+            bb.putShort((short) LIMB_TABLE);
+        }
+        bb.putShort((short) 60);
+
+        // animation: limb 0, commands 0..1, looped
+        bb.putShort((short) 0x8000).putShort((short) 0).put((byte) 1);
+
+        // animation commands
+        bb.put((byte) 0).put((byte) 1);
+
+        // limb image table
+        bb.putShort((short) FIRST_IMAGE).putShort((short) SECOND_IMAGE);
+
+        // images: width, height, relX, relY, moveX, moveY, data
+        bb.putShort((short) 3).putShort((short) 2).putShort((short) -5).putShort((short) 6)
+            .putShort((short) 1).putShort((short) 0);
+        bb.put((byte) 0x13).put((byte) 0x23);
+        bb.putShort((short) 2).putShort((short) 2).putShort((short) 0).putShort((short) 0)
+            .putShort((short) 0).putShort((short) 0);
+        bb.put((byte) 0x30).put((byte) 4);
+
+        return ByteString.wrap(bb.array()).ebbLE().readChunk();
+    }
+
+}
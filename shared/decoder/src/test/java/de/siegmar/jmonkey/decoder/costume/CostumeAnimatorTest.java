@@ -0,0 +1,127 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
+
+class CostumeAnimatorTest {
+
+    private static final ColorPalette PALETTE = new ColorPalette(new int[16]);
+    private static final int STOP = 0x79;
+    private static final int HIDE = 0x7b;
+
+    private final CostumeLimbImage head = limbImage(2, 2, 1);
+    private final CostumeLimbImage walk1 = limbImage(4, 3, 2);
+    private final CostumeLimbImage walk2 = limbImage(4, 3, 3);
+
+    @Test
+    void loopingAnimation() {
+        final CompiledAnimation animation = animator(
+            new LimbAnimation(0, 0, true, List.of(frame(head))),
+            new LimbAnimation(1, 0, true, List.of(frame(walk1), frame(walk2), frame(walk1), frame(walk2))))
+            .compile(1);
+
+        // the period of the limb states is 4, the period of the layouts is 2
+        assertEquals(4, animation.frameCount());
+        assertEquals(0, animation.loopStart());
+        assertEquals(3, animation.frameIndexAt(7));
+        assertEquals(animation.frames().get(0), animation.frames().get(2));
+
+        final IndexedImage frame = animation.render(1);
+        assertEquals(4, frame.getWidth());
+        assertEquals(5, frame.getHeight());
+        assertEquals(1, frame.getIndex(0, 0));
+        assertEquals(3, frame.getIndex(0, 2));
+    }
+
+    @Test
+    void stopAndHide() {
+        final CompiledAnimation animation = animator(
+            new LimbAnimation(0, 0, false, List.of(frame(head), command(HIDE))),
+            new LimbAnimation(1, 0, true, List.of(frame(walk1), frame(walk2), command(STOP))))
+            .compile(1);
+
+        // 0: head+walk1, 1: walk2, 2: walk2 (stopped) – then the state repeats
+        assertEquals(3, animation.frameCount());
+        assertEquals(2, animation.loopStart());
+        assertEquals(1, animation.loopLength());
+        assertEquals(2, animation.frames().get(0).limbs().size());
+        assertEquals(List.of(walk2), animation.frames().get(2).limbs().stream()
+            .map(CompiledAnimation.PlacedLimb::limbImage)
+            .toList());
+        assertEquals(2, animation.frameIndexAt(1000));
+    }
+
+    @Test
+    void export() throws IOException {
+        final CostumeAnimator animator = animator(
+            new LimbAnimation(1, 0, true, List.of(frame(walk1), frame(walk2))));
+        final CompiledAnimation animation = animator.compile(1);
+
+        assertEquals(List.of(1), animator.animations());
+        assertEquals(animation, animator.compile(1));
+
+        final IndexedImage strip = animation.frameStrip();
+        assertEquals(8, strip.getWidth());
+        assertEquals(3, strip.getIndex(4, 0));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        animation.writeGif(out, 6);
+        assertTrue(out.size() > 0);
+    }
+
+    private static CostumeAnimator animator(final LimbAnimation... limbs) {
+        final CostumeHeader header = new CostumeHeader(false, PALETTE, ByteString.wrap(new byte[16]), new int[0],
+            new int[]{0, 10}, new int[0]);
+        return new CostumeAnimator(new Costume(header, Map.of(10, List.of(limbs))));
+    }
+
+    private static LimbFrame frame(final CostumeLimbImage limbImage) {
+        return new LimbFrame(new CostumeAnimationCommand(0), limbImage);
+    }
+
+    private static LimbFrame command(final int command) {
+        return new LimbFrame(new CostumeAnimationCommand(command));
+    }
+
+    private static CostumeLimbImage limbImage(final int width, final int height, final int color) {
+        final WritableIndexedImage image = new WritableIndexedImage(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.draw(x, y, color);
+            }
+        }
+        // limbs are stacked vertically
+        return new CostumeLimbImage(image.indexedImage(PALETTE, 0), 0, 0, 0, -height);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.costume;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.WritableIndexedImage;
+
+class CostumeAtlasTest {
+
+    private static final ColorPalette PALETTE = new ColorPalette(new int[16]);
+
+    @Test
+    void packWithoutOverlap() {
+        final Random random = new Random(1);
+        final List<ShelfPacker.Size> sizes = random.ints(200, 0, 40)
+            .mapToObj(w -> new ShelfPacker.Size(w, random.nextInt(60)))
+            .toList();
+
+        final ShelfPacker.Packing packing = ShelfPacker.pack(sizes, 1);
+        final List<ShelfPacker.Rect> rects = packing.rects();
+
+        assertEquals(sizes.size(), rects.size());
+        for (int i = 0; i < rects.size(); i++) {
+            final ShelfPacker.Rect rect = rects.get(i);
+            assertEquals(sizes.get(i).width(), rect.width());
+            assertEquals(sizes.get(i).height(), rect.height());
+            assertTrue(rect.x() + rect.width() <= packing.width());
+            assertTrue(rect.y() + rect.height() <= packing.height());
+            for (int j = i + 1; j < rects.size(); j++) {
+                assertFalse(rect.intersects(rects.get(j)), rect + " overlaps " + rects.get(j));
+            }
+        }
+
+        assertEquals(packing, ShelfPacker.pack(sizes, 1));
+    }
+
+    @Test
+    void atlas() {
+        final CostumeLimbImage head = limbImage(3, 4, 1);
+        final CostumeLimbImage body = limbImage(5, 2, 2);
+
+        final List<LimbAnimation> animation = List.of(
+            new LimbAnimation(0, 0, true, List.of(frame(head), new LimbFrame(new CostumeAnimationCommand(0x79)))),
+            new LimbAnimation(1, 0, true, List.of(frame(body), frame(head))));
+
+        final CostumeHeader header = new CostumeHeader(true, PALETTE, ByteString.wrap(new byte[16]), new int[0],
+            new int[]{0, 10}, new int[0]);
+        final CostumeAtlas atlas = CostumeAtlas.of(new Costume(header, Map.of(10, animation)));
+
+        assertEquals(2, atlas.frames().size());
+        assertEquals(atlas.frames().get(0), atlas.frame(head).orElseThrow());
+
+        // animation 0 is undefined
+        assertEquals(List.of(new CostumeAtlas.Animation(1, List.of(
+            new CostumeAtlas.LimbFrames(0, true, List.of(0, CostumeAtlas.NO_FRAME)),
+            new CostumeAtlas.LimbFrames(1, true, List.of(1, 0))))), atlas.animations());
+
+        final CostumeAtlas.Frame bodyFrame = atlas.frame(body).orElseThrow();
+        assertEquals(5, bodyFrame.width());
+        assertEquals(2, bodyFrame.height());
+        assertEquals(12, bodyFrame.relX());
+        for (int y = 0; y < bodyFrame.height(); y++) {
+            for (int x = 0; x < bodyFrame.width(); x++) {
+                assertEquals(body.image().getIndex(x, y), atlas.image().getIndex(bodyFrame.x() + x, bodyFrame.y() + y));
+            }
+        }
+    }
+
+    @Test
+    void emptyAtlas() {
+        final List<LimbAnimation> animation = List.of(
+            new LimbAnimation(0, 0, true, List.of(new LimbFrame(new CostumeAnimationCommand(0x79)))));
+
+        final CostumeHeader header = new CostumeHeader(true, PALETTE, ByteString.wrap(new byte[16]), new int[0],
+            new int[]{10}, new int[0]);
+        final CostumeAtlas atlas = CostumeAtlas.of(new Costume(header, Map.of(10, animation)));
+
+        assertTrue(atlas.isEmpty());
+        assertEquals(0, atlas.image().getWidth());
+    }
+
+    private static LimbFrame frame(final CostumeLimbImage limbImage) {
+        return new LimbFrame(new CostumeAnimationCommand(0), limbImage);
+    }
+
+    private static CostumeLimbImage limbImage(final int width, final int height, final int color) {
+        final WritableIndexedImage image = new WritableIndexedImage(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.draw(x, y, (x + y) % 2 == 0 ? color : 0);
+            }
+        }
+        return new CostumeLimbImage(image.indexedImage(PALETTE, 0), width + 7, -height, 1, 0);
+    }
+
+}
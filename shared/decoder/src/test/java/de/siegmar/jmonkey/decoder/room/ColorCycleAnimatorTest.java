@@ -0,0 +1,61 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+
+class ColorCycleAnimatorTest {
+
+    private static final ColorPalette PALETTE = new ColorPalette(new int[]{0, 1, 2, 3, 4, 5});
+
+    @Test
+    void rotateForward() {
+        final ColorCycleAnimator animator = new ColorCycleAnimator(PALETTE, List.of(new ColorCycle(2, 1, 3)));
+
+        assertFalse(animator.tick());
+        assertTrue(animator.tick());
+        assertArrayEquals(new int[]{0, 3, 1, 2, 4, 5}, animator.palette().getPalette());
+        assertEquals(2, animator.time());
+    }
+
+    @Test
+    void period() {
+        final ColorCycleAnimator animator = new ColorCycleAnimator(PALETTE,
+            List.of(new ColorCycle(2, 0, 1), new ColorCycle(3, 2, 4), new ColorCycle(0, 4, 5)));
+
+        assertEquals(36, animator.period());
+
+        final List<Long> frames = new ArrayList<>();
+        animator.run(animator.period(), (time, palette) -> frames.add(time));
+
+        assertEquals(List.of(0L, 2L, 3L, 4L, 6L, 8L, 9L, 10L, 12L), frames.subList(0, 9));
+        assertArrayEquals(PALETTE.getPalette(), animator.palette().getPalette());
+    }
+
+}
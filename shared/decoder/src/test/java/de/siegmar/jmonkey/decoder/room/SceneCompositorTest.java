@@ -0,0 +1,104 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.lang.Lazy;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.commons.misc.RasterImage;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+
+class SceneCompositorTest {
+
+    private static final ColorPalette PALETTE = new ColorPalette(new int[]{0xFF000000, 0xFF000001, 0xFF000002});
+    private static final int ACTOR_COLOR = 0xFF00FF00;
+    private static final int OBJECT_ID = 5;
+
+    @Test
+    void dirtyStrips() {
+        final SceneCompositor compositor = compositor();
+        assertEquals(2, compositor.render((x, y, color) -> { }));
+        assertFalse(compositor.isDirty());
+
+        compositor.setActor(1, actor(), 1, 1, 0);
+        assertEquals(1, compositor.render((x, y, color) -> { }));
+        assertEquals(ACTOR_COLOR, compositor.frame().getColor(1, 1));
+
+        // moving the actor marks the old and the new position
+        compositor.setActor(1, actor(), 9, 1, 0);
+        assertEquals(2, compositor.render((x, y, color) -> { }));
+        assertEquals(PALETTE.color(1), compositor.frame().getColor(1, 1));
+    }
+
+    @Test
+    void occlusion() {
+        final SceneCompositor compositor = compositor();
+
+        compositor.setActor(1, actor(), 9, 0, 1);
+        assertEquals(PALETTE.color(1), compositor.frame().getColor(9, 0));
+
+        // the visible object (without z-planes) replaces the room's z-plane in its area
+        compositor.setObjectVisible(OBJECT_ID, true);
+        final RasterImage frame = compositor.frame();
+        assertEquals(ACTOR_COLOR, frame.getColor(9, 0));
+        assertEquals(PALETTE.color(2), frame.getColor(8, 0));
+        assertEquals(PALETTE.color(1), frame.getColor(8, 1));
+    }
+
+    private static SceneCompositor compositor() {
+        final byte[] indices = new byte[16 * 2];
+        Arrays.fill(indices, (byte) 1);
+
+        // z-plane 1 covers the right strip of the first row
+        final MaskLayer mask = new MaskLayer(16, 2, new long[]{0xFF00, 0});
+        final LayeredImage background = new LayeredImage(
+            new IndexedImage(16, 2, indices, PALETTE, IndexedImage.NO_TRANSPARENCY), List.of(mask));
+
+        final SceneCompositor compositor = new SceneCompositor(background);
+        compositor.addObject(object());
+        return compositor;
+    }
+
+    private static ObjectItem object() {
+        final ChunkOC chunkOC = new ChunkOC(OBJECT_ID, 8, 0, 8, 0, 0, 0, 1, 0, Map.of(), "object", 0,
+            ByteString.wrap(new byte[0]));
+        final byte[] indices = new byte[8];
+        Arrays.fill(indices, (byte) 2);
+        final LayeredImage image = new LayeredImage(
+            new IndexedImage(8, 1, indices, PALETTE, IndexedImage.NO_TRANSPARENCY), List.of());
+        return new ObjectItem(chunkOC, Lazy.value(Optional.of(image)));
+    }
+
+    private static RasterImage actor() {
+        return new RasterImage(1, 1, new int[]{ACTOR_COLOR});
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.room.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+
+class AbstractImageDecoderTest {
+
+    private static final int WIDTH = 24;
+    private static final int HEIGHT = 4;
+
+    // three EGA strips – the 2nd and 3rd continue the color of their left neighbour – and one z-plane
+    private static final int[] EGA_IMAGE = {
+        23, 0, 8, 0, 16, 0, 20, 0,
+        0x41, 0x42, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48,
+        0x84, 0x84, 0x03, 0x18,
+        0x84, 0x0A, 0x1C,
+        14, 0, 8, 0, 10, 0, 12, 0, 0x84, 0xA5, 0x84, 0x01, 0x84, 0x80,
+    };
+
+    @Test
+    void decodeStrips() {
+        final AbstractImageDecoder decoder = new ImageEGADecoder(ByteString.wrap(bytes()), ColorPalette.EGA,
+            WIDTH, HEIGHT, DecodeMode.SEQUENTIAL);
+        final LayeredImage full = decoder.decode();
+
+        for (int from = 0; from < decoder.getStripCount(); from++) {
+            for (int to = from + 1; to <= decoder.getStripCount(); to++) {
+                assertSameRegion(full, decoder.decodeStrips(from, to), from * 8);
+            }
+        }
+    }
+
+    // the 2nd and 3rd strip start with runs of the previous color – resolved across strip boundaries
+    @Test
+    void parallelMatchesSequential() {
+        final LayeredImage sequential = new ImageEGADecoder(ByteString.wrap(bytes()), ColorPalette.EGA,
+            WIDTH, HEIGHT, DecodeMode.SEQUENTIAL).decode();
+        final AbstractImageDecoder parallel = new ImageEGADecoder(ByteString.wrap(bytes()), ColorPalette.EGA,
+            WIDTH, HEIGHT, DecodeMode.PARALLEL);
+
+        assertSameRegion(sequential, parallel.decode(), 0);
+        for (int from = 0; from < parallel.getStripCount(); from++) {
+            assertSameRegion(sequential, parallel.decodeStrips(from, parallel.getStripCount()), from * 8);
+        }
+    }
+
+    @Test
+    void joinHorizontally() {
+        final AbstractImageDecoder decoder = new ImageEGADecoder(ByteString.wrap(bytes()), ColorPalette.EGA,
+            WIDTH, HEIGHT, DecodeMode.SEQUENTIAL);
+
+        final LayeredImage joined = LayeredImage.joinHorizontally(List.of(
+            decoder.decodeStrips(0, 1), decoder.decodeStrips(1, 3)));
+
+        assertEquals(WIDTH, joined.getWidth());
+        assertSameRegion(decoder.decode(), joined, 0);
+    }
+
+    private static void assertSameRegion(final LayeredImage full, final LayeredImage part, final int offsetX) {
+        assertEquals(full.getMasks().size(), part.getMasks().size());
+        for (int y = 0; y < part.getHeight(); y++) {
+            for (int x = 0; x < part.getWidth(); x++) {
+                assertEquals(full.getImage().getIndex(offsetX + x, y), part.getImage().getIndex(x, y));
+                for (int m = 0; m < full.getMasks().size(); m++) {
+                    assertEquals(full.getMasks().get(m).isSet(offsetX + x, y), part.getMasks().get(m).isSet(x, y));
+                }
+            }
+        }
+    }
+
+    private static byte[] bytes() {
+        final byte[] bytes = new byte[EGA_IMAGE.length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) EGA_IMAGE[i];
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.decoder.script.opcode.ActorFollowCameraOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ActorFromPosOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ActorOpsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ActorSetClassOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.AnimateActorOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.BreakHereOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ChainScriptOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ClassOfIsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.CursorCommandOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.CutsceneOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DebugOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DelayOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DelayVariableOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DoSentenceOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DrawBoxOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.DrawObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.EndCutsceneOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ExpressionOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.FaceActorOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.FindInventoryOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.FindObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.FreezeScriptsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorCostumeOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorElevevationOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorFacingOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorMovingOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorRoomOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorWalkBoxOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorWidthOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorXOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetActorYOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetDistOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetInventoryCountOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetObjectOwnerOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetRandomNumberOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.GetVerbEntryPointOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.IfStateOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.IsScriptRunningOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.IsSoundRunningOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.JumpRelativeOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.LightsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.LoadRoomOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.LoadRoomWithEgoOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.MatrixOpOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.OldRoomEffectSetOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.OneOpCmpOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.Opcode;
+import de.siegmar.jmonkey.decoder.script.opcode.OperatorOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.OverrideOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PanCameraToOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PickupObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PrintOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PseudoRoomOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PutActorAtObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PutActorInRoomOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.PutActorOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.ResourceRoutinesOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.RoomOpsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SaveRestoreVerbsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SetCameraAtOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SetObjectNameOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SetOwnerOfOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SetStateOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SetVarRangeOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StartObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StartScriptOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StartSoundOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StopObjectCodeOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StopScriptOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StopSoundOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.StringOpsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.SystemOpsOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.TwoOpCmpOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.VerbOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.WaitOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToActorOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToObjectOpcode;
+import de.siegmar.jmonkey.decoder.script.opcode.WalkActorToOpcode;
+
+@SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:ClassDataAbstractionCoupling"})
+class ScriptDecoderTest {
+
+    private final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
+
+    // built independently of the dispatch table under test
+    private static List<Opcode> opcodes() {
+        return List.of(
+            new ActorFollowCameraOpcode(),
+            new ActorFromPosOpcode(),
+            new ActorOpsOpcode(),
+            new ActorSetClassOpcode(),
+            new AnimateActorOpcode(),
+            new BreakHereOpcode(),
+            new ChainScriptOpcode(),
+            new ClassOfIsOpcode(),
+            new CursorCommandOpcode(),
+            new CutsceneOpcode(),
+            new DebugOpcode(),
+            new DelayOpcode(),
+            new DelayVariableOpcode(),
+            new DoSentenceOpcode(),
+            new DrawBoxOpcode(),
+            new DrawObjectOpcode(),
+            new EndCutsceneOpcode(),
+            new ExpressionOpcode(opcode -> null),
+            new FaceActorOpcode(),
+            new FindInventoryOpcode(),
+            new FindObjectOpcode(),
+            new FreezeScriptsOpcode(),
+            new GetActorCostumeOpcode(),
+            new GetActorElevevationOpcode(),
+            new GetActorFacingOpcode(),
+            new GetActorMovingOpcode(),
+            new GetActorRoomOpcode(),
+            new GetActorWalkBoxOpcode(),
+            new GetActorWidthOpcode(),
+            new GetActorXOpcode(),
+            new GetActorYOpcode(),
+            new GetDistOpcode(),
+            new GetInventoryCountOpcode(),
+            new GetObjectOwnerOpcode(),
+            new GetRandomNumberOpcode(),
+            new GetVerbEntryPointOpcode(),
+            new IfStateOpcode(),
+            new IsScriptRunningOpcode(),
+            new IsSoundRunningOpcode(),
+            new JumpRelativeOpcode(),
+            new LightsOpcode(),
+            new LoadRoomOpcode(),
+            new LoadRoomWithEgoOpcode(),
+            new MatrixOpOpcode(),
+            new OldRoomEffectSetOpcode(),
+            new OneOpCmpOpcode(),
+            new OperatorOpcode(),
+            new OverrideOpcode(),
+            new PanCameraToOpcode(),
+            new PickupObjectOpcode(),
+            new PrintOpcode(),
+            new PseudoRoomOpcode(),
+            new PutActorAtObjectOpcode(),
+            new PutActorInRoomOpcode(),
+            new PutActorOpcode(),
+            new ResourceRoutinesOpcode(),
+            new RoomOpsOpcode(),
+            new SaveRestoreVerbsOpcode(),
+            new SetCameraAtOpcode(),
+            new SetObjectNameOpcode(),
+            new SetOwnerOfOpcode(),
+            new SetStateOpcode(),
+            new SetVarRangeOpcode(),
+            new StartObjectOpcode(),
+            new StartScriptOpcode(),
+            new StartSoundOpcode(),
+            new StopObjectCodeOpcode(),
+            new StopScriptOpcode(),
+            new StopSoundOpcode(),
+            new StringOpsOpcode(),
+            new SystemOpsOpcode(),
+            new TwoOpCmpOpcode(),
+            new VerbOpcode(),
+            new WaitOpcode(),
+            new WalkActorToActorOpcode(),
+            new WalkActorToObjectOpcode(),
+            new WalkActorToOpcode());
+    }
+
+    @Test
+    void dispatch() {
+        final Map<Integer, Class<?>> expected = new HashMap<>();
+        for (final Opcode opcode : opcodes()) {
+            for (final Integer i : opcode.opcodes()) {
+                assertNull(expected.put(i, opcode.getClass()), "Opcode %02X defined twice".formatted(i));
+            }
+        }
+
+        for (int i = 0; i < 256; i++) {
+            final Opcode decoder = scriptDecoder.decoder(i);
+            assertEquals(expected.get(i), decoder == null ? null : decoder.getClass(), "Opcode %02X".formatted(i));
+            assertEquals(Optional.ofNullable(decoder), scriptDecoder.getOpcodeDecoder(i));
+        }
+    }
+
+    @Test
+    void unknownOpcode() {
+        assertNull(scriptDecoder.decoder(-1));
+        assertNull(scriptDecoder.decoder(256));
+        assertEquals(Optional.empty(), scriptDecoder.getOpcodeDecoder(-1));
+        assertEquals(Optional.empty(), scriptDecoder.getOpcodeDecoder(256));
+    }
+
+    // opcodes are shared between threads without synchronization – they must not have any mutable state
+    @Test
+    void statelessOpcodes() {
+        for (final Opcode opcode : opcodes()) {
+            for (Class<?> c = opcode.getClass(); c != Object.class; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    assertTrue(Modifier.isFinal(field.getModifiers()),
+                        "Field %s of %s is not final".formatted(field.getName(), c.getName()));
+                }
+            }
+        }
+    }
+
+}
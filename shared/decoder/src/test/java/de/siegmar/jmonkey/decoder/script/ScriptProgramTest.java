@@ -0,0 +1,156 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+
+class ScriptProgramTest {
+
+    private static final byte[] SCRIPT = {
+        0x1A, 0x01, 0x00, 0x05, 0x00,                   // 0000: var1 = 5
+        (byte) 0xAC, 0x02, 0x00,                        // 0005: var2 = 7 + getRandomNr(10)
+        0x01, 0x07, 0x00,
+        0x06, 0x16, 0x03, 0x00, 0x0A,
+        0x02, (byte) 0xFF,
+        0x13, 0x01, 0x01, 0x05, (byte) 0xFF,            // 0012: actorOps(1) costume(5)
+        (byte) 0x80,                                    // 0017: breakHere
+        0x18, (byte) 0xE5, (byte) 0xFF,                 // 0018: goto 0000
+        (byte) 0xA0,                                    // 001B: stopLocalGlobalScript
+    };
+
+    private final ScriptDecoder scriptDecoder = ScriptDecoder.shared();
+    private final ByteString data = new ByteString(ByteBuffer.wrap(SCRIPT).asReadOnlyBuffer());
+
+    @Test
+    void decode() {
+        final ScriptProgram program = ScriptProgram.decode(scriptDecoder, data, 0);
+
+        assertEquals(6, program.size());
+        assertEquals(0x18, program.instruction(4).offset());
+        assertEquals(0x18, program.instruction(4).opcode());
+        assertEquals(0x00, program.instruction(4).jumpOffset());
+        assertEquals(0, program.instruction(4).jumpTarget());
+        assertEquals(ScriptInstruction.NO_JUMP, program.instruction(0).jumpOffset());
+        assertEquals(ScriptInstruction.NO_JUMP, program.instruction(0).jumpTarget());
+    }
+
+    @Test
+    void replaySameCalls() {
+        final List<String> interpreted = run(false);
+        final List<String> predecoded = run(true);
+
+        assertTrue(interpreted.stream().anyMatch(c -> c.startsWith("getRandomNr ")));
+        assertTrue(interpreted.contains("gotoOffset [0]"));
+        assertEquals(interpreted, predecoded);
+    }
+
+    @Test
+    void sharedProgram() {
+        final ScriptProgram program = ScriptProgram.decode(scriptDecoder, data, 0);
+
+        final List<String> firstCalls = new ArrayList<>();
+        final List<String> secondCalls = new ArrayList<>();
+        final Script first = Script.predecoded(1, recorder(firstCalls), program, List.of(), false, false);
+        final Script second = Script.predecoded(1, recorder(secondCalls), program, List.of(), false, false);
+
+        first.execute();
+        first.execute();
+        second.execute();
+
+        assertTrue(first.toString().contains("predecoded=true"));
+        assertEquals(secondCalls, firstCalls.subList(0, secondCalls.size()));
+        assertTrue(firstCalls.size() > secondCalls.size());
+    }
+
+    @Test
+    void badJump() {
+        // jump right into the operand of the first opcode
+        final byte[] bytes = {0x18, (byte) 0xFE, (byte) 0xFF};
+        final ByteString badJump = new ByteString(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+
+        assertThrows(IllegalStateException.class, () -> ScriptProgram.decode(scriptDecoder, badJump, 0));
+        assertTrue(ScriptProgram.tryDecode(scriptDecoder, badJump, 0).isEmpty());
+    }
+
+    private List<String> run(final boolean predecoded) {
+        final List<String> calls = new ArrayList<>();
+        final OpcodeDelegate delegate = recorder(calls);
+        final Script script = predecoded
+            ? Script.predecoded(0, delegate, ScriptProgram.decode(scriptDecoder, data, 0), List.of(), false, false)
+            : new Script(0, scriptDecoder, delegate, data, 0, List.of(), false, false);
+
+        // first pass stops at breakHere, second one jumps back to the start
+        script.execute();
+        script.execute();
+        assertFalse(script.isStopped());
+        return calls;
+    }
+
+    private static OpcodeDelegate recorder(final List<String> calls) {
+        final Script[] script = new Script[1];
+        return proxy(OpcodeDelegate.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setScript" -> {
+                    script[0] = (Script) args[0];
+                    return null;
+                }
+                case "getScript" -> {
+                    return script[0];
+                }
+                case "gotoOffset" -> script[0].gotoOffset((int) args[0]);
+                case "breakHere" -> script[0].breakHere();
+                default -> {
+                }
+            }
+            calls.add(describe(method, args));
+            return switch (method.getName()) {
+                case "endExpression" -> "rnd";
+                case "actorOps" -> proxy(ActorOps.class, (p, m, a) -> {
+                    calls.add(describe(m, a));
+                    return null;
+                });
+                default -> null;
+            };
+        });
+    }
+
+    private static String describe(final Method method, final Object[] args) {
+        return args == null ? method.getName() : method.getName() + " " + Arrays.toString(args);
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.decoder.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+
+class ScriptSchedulerTest {
+
+    // delay(60 jiffies); goto 0000
+    private static final ByteString DELAY_LOOP = bytes(0x2E, 0x3C, 0x00, 0x00, 0x18, 0xF9, 0xFF);
+
+    // breakHere; goto 0000
+    private static final ByteString BREAK_LOOP = bytes(0x80, 0x18, 0xFC, 0xFF);
+
+    // breakHere; stopLocalGlobalScript
+    private static final ByteString BREAK_STOP = bytes(0x80, 0xA0);
+
+    private final VirtualScriptClock clock = new VirtualScriptClock();
+    private final ScriptScheduler scheduler = new ScriptScheduler(clock);
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void jumpToNextWakeUp() {
+        scheduler.start(script(1, DELAY_LOOP, false, s -> { }));
+        scheduler.run(Duration.ofMinutes(10));
+
+        assertEquals(Duration.ofMinutes(10).toMillis(), clock.millis());
+        assertEquals(600, calls.size());
+        assertEquals("1@0:delay", calls.get(0));
+        assertEquals("1@1000:delay", calls.get(1));
+        assertEquals("1@599000:delay", calls.get(599));
+    }
+
+    @Test
+    void deterministic() {
+        final List<String> first = List.copyOf(runMixed());
+        assertEquals(first, new ScriptSchedulerTest().runMixed());
+    }
+
+    private List<String> runMixed() {
+        scheduler.start(script(1, DELAY_LOOP, false, s -> { }));
+        scheduler.start(script(2, BREAK_LOOP, false, s -> { }));
+        scheduler.run(Duration.ofSeconds(5));
+
+        // 60 frames per second don't drift next to a busy script – wake-ups at 0, 1000, 2000, 3000, 4000
+        assertEquals(List.of("1@0:delay", "1@1000:delay", "1@2000:delay", "1@3000:delay", "1@4000:delay"),
+            calls.stream().filter(c -> c.startsWith("1@")).toList());
+        assertEquals(5 * ScriptScheduler.DEFAULT_FRAME_RATE,
+            calls.stream().filter(c -> c.startsWith("2@")).count());
+        return calls;
+    }
+
+    @Test
+    void endedScriptsFreeTheirSlot() {
+        final ScriptScheduler twoSlots = new ScriptScheduler(clock, 2, ScriptScheduler.DEFAULT_FRAME_RATE);
+        twoSlots.start(script(1, BREAK_STOP, false, s -> { }));
+        twoSlots.start(script(2, BREAK_LOOP, false, s -> { }));
+        assertThrows(IllegalStateException.class, () -> twoSlots.start(script(3, BREAK_LOOP, false, s -> { })));
+
+        twoSlots.runRound();
+        twoSlots.runRound();
+
+        assertFalse(twoSlots.isRunning(1));
+        assertEquals(0, twoSlots.start(script(3, BREAK_LOOP, false, s -> { })));
+    }
+
+    @Test
+    void freezeAndUnfreeze() {
+        scheduler.start(script(1, BREAK_LOOP, false, s -> { }));
+        scheduler.start(script(2, BREAK_LOOP, true, s -> { }));
+
+        scheduler.freeze(false);
+        scheduler.runRound();
+        assertEquals(List.of("2@0:breakHere"), calls);
+
+        scheduler.freeze(true);
+        scheduler.runRound();
+        assertEquals(1, calls.size());
+
+        // frozen scripts never wake up by themselves
+        scheduler.run(Duration.ofHours(1));
+        assertEquals(1, calls.size());
+        assertEquals(Duration.ofHours(1).toMillis(), clock.millis());
+
+        scheduler.unfreeze();
+        scheduler.unfreeze();
+        scheduler.runRound();
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void chain() {
+        final Script next = script(2, BREAK_LOOP, false, s -> { });
+        scheduler.start(script(1, BREAK_LOOP, false, s -> scheduler.chain(next)));
+
+        scheduler.runRound();
+        assertFalse(scheduler.isRunning(1));
+        assertTrue(scheduler.isRunning(2));
+
+        scheduler.runRound();
+        assertEquals(List.of("1@0:breakHere", "2@0:breakHere"), calls);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.chain(next));
+    }
+
+    @Test
+    void stop() {
+        scheduler.start(script(1, BREAK_LOOP, false, s -> scheduler.stop(1)));
+        scheduler.start(script(2, BREAK_LOOP, false, s -> { }));
+
+        scheduler.runRound();
+        assertFalse(scheduler.isRunning(1));
+
+        scheduler.stop(2);
+        assertTrue(scheduler.isIdle());
+    }
+
+    private Script script(final int scriptId, final ByteString data, final boolean freezeResistant,
+                          final Consumer<Script> onBreak) {
+        final Script[] current = new Script[1];
+        final OpcodeDelegate delegate = (OpcodeDelegate) Proxy.newProxyInstance(
+            OpcodeDelegate.class.getClassLoader(), new Class<?>[]{OpcodeDelegate.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setScript" -> current[0] = (Script) args[0];
+                    case "gotoOffset" -> current[0].gotoOffset((int) args[0]);
+                    case "stopLocalGlobalScript" -> current[0].stop();
+                    case "delay" -> {
+                        calls.add(scriptId + "@" + clock.millis() + ":delay");
+                        current[0].delay((int) args[0]);
+                    }
+                    case "breakHere" -> {
+                        calls.add(scriptId + "@" + clock.millis() + ":breakHere");
+                        current[0].breakHere();
+                        onBreak.accept(current[0]);
+                    }
+                    default -> {
+                    }
+                }
+                return null;
+            });
+        return Script.predecoded(scriptId, delegate, ScriptProgram.decode(ScriptDecoder.shared(), data, 0),
+            List.of(), freezeResistant, false);
+    }
+
+    private static ByteString bytes(final int... values) {
+        final byte[] data = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[i] = (byte) values[i];
+        }
+        return new ByteString(ByteBuffer.wrap(data).asReadOnlyBuffer());
+    }
+
+}
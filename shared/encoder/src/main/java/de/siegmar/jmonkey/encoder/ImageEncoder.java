@@ -0,0 +1,418 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.io.ByteStringBuilder;
+import de.siegmar.jmonkey.commons.lang.Preconditions;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.decoder.room.image.Codec;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+
+/**
+ * Encoder for room and object images – the inverse of
+ * {@link de.siegmar.jmonkey.decoder.room.image.AbstractImageDecoder}.
+ * <p>
+ * Every strip of a VGA image is encoded with every applicable codec (concurrently) and the smallest
+ * result is kept. The z-planes of the image are written, too.
+ */
+public final class ImageEncoder {
+
+    private static final int STRIP_WIDTH = 8;
+    private static final int[] VGA_CODECS = {1, 10, 14, 15, 16, 17, 18, 24, 25, 26, 27, 28};
+    private static final int EGA_COLORS = 16;
+    private static final int MAX_RUN = 0xFF;
+    private static final int MAX_SHORT_RUN = 0x3F;
+    private static final int MAX_SOLID_SHORT_RUN = 0x07;
+    private static final int MAX_ZPLANE_RUN = 0x7F;
+    private static final int MIN_ZPLANE_REPEAT = 3;
+
+    private ImageEncoder() {
+    }
+
+    /**
+     * Encodes an image in the VGA format (32-bit offsets, codec per strip).
+     */
+    public static ByteString encodeVGA(final LayeredImage image) {
+        return encode(image, true);
+    }
+
+    /**
+     * Encodes an image in the EGA format (16-bit offsets, all strips EGA compressed).
+     *
+     * @throws IllegalArgumentException if the image uses more than 16 colors
+     */
+    public static ByteString encodeEGA(final LayeredImage image) {
+        return encode(image, false);
+    }
+
+    private static ByteString encode(final LayeredImage layeredImage, final boolean vga) {
+        final IndexedImage image = layeredImage.getImage();
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        Preconditions.checkArgument(width > 0 && height > 0 && width % STRIP_WIDTH == 0,
+            "Invalid image dimension %sx%s", width, height);
+
+        final byte[] indices = image.getIndices();
+        final int stripCnt = width / STRIP_WIDTH;
+
+        final List<byte[]> strips = IntStream.range(0, stripCnt).parallel()
+            .mapToObj(strip -> vga
+                ? encodeVgaStrip(indices, width, height, strip)
+                : encodeEgaFormatStrip(indices, width, height, strip))
+            .toList();
+
+        final ByteStringBuilder bsb = new ByteStringBuilder();
+
+        int offset = (vga ? Integer.BYTES : Short.BYTES) * (1 + stripCnt);
+        final int[] stripOffsets = new int[stripCnt];
+        for (int strip = 0; strip < stripCnt; strip++) {
+            stripOffsets[strip] = offset;
+            offset += strips.get(strip).length;
+        }
+
+        writeOffset(bsb, offset, vga);
+        for (final int stripOffset : stripOffsets) {
+            writeOffset(bsb, stripOffset, vga);
+        }
+        strips.forEach(bsb::append);
+
+        for (final MaskLayer mask : layeredImage.getMasks()) {
+            Preconditions.checkArgument(mask.getWidth() == width && mask.getHeight() == height,
+                "Mask dimension %sx%s differs from image", mask.getWidth(), mask.getHeight());
+            bsb.append(encodeZPlane(mask, stripCnt));
+        }
+
+        return bsb.build();
+    }
+
+    private static void writeOffset(final ByteStringBuilder bsb, final int offset, final boolean vga) {
+        if (vga) {
+            bsb.appendU32(offset);
+        } else {
+            checkU16(offset);
+            bsb.appendU16(offset);
+        }
+    }
+
+    private static void checkU16(final int value) {
+        if (value > 0xFFFF) {
+            throw new IllegalStateException("Offset exceeds 16 bit: " + value);
+        }
+    }
+
+    private static byte[] encodeEgaFormatStrip(final byte[] indices, final int width, final int height,
+                                               final int strip) {
+        return encodeEgaStrip(indices, width, height, strip)
+            .orElseThrow(() -> new IllegalArgumentException("Strip %d uses more than %d colors"
+                .formatted(strip, EGA_COLORS)));
+    }
+
+    private static byte[] encodeVgaStrip(final byte[] indices, final int width, final int height,
+                                         final int strip) {
+        return IntStream.of(VGA_CODECS).parallel()
+            .mapToObj(codec -> encodeVgaStrip(indices, width, height, strip, Codec.of(codec))
+                .map(data -> prependCodec(codec, data)))
+            .flatMap(Optional::stream)
+            .min(Comparator.comparingInt(data -> data.length))
+            .orElseThrow();
+    }
+
+    private static Optional<byte[]> encodeVgaStrip(final byte[] indices, final int width, final int height,
+                                                   final int strip, final Codec codec) {
+        return switch (codec.getMethod()) {
+            case UNCOMPRESSED -> Optional.of(stripPixels(indices, width, height, strip, codec.getDirection()));
+            case EGA -> encodeEgaStrip(indices, width, height, strip);
+            case METHOD_1 -> encodeMethod1(stripPixels(indices, width, height, strip, codec.getDirection()),
+                codec.getPaletteBitLength());
+            default -> throw new IllegalStateException("Unsupported compression method: " + codec.getMethod());
+        };
+    }
+
+    private static byte[] prependCodec(final int codec, final byte[] data) {
+        final byte[] result = new byte[data.length + 1];
+        result[0] = (byte) codec;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    /**
+     * Returns the pixels of a strip in rendering order.
+     */
+    private static byte[] stripPixels(final byte[] indices, final int width, final int height, final int strip,
+                                      final Codec.RenderingDirection direction) {
+        final byte[] pixels = new byte[STRIP_WIDTH * height];
+        final int x0 = strip * STRIP_WIDTH;
+        int i = 0;
+        if (direction == Codec.RenderingDirection.HORIZONTAL) {
+            for (int y = 0; y < height; y++) {
+                System.arraycopy(indices, y * width + x0, pixels, i, STRIP_WIDTH);
+                i += STRIP_WIDTH;
+            }
+        } else {
+            for (int x = 0; x < STRIP_WIDTH; x++) {
+                for (int y = 0; y < height; y++) {
+                    pixels[i++] = indices[y * width + x0 + x];
+                }
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Greedy "method 1" encoding – empty if a palette index exceeds the palette bit length.
+     */
+    private static Optional<byte[]> encodeMethod1(final byte[] pixels, final int paletteBitLength) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int paletteIndex = pixels[0] & 0xFF;
+        out.write(paletteIndex);
+
+        final BitSink bits = new BitSink(out);
+        int subtractionValue = 1;
+        for (int i = 1; i < pixels.length; i++) {
+            final int pixel = pixels[i] & 0xFF;
+            if (pixel == paletteIndex) {
+                bits.write(0b0, 1);
+            } else if (pixel == ((paletteIndex - subtractionValue) & 0xFF)) {
+                bits.write(0b011, 3);
+                paletteIndex = pixel;
+            } else if (pixel == ((paletteIndex + subtractionValue) & 0xFF)) {
+                bits.write(0b111, 3);
+                subtractionValue = -subtractionValue;
+                paletteIndex = pixel;
+            } else if (pixel < 1 << paletteBitLength) {
+                bits.write(0b01 | pixel << 2, 2 + paletteBitLength);
+                subtractionValue = 1;
+                paletteIndex = pixel;
+            } else {
+                return Optional.empty();
+            }
+        }
+        bits.flush();
+
+        return Optional.of(out.toByteArray());
+    }
+
+    /**
+     * Greedy EGA run length encoding (column by column) – empty if the strip uses more than 16 colors.
+     */
+    @SuppressWarnings({
+        "checkstyle:ExecutableStatementCount",
+        "checkstyle:CyclomaticComplexity"
+    })
+    private static Optional<byte[]> encodeEgaStrip(final byte[] indices, final int width, final int height,
+                                                   final int strip) {
+        final byte[] pixels = stripPixels(indices, width, height, strip, Codec.RenderingDirection.VERTICAL);
+        for (final byte pixel : pixels) {
+            if ((pixel & 0xFF) >= EGA_COLORS) {
+                return Optional.empty();
+            }
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int x0 = strip * STRIP_WIDTH;
+
+        int i = 0;
+        while (i < pixels.length) {
+            final int pos = i;
+            final int max = Math.min(pixels.length - pos, MAX_RUN);
+
+            final int color = pixels[pos];
+            final int solid = countRun(max, j -> pixels[pos + j] == color);
+
+            final int color2 = pos + 1 < pixels.length ? pixels[pos + 1] : color;
+            final int dither = countRun(max, j -> pixels[pos + j] == ((j & 1) == 0 ? color : color2));
+
+            // pixels equal to their left neighbour – not available for the very first column
+            final int previous = countRun(max, j -> {
+                final int x = x0 + (pos + j) / height;
+                final int y = (pos + j) % height;
+                return x > 0 && pixels[pos + j] == indices[y * width + x - 1];
+            });
+
+            final int solidCost = solid <= MAX_SOLID_SHORT_RUN ? 1 : 2;
+            final int ditherCost = dither <= MAX_SHORT_RUN ? 2 : 3;
+            final int previousCost = previous <= MAX_SHORT_RUN ? 1 : 2;
+
+            if (previous > 0 && previous * solidCost >= solid * previousCost
+                && previous * ditherCost >= dither * previousCost) {
+                writeRun(out, 0x80, previous);
+                i += previous;
+            } else if (dither * solidCost > solid * ditherCost) {
+                if (dither <= MAX_SHORT_RUN) {
+                    out.write(0xC0 | dither);
+                    out.write(color << 4 | color2);
+                } else {
+                    out.write(0xC0);
+                    out.write(color << 4 | color2);
+                    out.write(dither);
+                }
+                i += dither;
+            } else {
+                if (solid <= MAX_SOLID_SHORT_RUN) {
+                    out.write(solid << 4 | color);
+                } else {
+                    out.write(color);
+                    out.write(solid);
+                }
+                i += solid;
+            }
+        }
+
+        return Optional.of(out.toByteArray());
+    }
+
+    private static int countRun(final int max, final IntPredicate matches) {
+        int run = 0;
+        while (run < max && matches.test(run)) {
+            run++;
+        }
+        return run;
+    }
+
+    private static void writeRun(final ByteArrayOutputStream out, final int flags, final int run) {
+        if (run <= MAX_SHORT_RUN) {
+            out.write(flags | run);
+        } else {
+            out.write(flags);
+            out.write(run);
+        }
+    }
+
+    /**
+     * Encodes a z-plane block: its length, the offsets of all strips (relative to the block) and the
+     * run length encoded strip data.
+     */
+    private static byte[] encodeZPlane(final MaskLayer mask, final int stripCnt) {
+        final byte[][] strips = new byte[stripCnt][];
+        for (int strip = 0; strip < stripCnt; strip++) {
+            strips[strip] = encodeZPlaneStrip(mask, strip);
+        }
+
+        int offset = Short.BYTES * (1 + stripCnt);
+        final int[] offsets = new int[stripCnt];
+        for (int strip = 0; strip < stripCnt; strip++) {
+            offsets[strip] = offset;
+            offset += strips[strip].length;
+        }
+        checkU16(offset);
+
+        final ByteStringBuilder bsb = new ByteStringBuilder();
+        bsb.appendU16(offset);
+        for (final int stripOffset : offsets) {
+            bsb.appendU16(stripOffset);
+        }
+        for (final byte[] data : strips) {
+            bsb.append(data);
+        }
+        return bsb.build().dumpCopy();
+    }
+
+    private static byte[] encodeZPlaneStrip(final MaskLayer mask, final int strip) {
+        final int height = mask.getHeight();
+        final int[] rows = new int[height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < STRIP_WIDTH; x++) {
+                if (mask.isSet(strip * STRIP_WIDTH + x, y)) {
+                    rows[y] |= 0x80 >>> x;
+                }
+            }
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int y = 0;
+        while (y < height) {
+            final int repeat = repeatCount(rows, y);
+            if (repeat >= MIN_ZPLANE_REPEAT) {
+                out.write(0x80 | repeat);
+                out.write(rows[y]);
+                y += repeat;
+            } else {
+                final int len = literalCount(rows, y);
+                out.write(len);
+                for (int i = 0; i < len; i++) {
+                    out.write(rows[y + i]);
+                }
+                y += len;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // number of rows to write literally – up to the next run that is worth repeating
+    private static int literalCount(final int[] rows, final int start) {
+        int len = 1;
+        while (start + len < rows.length && len < MAX_ZPLANE_RUN
+            && repeatCount(rows, start + len) < MIN_ZPLANE_REPEAT) {
+            len++;
+        }
+        return len;
+    }
+
+    private static int repeatCount(final int[] rows, final int start) {
+        int repeat = 1;
+        while (start + repeat < rows.length && repeat < MAX_ZPLANE_RUN && rows[start + repeat] == rows[start]) {
+            repeat++;
+        }
+        return repeat;
+    }
+
+    /**
+     * Little endian bit packer – the counterpart of
+     * {@link de.siegmar.jmonkey.commons.io.LittleEndianBitReader}.
+     */
+    private static final class BitSink {
+
+        private final ByteArrayOutputStream out;
+        private long acc;
+        private int bitCount;
+
+        BitSink(final ByteArrayOutputStream out) {
+            this.out = out;
+        }
+
+        void write(final int value, final int len) {
+            acc |= (long) value << bitCount;
+            bitCount += len;
+            while (bitCount >= Byte.SIZE) {
+                out.write((int) acc & 0xFF);
+                acc >>>= Byte.SIZE;
+                bitCount -= Byte.SIZE;
+            }
+        }
+
+        void flush() {
+            if (bitCount > 0) {
+                out.write((int) acc & 0xFF);
+                acc = 0;
+                bitCount = 0;
+            }
+        }
+
+    }
+
+}
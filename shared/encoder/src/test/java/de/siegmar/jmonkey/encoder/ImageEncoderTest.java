@@ -0,0 +1,114 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.encoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.misc.ColorPalette;
+import de.siegmar.jmonkey.commons.misc.IndexedImage;
+import de.siegmar.jmonkey.commons.misc.MaskLayer;
+import de.siegmar.jmonkey.decoder.room.image.AbstractImageDecoder;
+import de.siegmar.jmonkey.decoder.room.image.LayeredImage;
+
+class ImageEncoderTest {
+
+    private static final int WIDTH = 48;
+    private static final int HEIGHT = 20;
+    private static final ColorPalette PALETTE = new ColorPalette(new int[256]);
+
+    @Test
+    void roundtripVGA() {
+        final LayeredImage image = image(256, 1);
+        final ByteString encoded = ImageEncoder.encodeVGA(image);
+
+        assertSameImage(image, AbstractImageDecoder.decodeVGA(encoded, PALETTE, WIDTH, HEIGHT));
+    }
+
+    @Test
+    void roundtripEGA() {
+        final LayeredImage image = image(16, 2);
+        final ByteString encoded = ImageEncoder.encodeEGA(image);
+
+        assertSameImage(image, AbstractImageDecoder.decodeEGA(encoded, ColorPalette.EGA, WIDTH, HEIGHT));
+    }
+
+    @Test
+    void compressesFlatImage() {
+        final LayeredImage image = new LayeredImage(new IndexedImage(WIDTH, HEIGHT, new byte[WIDTH * HEIGHT],
+            PALETTE, IndexedImage.NO_TRANSPARENCY), List.of());
+        final ByteString encoded = ImageEncoder.encodeVGA(image);
+
+        assertTrue(encoded.size() < WIDTH * HEIGHT / 4, "Encoded size " + encoded.size());
+        assertSameImage(image, AbstractImageDecoder.decodeVGA(encoded, PALETTE, WIDTH, HEIGHT));
+    }
+
+    // mix of noise, gradients and solid areas so that all codecs are in use
+    private static LayeredImage image(final int colors, final int maskCount) {
+        final Random random = new Random(1);
+        final byte[] indices = new byte[WIDTH * HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final int strip = x / 8;
+                final int color = switch (strip % 4) {
+                    case 0 -> random.nextInt(colors);
+                    case 1 -> (x + y) % colors;
+                    case 2 -> (x + y) % 2 == 0 ? 3 : 7;
+                    default -> y < HEIGHT / 2 ? 5 : random.nextInt(4);
+                };
+                indices[y * WIDTH + x] = (byte) color;
+            }
+        }
+
+        final int rowWords = MaskLayer.rowWords(WIDTH);
+        final List<MaskLayer> masks = random.ints(maskCount)
+            .mapToObj(seed -> {
+                final long[] bits = new long[rowWords * HEIGHT];
+                for (int y = HEIGHT / 3; y < HEIGHT; y++) {
+                    bits[y * rowWords] = new Random(seed).nextLong() & 0xFFFF_FFFF_FFFFL;
+                }
+                return new MaskLayer(WIDTH, HEIGHT, bits);
+            })
+            .toList();
+
+        return new LayeredImage(new IndexedImage(WIDTH, HEIGHT, indices, PALETTE, IndexedImage.NO_TRANSPARENCY),
+            masks);
+    }
+
+    private static void assertSameImage(final LayeredImage expected, final LayeredImage actual) {
+        assertEquals(expected.getMasks().size(), actual.getMasks().size());
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(expected.getImage().getIndex(x, y), actual.getImage().getIndex(x, y),
+                    "pixel " + x + "/" + y);
+                for (int m = 0; m < expected.getMasks().size(); m++) {
+                    assertEquals(expected.getMasks().get(m).isSet(x, y), actual.getMasks().get(m).isSet(x, y),
+                        "mask " + m + " pixel " + x + "/" + y);
+                }
+            }
+        }
+    }
+
+}
@@ -72,11 +72,10 @@ public final class FontReader {
         final int fontHeight = bb.readU8();
         final int numChars = bb.readU16();
 
-        final int[] offsets = new int[numChars];
+        final int[] offsets = bb.readU32Array(numChars);
         for (int i = 0; i < numChars; i++) {
-            final int offset = bb.readU32();
-            if (offset != 0) {
-                offsets[i] = relativeOffset + offset;
+            if (offsets[i] != 0) {
+                offsets[i] += relativeOffset;
             }
         }
 
@@ -20,11 +20,14 @@ package de.siegmar.jmonkey.lecscanner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import de.siegmar.jmonkey.commons.io.DataChunkType;
@@ -47,6 +50,24 @@ class LecScannerTest {
         }
     }
 
+    @ParameterizedTest
+    @PathsProvider(PathType.DATA)
+    void indexedScan(final Path file, @TempDir final Path tempDir) throws IOException {
+        final Path copy = Files.copy(file, tempDir.resolve(file.getFileName()));
+        final List<String> expected = chunks(LecScanner.scanTree(copy));
+
+        // first run builds the sidecar index, second run reads it
+        assertThat(chunks(LecScanner.scanTreeIndexed(copy))).isEqualTo(expected);
+        assertThat(LecChunkIndex.indexFile(copy)).exists();
+        assertThat(chunks(LecScanner.scanTreeIndexed(copy))).isEqualTo(expected);
+    }
+
+    private static List<String> chunks(final TreeIndex<LecChunk> tree) {
+        return tree.deepStream()
+            .map(node -> node.chunk() + " < " + (node.getParent() == null ? null : node.getParent().chunk()))
+            .toList();
+    }
+
     private void checkSizes(final TreeIndex<LecChunk> current, final Consumer<String> errors) {
         final List<TreeIndex<LecChunk>> children = current.getChildren();
 
@@ -0,0 +1,157 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.lecscanner;
+
+import java.util.NoSuchElementException;
+
+import de.siegmar.jmonkey.commons.io.AccessMode;
+import de.siegmar.jmonkey.commons.io.BasicChunkHeader;
+import de.siegmar.jmonkey.commons.io.DataChunkType;
+import de.siegmar.jmonkey.commons.io.EnhancedByteBuffer;
+
+/**
+ * Reusable cursor over all chunk headers of a data file.
+ * <p>
+ * Headers are parsed in place from a window of the decrypted file (the entire file for
+ * {@link AccessMode#MAPPED}) – advancing the cursor doesn't allocate any objects except for window refills.
+ */
+public final class LecChunkCursor {
+
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    // header of the current chunk + header of the following chunk (to tell ROom from ROland)
+    private static final int LOOKAHEAD = 2 * BasicChunkHeader.HEADER_SIZE;
+
+    private static final DataChunkType[] TYPES_BY_CODE = new DataChunkType[1 << 16];
+
+    static {
+        for (final DataChunkType type : DataChunkType.values()) {
+            final String name = type.name();
+            if (name.length() == 2) {
+                TYPES_BY_CODE[code(name.charAt(0), name.charAt(1))] = type;
+            }
+        }
+    }
+
+    private final LecFile lecFile;
+    private final int fileSize;
+    private EnhancedByteBuffer window;
+    private int windowStart;
+    private int windowEnd;
+    private int nextPos;
+    private int pos = -1;
+    private int length;
+    private DataChunkType type;
+
+    public LecChunkCursor(final LecFile lecFile) {
+        this.lecFile = lecFile;
+        fileSize = lecFile.getSize();
+    }
+
+    private static int code(final int c1, final int c2) {
+        return (c1 & 0xFF) << 8 | c2 & 0xFF;
+    }
+
+    /**
+     * Advances the cursor to the next chunk.
+     *
+     * @return {@code true} if the cursor points to a chunk, {@code false} if the end of file is reached
+     */
+    public boolean next() {
+        if (nextPos >= fileSize) {
+            type = null;
+            return false;
+        }
+
+        ensureWindow(nextPos);
+
+        pos = nextPos;
+        length = window.readU32(pos - windowStart);
+        type = typeAt(pos);
+        if (type == null) {
+            throw new IllegalStateException("Unknown chunk type at position " + pos);
+        }
+        nextPos += BasicChunkHeader.HEADER_SIZE;
+
+        // A ROom container is always followed by an HD chunk – otherwise it's ROland MIDI (data)
+        if (type == DataChunkType.RO && typeAt(nextPos) == null) {
+            type = DataChunkType.ROL;
+        }
+
+        // fast-forward to the end of the current chunks
+        if (type == DataChunkType.LF) {
+            // LF is a mixed node (container but starts with UINT16 room number)
+            nextPos += 2;
+        } else if (type.isDataOnly()) {
+            nextPos += length - BasicChunkHeader.HEADER_SIZE;
+        }
+
+        return true;
+    }
+
+    private void ensureWindow(final int start) {
+        final int end = Math.min(start + LOOKAHEAD, fileSize);
+        if (window == null || start < windowStart || end > windowEnd) {
+            if (lecFile.isMapped()) {
+                // no need to copy anything – the whole (decrypted) file is available in memory
+                windowStart = 0;
+                windowEnd = fileSize;
+            } else {
+                windowStart = start;
+                windowEnd = Math.min(start + WINDOW_SIZE, fileSize);
+            }
+            window = lecFile.readData(windowStart, windowEnd - windowStart).ebbLE();
+        }
+    }
+
+    private DataChunkType typeAt(final int chunkPos) {
+        final int offset = chunkPos - windowStart + 4;
+        if (offset + 2 > windowEnd - windowStart) {
+            return null;
+        }
+        return TYPES_BY_CODE[code(window.readU8(offset), window.readU8(offset + 1))];
+    }
+
+    private void checkPosition() {
+        if (type == null) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    public int pos() {
+        checkPosition();
+        return pos;
+    }
+
+    public int length() {
+        checkPosition();
+        return length;
+    }
+
+    public DataChunkType type() {
+        checkPosition();
+        return type;
+    }
+
+    public LecChunk toChunk() {
+        checkPosition();
+        return new LecChunk(pos, length, type);
+    }
+
+}
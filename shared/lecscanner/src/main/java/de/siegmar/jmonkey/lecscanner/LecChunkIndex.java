@@ -0,0 +1,256 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.lecscanner;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import de.siegmar.jmonkey.commons.io.DataChunkType;
+import de.siegmar.jmonkey.commons.io.IOUtil;
+
+/**
+ * Chunk index of a data file that is persisted in a sidecar file ({@code DISK0X.LEC.idx}) next to it.
+ * <p>
+ * The sidecar file stores size and modification time of the data file. If they don't match, the SHA-1 hash
+ * of the data file (also stored) decides whether the index is still valid. The index is rebuilt whenever it
+ * doesn't match or can't be read. If the sidecar file can't be written, the index is only kept in memory.
+ */
+public final class LecChunkIndex {
+
+    private static final System.Logger LOG = System.getLogger(LecChunkIndex.class.getName());
+
+    // "JMCI"
+    private static final int MAGIC = 0x4A4D4349;
+
+    // Has to be incremented whenever the file format or DataChunkType (ordinals are stored) changes
+    private static final int VERSION = 2;
+
+    private static final String FILE_SUFFIX = ".idx";
+    private static final int SHA1_LENGTH = 20;
+    private static final int NO_PARENT = -1;
+
+    private final List<LecChunk> chunks;
+    private final int[] parents;
+
+    private LecChunkIndex(final List<LecChunk> chunks, final int[] parents) {
+        this.chunks = List.copyOf(chunks);
+        this.parents = parents;
+    }
+
+    /**
+     * Loads the index of the given data file from its sidecar file or (re)builds it if necessary.
+     */
+    public static LecChunkIndex load(final LecFile lecFile) {
+        final Path file = lecFile.getPath();
+        final Path indexFile = indexFile(file);
+        final FileStamp stamp = FileStamp.of(file);
+
+        final Optional<Persisted> persisted = readBytes(indexFile).flatMap(bb -> parse(bb, indexFile));
+        if (persisted.isPresent()) {
+            final Persisted p = persisted.get();
+            if (p.stamp().equals(stamp)) {
+                LOG.log(DEBUG, "Loaded chunk index from %s", indexFile);
+                return p.index();
+            }
+
+            // touched or copied data file - only worth hashing if the size still matches
+            if (p.stamp().size() == stamp.size()) {
+                final byte[] sha1 = sha1(file);
+                if (Arrays.equals(p.sha1(), sha1)) {
+                    LOG.log(DEBUG, "Loaded chunk index from %s (verified by hash)", indexFile);
+                    p.index().tryWrite(indexFile, stamp, sha1);
+                    return p.index();
+                }
+            }
+        }
+
+        LOG.log(DEBUG, "Build chunk index for %s", file);
+        final LecChunkIndex index = build(lecFile);
+        index.tryWrite(indexFile, stamp, sha1(file));
+        return index;
+    }
+
+    public static LecChunkIndex build(final LecFile lecFile) {
+        final TreeIndex<LecChunk> tree = LecScanner.scanTree(lecFile);
+
+        final List<LecChunk> chunks = new ArrayList<>();
+        final Map<TreeIndex<LecChunk>, Integer> positions = new IdentityHashMap<>();
+        final List<Integer> parents = new ArrayList<>();
+
+        // deepStream() walks the tree in pre-order – which is the order of the chunks in the file
+        tree.deepStream().forEach(node -> {
+            positions.put(node, chunks.size());
+            chunks.add(node.chunk());
+            parents.add(node.getParent() == null ? NO_PARENT : positions.get(node.getParent()));
+        });
+
+        return new LecChunkIndex(chunks, parents.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    static Path indexFile(final Path file) {
+        return file.resolveSibling(Objects.requireNonNull(file.getFileName()) + FILE_SUFFIX);
+    }
+
+    private static byte[] sha1(final Path file) {
+        return HexFormat.of().parseHex(IOUtil.toSHA1(file));
+    }
+
+    private static Optional<ByteBuffer> readBytes(final Path indexFile) {
+        try {
+            return Optional.of(ByteBuffer.wrap(Files.readAllBytes(indexFile)));
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        } catch (final IOException e) {
+            LOG.log(WARNING, "Failed reading chunk index " + indexFile + " - rebuild it", e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Persisted> parse(final ByteBuffer bb, final Path indexFile) {
+        try {
+            return Optional.ofNullable(parse(bb));
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            LOG.log(WARNING, "Ignore corrupt chunk index " + indexFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Persisted parse(final ByteBuffer bb) {
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION) {
+            return null;
+        }
+
+        final FileStamp stamp = new FileStamp(bb.getLong(), bb.getLong());
+        final byte[] sha1 = new byte[SHA1_LENGTH];
+        bb.get(sha1);
+
+        final DataChunkType[] types = DataChunkType.values();
+        final int count = bb.getInt();
+        if (count < 1) {
+            throw new IllegalArgumentException("Empty chunk index");
+        }
+        final List<LecChunk> chunks = new ArrayList<>(count);
+        final int[] parents = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int pos = bb.getInt();
+            final int length = bb.getInt();
+            final int type = bb.get() & 0xFF;
+            final int parent = bb.getInt();
+            if (type >= types.length || !isValidParent(i, parent)) {
+                throw new IllegalArgumentException("Invalid chunk entry " + i);
+            }
+            chunks.add(new LecChunk(pos, length, types[type]));
+            parents[i] = parent;
+        }
+
+        return new Persisted(new LecChunkIndex(chunks, parents), stamp, sha1);
+    }
+
+    // entries are stored in pre-order: exactly the first one is the root, all others refer to a preceding entry
+    private static boolean isValidParent(final int entry, final int parent) {
+        return entry == 0 ? parent == NO_PARENT : parent >= 0 && parent < entry;
+    }
+
+    private void tryWrite(final Path indexFile, final FileStamp stamp, final byte[] sha1) {
+        try {
+            write(indexFile, stamp, sha1);
+        } catch (final IOException e) {
+            LOG.log(WARNING, "Failed writing chunk index to " + indexFile, e);
+        }
+    }
+
+    private void write(final Path indexFile, final FileStamp stamp, final byte[] sha1) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(48 + chunks.size() * 13);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(stamp.size());
+            out.writeLong(stamp.lastModified());
+            out.write(sha1);
+            out.writeInt(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                final LecChunk chunk = chunks.get(i);
+                out.writeInt(chunk.pos());
+                out.writeInt(chunk.length());
+                out.writeByte(chunk.type().ordinal());
+                out.writeInt(parents[i]);
+            }
+        }
+
+        // write to temp file first to never leave a partially written index behind
+        final Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        Files.write(tmpFile, bos.toByteArray());
+        Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * All chunks in the order of the data file.
+     */
+    public List<LecChunk> getChunks() {
+        return chunks;
+    }
+
+    public TreeIndex<LecChunk> toTree() {
+        // parse() and build() guarantee a single root at the first position
+        final List<TreeIndex<LecChunk>> nodes = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            final TreeIndex<LecChunk> node = new TreeIndex<>(chunks.get(i));
+            nodes.add(node);
+            if (i > 0) {
+                nodes.get(parents[i]).addChild(node);
+            }
+        }
+        return nodes.get(0);
+    }
+
+    private record FileStamp(long size, long lastModified) {
+
+        static FileStamp of(final Path file) {
+            try {
+                return new FileStamp(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private record Persisted(LecChunkIndex index, FileStamp stamp, byte[] sha1) {
+    }
+
+}
@@ -20,23 +20,14 @@ package de.siegmar.jmonkey.lecscanner;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import de.siegmar.jmonkey.commons.io.BasicChunkHeader;
-import de.siegmar.jmonkey.commons.io.DataChunkType;
 
 public class LecChunkIterator implements Iterator<LecChunk>, Closeable {
 
-    private static final Set<String> KNOWN_TYPES = Arrays.stream(DataChunkType.values())
-        .map(Enum::name).collect(Collectors.toSet());
-
     private final LecFile lecFile;
+    private LecChunkCursor cursor;
     private boolean initialized;
-    private int nextPos;
     private LecChunk nextChunk;
 
     public LecChunkIterator(final LecFile lecFile) {
@@ -53,40 +44,10 @@ public class LecChunkIterator implements Iterator<LecChunk>, Closeable {
     }
 
     private LecChunk fetch() {
-        if (nextPos >= lecFile.getSize()) {
-            return null;
-        }
-
-        final int startPos = nextPos;
-
-        final BasicChunkHeader basicChunkHeader;
-        final DataChunkType dataChunkType;
-        basicChunkHeader = lecFile.readData(nextPos, BasicChunkHeader.HEADER_SIZE)
-            .ebbLE().readChunkHeader();
-        nextPos += BasicChunkHeader.HEADER_SIZE;
-
-        if ("RO".equals(basicChunkHeader.name())) {
-            // let's see if this is a ROom (container) or ROland MIDI (data) node
-            final String peekChunkName = lecFile.readData(nextPos, BasicChunkHeader.HEADER_SIZE)
-                .ebbLE().readAscii(4, 2);
-
-            // A ROom container is always followed by an HD chunk
-            dataChunkType = KNOWN_TYPES.contains(peekChunkName)
-                ? DataChunkType.valueOf(basicChunkHeader.name())
-                : DataChunkType.ROL;
-        } else {
-            dataChunkType = DataChunkType.valueOf(basicChunkHeader.name());
+        if (cursor == null) {
+            cursor = new LecChunkCursor(lecFile);
         }
-
-        // fast-forward to the end of the current chunks
-        if (dataChunkType == DataChunkType.LF) {
-            // LF is a mixed node (container but starts with UINT16 room number)
-            nextPos += 2;
-        } else if (dataChunkType.isDataOnly()) {
-            nextPos += basicChunkHeader.payloadLength();
-        }
-
-        return new LecChunk(startPos, basicChunkHeader.length(), dataChunkType);
+        return cursor.next() ? cursor.toChunk() : null;
     }
 
     @Override
@@ -26,26 +26,40 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
+import de.siegmar.jmonkey.commons.io.AccessMode;
 import de.siegmar.jmonkey.commons.io.BasicChunk;
 import de.siegmar.jmonkey.commons.io.ByteString;
+import de.siegmar.jmonkey.commons.io.DecryptedFile;
 import de.siegmar.jmonkey.commons.io.IOUtil;
 
 public class LecFile implements Closeable {
 
     private final Path file;
+    private final AccessMode accessMode;
     private FileChannel ch;
+    private DecryptedFile mapped;
     private int size;
     private boolean open;
 
     public LecFile(final Path file) {
+        this(file, AccessMode.CHANNEL);
+    }
+
+    public LecFile(final Path file, final AccessMode accessMode) {
         this.file = Objects.requireNonNull(file);
+        this.accessMode = Objects.requireNonNull(accessMode);
     }
 
     private void ensureOpen() {
         if (!open) {
             try {
-                ch = FileChannel.open(file, StandardOpenOption.READ);
-                size = Math.toIntExact(ch.size());
+                if (accessMode == AccessMode.MAPPED) {
+                    mapped = DecryptedFile.map(file, (byte) 0x69);
+                    size = mapped.size();
+                } else {
+                    ch = FileChannel.open(file, StandardOpenOption.READ);
+                    size = Math.toIntExact(ch.size());
+                }
             } catch (final IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -53,6 +67,14 @@ public class LecFile implements Closeable {
         }
     }
 
+    public Path getPath() {
+        return file;
+    }
+
+    boolean isMapped() {
+        return accessMode == AccessMode.MAPPED;
+    }
+
     public BasicChunk readChunk(final LecChunk lecChunk) {
         ensureOpen();
         return readData(lecChunk.pos(), lecChunk.length()).ebbLE().readChunk();
@@ -60,6 +82,9 @@ public class LecFile implements Closeable {
 
     public ByteString readData(final int pos, final int length) {
         ensureOpen();
+        if (mapped != null) {
+            return mapped.slice(pos, length);
+        }
         try {
             ch.position(pos);
             return IOUtil.read(ch, length);
@@ -75,7 +100,7 @@ public class LecFile implements Closeable {
 
     @Override
     public void close() throws IOException {
-        if (open) {
+        if (ch != null) {
             ch.close();
         }
     }
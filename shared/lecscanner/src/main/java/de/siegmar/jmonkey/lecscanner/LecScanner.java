@@ -21,6 +21,7 @@ package de.siegmar.jmonkey.lecscanner;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.function.Predicate;
 
 /**
@@ -45,6 +46,19 @@ public final class LecScanner {
         return scan(lecFile, new TreeLecVisitor()).getTree();
     }
 
+    /**
+     * Like {@link #scanTree(Path)} but uses (and maintains) the persistent chunk index of the file.
+     *
+     * @see LecChunkIndex
+     */
+    public static TreeIndex<LecChunk> scanTreeIndexed(final Path file) {
+        try (LecFile lecFile = new LecFile(file)) {
+            return LecChunkIndex.load(lecFile).toTree();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static <T extends LecVisitor> T scan(final Path file, final T lecVisitor) {
         return scan(file, c -> true, lecVisitor);
     }
@@ -63,10 +77,13 @@ public final class LecScanner {
 
     public static <T extends LecVisitor> T scan(final LecFile lecFile, final Predicate<LecChunk> filter,
                                                 final T lecVisitor) {
-        final LecChunkIterator lecChunkIterator = new LecChunkIterator(lecFile);
+        return scan(lecFile, new LecChunkIterator(lecFile), filter, lecVisitor);
+    }
 
-        while (lecChunkIterator.hasNext()) {
-            final LecChunk chunk = lecChunkIterator.next();
+    private static <T extends LecVisitor> T scan(final LecFile lecFile, final Iterator<LecChunk> chunks,
+                                                 final Predicate<LecChunk> filter, final T lecVisitor) {
+        while (chunks.hasNext()) {
+            final LecChunk chunk = chunks.next();
             if (filter.test(chunk)) {
                 if (!lecVisitor.visit(lecFile, chunk)) {
                     return lecVisitor;
@@ -79,4 +96,15 @@ public final class LecScanner {
         return lecVisitor;
     }
 
+    /**
+     * Like {@link #scan(LecFile, Predicate, LecVisitor)} but uses (and maintains) the persistent chunk index
+     * of the file instead of walking all chunk headers.
+     *
+     * @see LecChunkIndex
+     */
+    public static <T extends LecVisitor> T scanIndexed(final LecFile lecFile, final Predicate<LecChunk> filter,
+                                                       final T lecVisitor) {
+        return scan(lecFile, LecChunkIndex.load(lecFile).getChunks().iterator(), filter, lecVisitor);
+    }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * JMonkey - Java based development kit for "The Secret of Monkey Island"
+ * Copyright (C) 2022  Oliver Siegmar
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.siegmar.jmonkey.lecscanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.siegmar.jmonkey.commons.io.AccessMode;
+import de.siegmar.jmonkey.commons.io.DataChunkType;
+import de.siegmar.jmonkey.commons.io.XorCipher;
+
+class LecChunkCursorTest {
+
+    // the window size of the cursor in CHANNEL mode
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    // the first RO header straddles the end of the first window, the HD header following the second RO
+    // header straddles the end of the second window (which starts at the first RO header)
+    private static final List<LecChunk> CHUNKS = List.of(
+        new LecChunk(0, 131_079, DataChunkType.LE),
+        new LecChunk(6, 65_527, DataChunkType.FO),
+        new LecChunk(WINDOW_SIZE - 3, 65_528, DataChunkType.RO),
+        new LecChunk(65_539, 12, DataChunkType.HD),
+        new LecChunk(65_551, 65_510, DataChunkType.BM),
+        new LecChunk(2 * WINDOW_SIZE - 3 - 8, 18, DataChunkType.RO),
+        new LecChunk(131_067, 12, DataChunkType.HD));
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeLecFile() throws IOException {
+        final ByteBuffer bb = ByteBuffer.allocate(CHUNKS.get(0).length()).order(ByteOrder.LITTLE_ENDIAN);
+        for (final LecChunk chunk : CHUNKS) {
+            bb.position(chunk.pos());
+            bb.putInt(chunk.length());
+            bb.put(chunk.type().name().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        final byte[] data = bb.array();
+        XorCipher.apply(data, 0, data.length, (byte) 0x69);
+        return Files.write(tempDir.resolve("DISK01.LEC"), data);
+    }
+
+    @Test
+    void straddlingHeadersChannel() throws IOException {
+        assertEquals(CHUNKS, readChunks(AccessMode.CHANNEL));
+    }
+
+    @Test
+    void straddlingHeadersMapped() throws IOException {
+        assertEquals(CHUNKS, readChunks(AccessMode.MAPPED));
+    }
+
+    private List<LecChunk> readChunks(final AccessMode accessMode) throws IOException {
+        final List<LecChunk> chunks = new ArrayList<>();
+        try (LecFile lecFile = new LecFile(writeLecFile(), accessMode)) {
+            final LecChunkCursor cursor = new LecChunkCursor(lecFile);
+            while (cursor.next()) {
+                chunks.add(cursor.toChunk());
+            }
+
+            assertFalse(cursor.next());
+            assertThrows(NoSuchElementException.class, cursor::type);
+        }
+        return chunks;
+    }
+
+}